@@ -0,0 +1,65 @@
+package com.inventory.blockchain.config;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "activity-log")
+@Validated
+public class ActivityLogProperties {
+
+    /**
+     * Events buffered in memory before producers are slowed down (rounded up to a power of two).
+     */
+    @Positive(message = "Activity log buffer capacity must be positive")
+    private int bufferCapacity = 65_536;
+
+    @Positive(message = "Activity log batch size must be positive")
+    private int batchSize = 500;
+
+    /**
+     * Longest time an event waits in the buffer when traffic is low.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * How long a producer waits for space in a full buffer before writing its event itself.
+     */
+    private Duration offerTimeout = Duration.ofMillis(50);
+
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    public void setBufferCapacity(int bufferCapacity) {
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public Duration getOfferTimeout() {
+        return offerTimeout;
+    }
+
+    public void setOfferTimeout(Duration offerTimeout) {
+        this.offerTimeout = offerTimeout;
+    }
+}
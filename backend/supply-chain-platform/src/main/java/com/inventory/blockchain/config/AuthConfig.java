@@ -0,0 +1,35 @@
+package com.inventory.blockchain.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AuthConfig {
+
+    private final AuthProperties authProperties;
+
+    public AuthConfig(AuthProperties authProperties) {
+        this.authProperties = authProperties;
+    }
+
+    /**
+     * Executor for BCrypt work. It bounds how many cores logins can take; when the queue
+     * is full further requests are rejected rather than piling up on request threads.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashingExecutor() {
+        int threads = authProperties.getHashingThreads() > 0
+                ? authProperties.getHashingThreads()
+                : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(authProperties.getHashingQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
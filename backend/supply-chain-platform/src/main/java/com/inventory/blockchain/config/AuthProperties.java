@@ -0,0 +1,114 @@
+package com.inventory.blockchain.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "auth")
+@Validated
+public class AuthProperties {
+
+    /**
+     * HMAC-SHA256 key for session tokens. Every instance behind a load balancer needs the
+     * same value; when unset a random key is generated and tokens die with the process.
+     */
+    private String tokenSecret;
+
+    /**
+     * How long an issued session token is valid.
+     */
+    private Duration tokenTtl = Duration.ofHours(8);
+
+    /**
+     * How often each instance loads revocations (logouts, password and role changes)
+     * recorded by the others; a revoked token may still work elsewhere for this long.
+     */
+    private Duration revocationSyncInterval = Duration.ofSeconds(5);
+
+    /**
+     * BCrypt cost for new hashes. Raising it rehashes each password on its next login.
+     */
+    @Min(value = 4, message = "BCrypt cost must be at least 4")
+    @Max(value = 31, message = "BCrypt cost must be at most 31")
+    private int bcryptCost = 10;
+
+    /**
+     * Threads for password hashing; 0 uses one per CPU.
+     */
+    @PositiveOrZero(message = "Hashing threads must not be negative")
+    private int hashingThreads = 0;
+
+    /**
+     * Hashing requests allowed to wait for a thread before logins are rejected with 503.
+     */
+    @Positive(message = "Hashing queue capacity must be positive")
+    private int hashingQueueCapacity = 100;
+
+    /**
+     * How long a request waits for its hash before giving up.
+     */
+    private Duration hashingTimeout = Duration.ofSeconds(10);
+
+    public String getTokenSecret() {
+        return tokenSecret;
+    }
+
+    public void setTokenSecret(String tokenSecret) {
+        this.tokenSecret = tokenSecret;
+    }
+
+    public Duration getTokenTtl() {
+        return tokenTtl;
+    }
+
+    public void setTokenTtl(Duration tokenTtl) {
+        this.tokenTtl = tokenTtl;
+    }
+
+    public Duration getRevocationSyncInterval() {
+        return revocationSyncInterval;
+    }
+
+    public void setRevocationSyncInterval(Duration revocationSyncInterval) {
+        this.revocationSyncInterval = revocationSyncInterval;
+    }
+
+    public int getBcryptCost() {
+        return bcryptCost;
+    }
+
+    public void setBcryptCost(int bcryptCost) {
+        this.bcryptCost = bcryptCost;
+    }
+
+    public int getHashingThreads() {
+        return hashingThreads;
+    }
+
+    public void setHashingThreads(int hashingThreads) {
+        this.hashingThreads = hashingThreads;
+    }
+
+    public int getHashingQueueCapacity() {
+        return hashingQueueCapacity;
+    }
+
+    public void setHashingQueueCapacity(int hashingQueueCapacity) {
+        this.hashingQueueCapacity = hashingQueueCapacity;
+    }
+
+    public Duration getHashingTimeout() {
+        return hashingTimeout;
+    }
+
+    public void setHashingTimeout(Duration hashingTimeout) {
+        this.hashingTimeout = hashingTimeout;
+    }
+}
@@ -0,0 +1,20 @@
+package com.inventory.blockchain.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds an {@link com.inventory.blockchain.dto.AuthenticatedUser} controller parameter to the
+ * caller's session token (see {@link CurrentUserArgumentResolver}).
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUser {
+
+    /**
+     * Whether a request without credentials is rejected; otherwise the parameter is null.
+     */
+    boolean required() default true;
+}
@@ -0,0 +1,71 @@
+package com.inventory.blockchain.config;
+
+import com.inventory.blockchain.dto.AuthenticatedUser;
+import com.inventory.blockchain.exception.InvalidTokenException;
+import com.inventory.blockchain.service.TokenService;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link CurrentUser} parameters from {@code Authorization: Bearer <token>}.
+ *
+ * Clients that still only send {@code X-User-Id} get an identity without role or
+ * permissions; a token, when present, always wins and must be valid. EventSource cannot
+ * set headers, so the token is also read from the {@code access_token} query parameter.
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    public static final String LEGACY_USER_HEADER = "X-User-Id";
+    public static final String ACCESS_TOKEN_PARAM = "access_token";
+
+    private static final String BEARER = "Bearer ";
+
+    private final TokenService tokenService;
+
+    public CurrentUserArgumentResolver(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && AuthenticatedUser.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        AuthenticatedUser user = resolve(webRequest);
+        CurrentUser annotation = parameter.getParameterAnnotation(CurrentUser.class);
+        if (user == null && annotation != null && annotation.required()) {
+            throw new InvalidTokenException("Authentication required");
+        }
+        return user;
+    }
+
+    private AuthenticatedUser resolve(NativeWebRequest webRequest) {
+        String authorization = webRequest.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            return tokenService.verify(authorization.substring(BEARER.length()).trim());
+        }
+        String accessToken = webRequest.getParameter(ACCESS_TOKEN_PARAM);
+        if (accessToken != null && !accessToken.isBlank()) {
+            return tokenService.verify(accessToken.trim());
+        }
+        String legacyUserId = webRequest.getHeader(LEGACY_USER_HEADER);
+        if (legacyUserId != null && !legacyUserId.isBlank()) {
+            try {
+                return AuthenticatedUser.unverified(Long.valueOf(legacyUserId.trim()));
+            } catch (NumberFormatException e) {
+                throw new InvalidTokenException("Invalid " + LEGACY_USER_HEADER + " header");
+            }
+        }
+        return null;
+    }
+}
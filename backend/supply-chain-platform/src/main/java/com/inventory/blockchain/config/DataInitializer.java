@@ -6,8 +6,8 @@ import com.inventory.blockchain.entity.User;
 import com.inventory.blockchain.repository.PermissionRepository;
 import com.inventory.blockchain.repository.RoleRepository;
 import com.inventory.blockchain.repository.UserRepository;
+import com.inventory.blockchain.service.PasswordHashingService;
 import org.springframework.boot.CommandLineRunner;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,15 +21,16 @@ public class DataInitializer implements CommandLineRunner {
     private final PermissionRepository permissionRepository;
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
     public DataInitializer(PermissionRepository permissionRepository,
                           RoleRepository roleRepository,
-                          UserRepository userRepository) {
+                          UserRepository userRepository,
+                          PasswordHashingService passwordHashingService) {
         this.permissionRepository = permissionRepository;
         this.roleRepository = roleRepository;
         this.userRepository = userRepository;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.passwordHashingService = passwordHashingService;
     }
 
     @Override
@@ -200,7 +201,7 @@ public class DataInitializer implements CommandLineRunner {
         User user = new User();
         user.setUsername(username);
         user.setEmail(email);
-        user.setPasswordHash(passwordEncoder.encode(password));
+        user.setPasswordHash(passwordHashingService.encode(password));
         user.setFullName(fullName);
         user.setRole(role);
         user.setIsActive(true);
@@ -0,0 +1,25 @@
+package com.inventory.blockchain.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@ConfigurationProperties(prefix = "documents")
+public class DocumentStorageProperties {
+
+    /**
+     * Directory of the content-addressed file store. Uploads are staged in its tmp/
+     * subdirectory so the final rename never crosses file systems.
+     */
+    private Path storageRoot = Path.of("data", "documents");
+
+    public Path getStorageRoot() {
+        return storageRoot;
+    }
+
+    public void setStorageRoot(Path storageRoot) {
+        this.storageRoot = storageRoot;
+    }
+}
@@ -0,0 +1,34 @@
+package com.inventory.blockchain.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class NotificationConfig {
+
+    private final NotificationProperties notificationProperties;
+
+    public NotificationConfig(NotificationProperties notificationProperties) {
+        this.notificationProperties = notificationProperties;
+    }
+
+    /**
+     * Executor for notification fan-out. When the queue is full the submitting thread
+     * runs the fan-out itself, which slows producers down instead of dropping alerts.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor notificationFanoutExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("notification-fanout-");
+        executor.setCorePoolSize(notificationProperties.getFanoutThreads());
+        executor.setMaxPoolSize(notificationProperties.getFanoutThreads());
+        executor.setQueueCapacity(notificationProperties.getFanoutQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
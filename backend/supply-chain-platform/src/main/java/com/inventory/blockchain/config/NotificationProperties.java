@@ -0,0 +1,120 @@
+package com.inventory.blockchain.config;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "notifications")
+@Validated
+public class NotificationProperties {
+
+    @Positive(message = "Fan-out threads must be positive")
+    private int fanoutThreads = 2;
+
+    @Positive(message = "Fan-out queue capacity must be positive")
+    private int fanoutQueueCapacity = 10_000;
+
+    /**
+     * How long a notification stream stays open before the client has to reconnect.
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    @Positive(message = "Replay buffer size must be positive")
+    private int replayBufferSize = 50;
+
+    /**
+     * The first broadcast of a type and reference type is delivered at once; the ones that
+     * follow within this window are delivered as one digest notification when it closes.
+     * Zero delivers every broadcast on its own.
+     */
+    private Duration digestWindow = Duration.ofSeconds(10);
+
+    /**
+     * Full months of notifications kept before the current one.
+     */
+    @Positive(message = "Retention months must be positive")
+    private int retentionMonths = 6;
+
+    /**
+     * What happens to expired monthly partitions: DROP deletes them, ARCHIVE moves them
+     * to the archive schema.
+     */
+    private RetentionMode retentionMode = RetentionMode.DROP;
+
+    /**
+     * Monthly partitions created ahead of the current month.
+     */
+    @PositiveOrZero(message = "Partitions ahead must not be negative")
+    private int partitionsAhead = 2;
+
+    public enum RetentionMode { DROP, ARCHIVE }
+
+    public int getFanoutThreads() {
+        return fanoutThreads;
+    }
+
+    public void setFanoutThreads(int fanoutThreads) {
+        this.fanoutThreads = fanoutThreads;
+    }
+
+    public int getFanoutQueueCapacity() {
+        return fanoutQueueCapacity;
+    }
+
+    public void setFanoutQueueCapacity(int fanoutQueueCapacity) {
+        this.fanoutQueueCapacity = fanoutQueueCapacity;
+    }
+
+    public Duration getStreamTimeout() {
+        return streamTimeout;
+    }
+
+    public void setStreamTimeout(Duration streamTimeout) {
+        this.streamTimeout = streamTimeout;
+    }
+
+    public int getReplayBufferSize() {
+        return replayBufferSize;
+    }
+
+    public void setReplayBufferSize(int replayBufferSize) {
+        this.replayBufferSize = replayBufferSize;
+    }
+
+    public Duration getDigestWindow() {
+        return digestWindow;
+    }
+
+    public void setDigestWindow(Duration digestWindow) {
+        this.digestWindow = digestWindow;
+    }
+
+    public int getRetentionMonths() {
+        return retentionMonths;
+    }
+
+    public void setRetentionMonths(int retentionMonths) {
+        this.retentionMonths = retentionMonths;
+    }
+
+    public RetentionMode getRetentionMode() {
+        return retentionMode;
+    }
+
+    public void setRetentionMode(RetentionMode retentionMode) {
+        this.retentionMode = retentionMode;
+    }
+
+    public int getPartitionsAhead() {
+        return partitionsAhead;
+    }
+
+    public void setPartitionsAhead(int partitionsAhead) {
+        this.partitionsAhead = partitionsAhead;
+    }
+}
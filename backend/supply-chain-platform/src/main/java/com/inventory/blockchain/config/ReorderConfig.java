@@ -0,0 +1,29 @@
+package com.inventory.blockchain.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ReorderConfig {
+
+    private final ReorderProperties reorderProperties;
+
+    public ReorderConfig(ReorderProperties reorderProperties) {
+        this.reorderProperties = reorderProperties;
+    }
+
+    /**
+     * Executor for reorder planning; each task plans one location in its own transaction.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reorderExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("reorder-");
+        executor.setCorePoolSize(reorderProperties.getThreads());
+        executor.setMaxPoolSize(reorderProperties.getThreads());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+}
@@ -0,0 +1,80 @@
+package com.inventory.blockchain.config;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.math.BigDecimal;
+
+@Configuration
+@ConfigurationProperties(prefix = "reorder")
+@Validated
+public class ReorderProperties {
+
+    /**
+     * Whether the scheduled run creates draft orders. Manual runs are always allowed.
+     */
+    private boolean enabled = true;
+
+    private String cron = "0 0 5 * * *";
+
+    /**
+     * Locations planned concurrently.
+     */
+    @Positive(message = "Reorder threads must be positive")
+    private int threads = 4;
+
+    /**
+     * Stock is replenished up to {@code minStock * targetMultiplier}, counting quantities
+     * already on open orders.
+     */
+    @DecimalMin(value = "1.0", message = "Target multiplier must be at least 1")
+    private BigDecimal targetMultiplier = new BigDecimal("2.0");
+
+    /**
+     * Tax rate applied to generated orders, as for orders created by hand.
+     */
+    private BigDecimal taxRate = new BigDecimal("0.08");
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public BigDecimal getTargetMultiplier() {
+        return targetMultiplier;
+    }
+
+    public void setTargetMultiplier(BigDecimal targetMultiplier) {
+        this.targetMultiplier = targetMultiplier;
+    }
+
+    public BigDecimal getTaxRate() {
+        return taxRate;
+    }
+
+    public void setTaxRate(BigDecimal taxRate) {
+        this.taxRate = taxRate;
+    }
+}
@@ -0,0 +1,52 @@
+package com.inventory.blockchain.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "transfers")
+public class TransferProperties {
+
+    /**
+     * Node id (0-1023) embedded in generated transfer IDs. Must be set, and differ, on
+     * every instance of a multi-instance deployment; when unset it is derived from the
+     * host name, which is only safe for a single instance.
+     */
+    private Integer nodeId;
+
+    /**
+     * How long a completed request is remembered for its Idempotency-Key.
+     */
+    private Duration idempotencyTtl = Duration.ofHours(1);
+
+    /**
+     * How long a retry waits for the in-flight original request before giving up with 503.
+     */
+    private Duration idempotencyWaitTimeout = Duration.ofSeconds(30);
+
+    public Integer getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(Integer nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public Duration getIdempotencyTtl() {
+        return idempotencyTtl;
+    }
+
+    public void setIdempotencyTtl(Duration idempotencyTtl) {
+        this.idempotencyTtl = idempotencyTtl;
+    }
+
+    public Duration getIdempotencyWaitTimeout() {
+        return idempotencyWaitTimeout;
+    }
+
+    public void setIdempotencyWaitTimeout(Duration idempotencyWaitTimeout) {
+        this.idempotencyWaitTimeout = idempotencyWaitTimeout;
+    }
+}
@@ -7,11 +7,15 @@ import com.inventory.blockchain.dto.ActivityLogResponse;
 import com.inventory.blockchain.entity.ActivityLog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.OffsetDateTime;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -22,6 +26,8 @@ public class AuditController {
 
     private static final Logger log = LoggerFactory.getLogger(AuditController.class);
 
+    private static final int MAX_ACTIVITY_PAGE_SIZE = 1000;
+
     private final TransferRepository transferRepository;
     private final ActivityLogRepository activityLogRepository;
 
@@ -260,33 +266,49 @@ public class AuditController {
     // ==================== ACTIVITY LOGS ====================
 
     /**
-     * Get activity logs with filters
+     * Get activity logs with filters, newest first. Only one of userId/action/entityType is
+     * applied (in that order); from/to narrow any of them by time so the database only scans
+     * the matching partitions. Paging happens in the database.
      */
     @GetMapping("/activity")
     public ResponseEntity<List<ActivityLogResponse>> getActivityLogs(
             @RequestParam(required = false) Long userId,
             @RequestParam(required = false) String action,
             @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "100") int limit) {
         
-        log.info("GET /api/audit/activity - userId={}, action={}, entityType={}", userId, action, entityType);
+        log.info("GET /api/audit/activity - userId={}, action={}, entityType={}, from={}, to={}, page={}, limit={}",
+                userId, action, entityType, from, to, page, limit);
+        
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(limit, MAX_ACTIVITY_PAGE_SIZE)));
+        boolean timeBounded = from != null || to != null;
+        LocalDateTime start = from != null ? from : LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
         
         List<ActivityLog> logs;
         
-        if (userId != null) {
-            logs = activityLogRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        if (userId != null && timeBounded) {
+            logs = activityLogRepository.findByUserAndDateRange(userId, start, end, pageable);
+        } else if (userId != null) {
+            logs = activityLogRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+        } else if (action != null && timeBounded) {
+            logs = activityLogRepository.findByActionAndDateRange(action, start, end, pageable);
         } else if (action != null) {
-            logs = activityLogRepository.findByAction(action);
+            logs = activityLogRepository.findByAction(action, pageable);
+        } else if (entityType != null && timeBounded) {
+            logs = activityLogRepository.findByEntityTypeAndDateRange(entityType, start, end, pageable);
         } else if (entityType != null) {
-            logs = activityLogRepository.findByEntityType(entityType);
+            logs = activityLogRepository.findByEntityType(entityType, pageable);
+        } else if (timeBounded) {
+            logs = activityLogRepository.findByDateRange(start, end, pageable);
         } else {
-            logs = activityLogRepository.findAllByOrderByCreatedAtDesc(
-                    org.springframework.data.domain.PageRequest.of(0, limit)
-            ).getContent();
+            logs = activityLogRepository.findAllByOrderByCreatedAtDesc(pageable);
         }
         
         List<ActivityLogResponse> response = logs.stream()
-                .limit(limit)
                 .map(log -> new ActivityLogResponse(
                         log.getId(),
                         log.getUser() != null ? log.getUser().getUsername() : "System",
@@ -1,12 +1,32 @@
 package com.inventory.blockchain.controller;
 
+import com.inventory.blockchain.config.CurrentUser;
+import com.inventory.blockchain.dto.AuthenticatedUser;
+import com.inventory.blockchain.dto.DocumentSummary;
+import com.inventory.blockchain.dto.StoredContent;
 import com.inventory.blockchain.entity.*;
 import com.inventory.blockchain.repository.*;
+import com.inventory.blockchain.exception.DocumentNotFoundException;
+import com.inventory.blockchain.service.CodeSequenceService;
+import com.inventory.blockchain.service.DocumentContentService;
+import com.inventory.blockchain.service.DocumentSearchService;
+import com.inventory.blockchain.service.DocumentStatsService;
+import com.inventory.blockchain.service.DocumentStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.security.MessageDigest;
 import java.time.OffsetDateTime;
 import java.util.*;
@@ -18,56 +38,68 @@ public class DocumentController {
 
     private static final Logger log = LoggerFactory.getLogger(DocumentController.class);
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final DocumentRepository documentRepository;
     private final DocumentCategoryRepository categoryRepository;
     private final SupplierRepository supplierRepository;
     private final PurchaseOrderRepository purchaseOrderRepository;
     private final UserRepository userRepository;
+    private final DocumentStorageService storageService;
+    private final DocumentContentService contentService;
+    private final DocumentSearchService searchService;
+    private final CodeSequenceService codeSequenceService;
+    private final DocumentStatsService statsService;
 
     public DocumentController(
             DocumentRepository documentRepository,
             DocumentCategoryRepository categoryRepository,
             SupplierRepository supplierRepository,
             PurchaseOrderRepository purchaseOrderRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            DocumentStorageService storageService,
+            DocumentContentService contentService,
+            DocumentSearchService searchService,
+            CodeSequenceService codeSequenceService,
+            DocumentStatsService statsService) {
         this.documentRepository = documentRepository;
         this.categoryRepository = categoryRepository;
         this.supplierRepository = supplierRepository;
         this.purchaseOrderRepository = purchaseOrderRepository;
         this.userRepository = userRepository;
+        this.storageService = storageService;
+        this.contentService = contentService;
+        this.searchService = searchService;
+        this.codeSequenceService = codeSequenceService;
+        this.statsService = statsService;
     }
 
     // ==================== DOCUMENTS ====================
 
+    /**
+     * All documents, newest first, or with {@code search} a ranked full-text match over
+     * name, tags, category and description. Search results are paged by {@code page} and
+     * {@code size}; X-Has-More tells whether another page exists.
+     */
     @GetMapping
     public ResponseEntity<List<Map<String, Object>>> getAllDocuments(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String search,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
         log.info("GET /api/documents - category={}, search={}, status={}", category, search, status);
 
-        List<Document> documents;
-        if (search != null && !search.isEmpty()) {
-            documents = documentRepository.searchDocuments(search);
-        } else if (category != null && !category.isEmpty()) {
-            documents = documentRepository.findByCategoryOrderByCreatedAtDesc(category);
-        } else {
-            documents = documentRepository.findAllByOrderByCreatedAtDesc();
-        }
-
-        // Filter by status if provided
-        if (status != null && !status.isEmpty()) {
-            documents = documents.stream()
-                .filter(d -> status.equals(d.getStatus()))
-                .toList();
+        if (search != null && !search.isBlank()) {
+            PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+            Slice<Document> matches = searchService.search(search, category, status, pageRequest);
+            return ResponseEntity.ok()
+                .header("X-Has-More", String.valueOf(matches.hasNext()))
+                .body(summariesInOrder(matches.getContent()).stream().map(this::mapSummaryToResponse).toList());
         }
 
-        // Map to response DTOs
-        List<Map<String, Object>> result = documents.stream()
-            .map(this::mapDocumentToResponse)
-            .toList();
-
-        return ResponseEntity.ok(result);
+        List<DocumentSummary> documents = documentRepository.findSummaries(blankToNull(category), blankToNull(status));
+        return ResponseEntity.ok(documents.stream().map(this::mapSummaryToResponse).toList());
     }
 
     @GetMapping("/{id}")
@@ -81,45 +113,88 @@ public class DocumentController {
 
     @PostMapping
     public ResponseEntity<?> createDocument(@RequestBody CreateDocumentRequest request,
-                                            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+                                            @CurrentUser(required = false) AuthenticatedUser currentUser) {
         log.info("POST /api/documents - name={}", request.name);
 
-        // Generate document code
-        String docCode = generateDocumentCode();
-
-        Document doc = new Document();
-        doc.setDocumentCode(docCode);
-        doc.setName(request.name);
-        doc.setDescription(request.description);
-        doc.setFileName(request.fileName);
-        doc.setFileType(request.fileType);
-        doc.setFileSize(request.fileSize);
+        Document doc = newDocument(request, currentUser);
         doc.setFilePath(request.filePath);
-        doc.setCategory(request.category);
-        doc.setStatus("ACTIVE");
-        doc.setTransferId(request.transferId);
-        doc.setTags(request.tags != null ? request.tags.toArray(new String[0]) : null);
 
-        // Set associations
-        if (request.supplierId != null) {
-            supplierRepository.findById(request.supplierId)
-                .ifPresent(doc::setSupplier);
-        }
-        if (request.purchaseOrderId != null) {
-            purchaseOrderRepository.findById(request.purchaseOrderId)
-                .ifPresent(doc::setPurchaseOrder);
+        // Metadata only: no content to hash
+        doc.setHash(generateHash(doc.getFileName() + doc.getFileSize() + System.currentTimeMillis()));
+
+        Document saved = statsService.save(doc);
+        return ResponseEntity.ok(mapDocumentToResponse(saved));
+    }
+
+    /**
+     * Upload a file with its metadata. The content is streamed into the content-addressed
+     * store; a file identical to one already stored is kept only once.
+     */
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> uploadDocument(@RequestPart("file") MultipartFile file,
+                                            @RequestParam(required = false) String name,
+                                            @RequestParam(required = false) String description,
+                                            @RequestParam String category,
+                                            @RequestParam(required = false) String transferId,
+                                            @RequestParam(required = false) Long supplierId,
+                                            @RequestParam(required = false) Long purchaseOrderId,
+                                            @RequestParam(required = false) List<String> tags,
+                                            @CurrentUser(required = false) AuthenticatedUser currentUser) throws IOException {
+        String fileName = StringUtils.getFilename(StringUtils.cleanPath(
+                Objects.requireNonNullElse(file.getOriginalFilename(), "upload")));
+        log.info("POST /api/documents/upload - fileName={}, size={}", fileName, file.getSize());
+
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Uploaded file is empty");
         }
 
-        // Set uploader
-        if (userId != null) {
-            userRepository.findById(userId).ifPresent(doc::setUploadedBy);
+        StoredContent content;
+        try (InputStream in = file.getInputStream()) {
+            content = storageService.store(in);
         }
 
-        // Generate hash
-        doc.setHash(generateHash(doc.getFileName() + doc.getFileSize() + System.currentTimeMillis()));
+        CreateDocumentRequest request = new CreateDocumentRequest();
+        request.name = name != null && !name.isBlank() ? name : fileName;
+        request.description = description;
+        request.fileName = fileName;
+        request.fileType = file.getContentType();
+        request.category = category;
+        request.transferId = transferId;
+        request.supplierId = supplierId;
+        request.purchaseOrderId = purchaseOrderId;
+        request.tags = tags;
+
+        Document doc = newDocument(request, currentUser);
+        doc.setFileSize(content.size());
+        doc.setHash(content.sha256());
+        doc.setStorageKey(content.sha256());
+        doc.setFilePath(storageService.relativePath(content.sha256()));
+
+        Optional<Document> original = content.deduplicated()
+                ? documentRepository.findFirstByHashAndStatusNotOrderByCreatedAtAsc(content.sha256(), "DELETED")
+                : Optional.empty();
+
+        Document saved = statsService.save(doc);
+        Map<String, Object> response = mapDocumentToResponse(saved);
+        response.put("deduplicated", content.deduplicated());
+        original.ifPresent(o -> response.put("duplicateOf", o.getDocumentCode()));
+        return ResponseEntity.ok(response);
+    }
 
-        Document saved = documentRepository.save(doc);
-        return ResponseEntity.ok(mapDocumentToResponse(saved));
+    /**
+     * Stored file content; supports Range requests and conditional GETs (ETag = SHA-256).
+     */
+    @GetMapping("/{id}/content")
+    public void downloadContent(@PathVariable Long id,
+                                @RequestParam(defaultValue = "false") boolean inline,
+                                HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
+        log.info("GET /api/documents/{}/content - range={}", id, request.getHeader(HttpHeaders.RANGE));
+
+        Document doc = documentRepository.findById(id)
+            .filter(d -> !"DELETED".equals(d.getStatus()))
+            .orElseThrow(() -> new DocumentNotFoundException(id));
+        contentService.serve(doc, inline, request, response);
     }
 
     @PutMapping("/{id}")
@@ -128,13 +203,14 @@ public class DocumentController {
 
         return documentRepository.findById(id)
             .map(doc -> {
+                DocumentStatsService.Snapshot before = DocumentStatsService.Snapshot.of(doc);
                 if (request.name != null) doc.setName(request.name);
                 if (request.description != null) doc.setDescription(request.description);
                 if (request.category != null) doc.setCategory(request.category);
                 if (request.status != null) doc.setStatus(request.status);
                 if (request.tags != null) doc.setTags(request.tags.toArray(new String[0]));
 
-                Document saved = documentRepository.save(doc);
+                Document saved = statsService.save(doc, before);
                 return ResponseEntity.ok(mapDocumentToResponse(saved));
             })
             .orElse(ResponseEntity.notFound().build());
@@ -147,8 +223,9 @@ public class DocumentController {
         return documentRepository.findById(id)
             .map(doc -> {
                 // Soft delete
+                DocumentStatsService.Snapshot before = DocumentStatsService.Snapshot.of(doc);
                 doc.setStatus("DELETED");
-                documentRepository.save(doc);
+                statsService.save(doc, before);
                 return ResponseEntity.ok(Map.of("message", "Document deleted"));
             })
             .orElse(ResponseEntity.notFound().build());
@@ -167,22 +244,22 @@ public class DocumentController {
     @GetMapping("/by-transfer/{transferId}")
     public ResponseEntity<List<Map<String, Object>>> getDocumentsByTransfer(@PathVariable String transferId) {
         log.info("GET /api/documents/by-transfer/{}", transferId);
-        List<Document> docs = documentRepository.findByTransferId(transferId);
-        return ResponseEntity.ok(docs.stream().map(this::mapDocumentToResponse).toList());
+        List<DocumentSummary> docs = documentRepository.findSummariesByTransferId(transferId);
+        return ResponseEntity.ok(docs.stream().map(this::mapSummaryToResponse).toList());
     }
 
     @GetMapping("/by-supplier/{supplierId}")
     public ResponseEntity<List<Map<String, Object>>> getDocumentsBySupplier(@PathVariable Long supplierId) {
         log.info("GET /api/documents/by-supplier/{}", supplierId);
-        List<Document> docs = documentRepository.findBySupplierId(supplierId);
-        return ResponseEntity.ok(docs.stream().map(this::mapDocumentToResponse).toList());
+        List<DocumentSummary> docs = documentRepository.findSummariesBySupplierId(supplierId);
+        return ResponseEntity.ok(docs.stream().map(this::mapSummaryToResponse).toList());
     }
 
     @GetMapping("/by-order/{orderId}")
     public ResponseEntity<List<Map<String, Object>>> getDocumentsByOrder(@PathVariable Long orderId) {
         log.info("GET /api/documents/by-order/{}", orderId);
-        List<Document> docs = documentRepository.findByPurchaseOrderId(orderId);
-        return ResponseEntity.ok(docs.stream().map(this::mapDocumentToResponse).toList());
+        List<DocumentSummary> docs = documentRepository.findSummariesByPurchaseOrderId(orderId);
+        return ResponseEntity.ok(docs.stream().map(this::mapSummaryToResponse).toList());
     }
 
     // ==================== STATISTICS ====================
@@ -191,25 +268,23 @@ public class DocumentController {
     public ResponseEntity<Map<String, Object>> getDocumentStats() {
         log.info("GET /api/documents/stats");
 
-        Map<String, Object> stats = new HashMap<>();
-
-        stats.put("totalDocuments", documentRepository.count());
-        stats.put("activeDocuments", documentRepository.countByStatus("ACTIVE"));
-
-        // Count by category
-        List<Object[]> categoryCount = documentRepository.countByCategory();
+        // Maintained aggregates; never scans the documents table
+        long totalDocuments = 0;
+        long totalSize = 0;
         Map<String, Long> byCategory = new HashMap<>();
-        for (Object[] row : categoryCount) {
-            byCategory.put((String) row[0], (Long) row[1]);
+        Map<String, Long> byStatus = new HashMap<>();
+        for (DocumentStat stat : statsService.getStats()) {
+            totalDocuments += stat.getDocumentCount();
+            totalSize += stat.getTotalBytes();
+            byCategory.merge(stat.getCategory(), stat.getDocumentCount(), Long::sum);
+            byStatus.merge(stat.getStatus(), stat.getDocumentCount(), Long::sum);
         }
-        stats.put("byCategory", byCategory);
 
-        // Total file size (approximate)
-        List<Document> allDocs = documentRepository.findAll();
-        long totalSize = allDocs.stream()
-            .filter(d -> d.getFileSize() != null)
-            .mapToLong(Document::getFileSize)
-            .sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalDocuments", totalDocuments);
+        stats.put("activeDocuments", byStatus.getOrDefault("ACTIVE", 0L));
+        stats.put("byCategory", byCategory);
+        stats.put("byStatus", byStatus);
         stats.put("totalSize", totalSize);
         stats.put("totalSizeMB", totalSize / (1024 * 1024));
 
@@ -219,49 +294,96 @@ public class DocumentController {
     // ==================== HELPER METHODS ====================
 
     private Map<String, Object> mapDocumentToResponse(Document doc) {
+        return mapSummaryToResponse(DocumentSummary.from(doc));
+    }
+
+    private Map<String, Object> mapSummaryToResponse(DocumentSummary doc) {
         Map<String, Object> map = new HashMap<>();
-        map.put("id", doc.getId());
-        map.put("documentCode", doc.getDocumentCode());
-        map.put("name", doc.getName());
-        map.put("description", doc.getDescription());
-        map.put("fileName", doc.getFileName());
-        map.put("fileType", doc.getFileType());
-        map.put("fileSize", doc.getFileSize());
-        map.put("filePath", doc.getFilePath());
-        map.put("category", doc.getCategory());
-        map.put("status", doc.getStatus());
-        map.put("transferId", doc.getTransferId());
-        map.put("supplierId", doc.getSupplierId());
-        map.put("purchaseOrderId", doc.getPurchaseOrderId());
-        map.put("tags", doc.getTags());
-        map.put("version", doc.getVersion());
-        map.put("hash", doc.getHash());
-        map.put("createdAt", doc.getCreatedAt());
-        map.put("updatedAt", doc.getUpdatedAt());
+        map.put("id", doc.id());
+        map.put("documentCode", doc.documentCode());
+        map.put("name", doc.name());
+        map.put("description", doc.description());
+        map.put("fileName", doc.fileName());
+        map.put("fileType", doc.fileType());
+        map.put("fileSize", doc.fileSize());
+        map.put("filePath", doc.filePath());
+        map.put("category", doc.category());
+        map.put("status", doc.status());
+        map.put("transferId", doc.transferId());
+        map.put("supplierId", doc.supplierId());
+        map.put("purchaseOrderId", doc.purchaseOrderId());
+        map.put("tags", doc.tags());
+        map.put("version", doc.version());
+        map.put("hash", doc.hash());
+        map.put("hasContent", doc.storageKey() != null);
+        map.put("createdAt", doc.createdAt());
+        map.put("updatedAt", doc.updatedAt());
 
         // Add uploader info
-        if (doc.getUploadedBy() != null) {
-            map.put("uploadedBy", doc.getUploadedBy().getUsername());
-            map.put("uploadedById", doc.getUploadedBy().getId());
+        if (doc.uploadedById() != null) {
+            map.put("uploadedBy", doc.uploadedBy());
+            map.put("uploadedById", doc.uploadedById());
         }
 
         // Add supplier name if linked
-        if (doc.getSupplier() != null) {
-            map.put("supplierName", doc.getSupplier().getName());
+        if (doc.supplierName() != null) {
+            map.put("supplierName", doc.supplierName());
         }
 
         // Add PO number if linked
-        if (doc.getPurchaseOrder() != null) {
-            map.put("poNumber", doc.getPurchaseOrder().getPoNumber());
+        if (doc.poNumber() != null) {
+            map.put("poNumber", doc.poNumber());
         }
 
         return map;
     }
 
-    private String generateDocumentCode() {
-        int year = java.time.Year.now().getValue();
-        long count = documentRepository.count() + 1;
-        return String.format("DOC-%d-%03d", year, count);
+    /**
+     * Summaries for already-ranked documents, fetched in one query and kept in rank order.
+     */
+    private List<DocumentSummary> summariesInOrder(List<Document> ranked) {
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, DocumentSummary> byId = new HashMap<>();
+        for (DocumentSummary summary : documentRepository.findSummariesByIdIn(ranked.stream().map(Document::getId).toList())) {
+            byId.put(summary.id(), summary);
+        }
+        return ranked.stream().map(d -> byId.get(d.getId())).filter(Objects::nonNull).toList();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private Document newDocument(CreateDocumentRequest request, AuthenticatedUser currentUser) {
+        Document doc = new Document();
+        doc.setDocumentCode(codeSequenceService.nextCode(CodeSequenceService.CodeType.DOCUMENT));
+        doc.setName(request.name);
+        doc.setDescription(request.description);
+        doc.setFileName(request.fileName);
+        doc.setFileType(request.fileType);
+        doc.setFileSize(request.fileSize);
+        doc.setCategory(request.category);
+        doc.setStatus("ACTIVE");
+        doc.setTransferId(request.transferId);
+        doc.setTags(request.tags != null ? request.tags.toArray(new String[0]) : null);
+
+        // Set associations
+        if (request.supplierId != null) {
+            supplierRepository.findById(request.supplierId)
+                .ifPresent(doc::setSupplier);
+        }
+        if (request.purchaseOrderId != null) {
+            purchaseOrderRepository.findById(request.purchaseOrderId)
+                .ifPresent(doc::setPurchaseOrder);
+        }
+
+        // Set uploader (loaded anyway: the response includes the username)
+        if (currentUser != null) {
+            userRepository.findById(currentUser.userId()).ifPresent(doc::setUploadedBy);
+        }
+        return doc;
     }
 
     private String generateHash(String input) {
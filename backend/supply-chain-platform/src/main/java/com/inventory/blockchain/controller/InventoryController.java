@@ -0,0 +1,118 @@
+package com.inventory.blockchain.controller;
+
+import com.inventory.blockchain.dto.BulkInventoryResponse;
+import com.inventory.blockchain.dto.InventoryAdjustRow;
+import com.inventory.blockchain.dto.InventoryUpsertRow;
+import com.inventory.blockchain.entity.Inventory;
+import com.inventory.blockchain.service.InventoryBulkService;
+import com.inventory.blockchain.service.InventoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/inventory")
+@CrossOrigin(origins = "*")
+public class InventoryController {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryController.class);
+
+    private final InventoryService inventoryService;
+    private final InventoryBulkService inventoryBulkService;
+
+    public InventoryController(InventoryService inventoryService, InventoryBulkService inventoryBulkService) {
+        this.inventoryService = inventoryService;
+        this.inventoryBulkService = inventoryBulkService;
+    }
+
+    // ==================== READ ====================
+
+    @GetMapping
+    public ResponseEntity<List<Inventory>> getInventory(
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String search) {
+        log.info("GET /api/inventory - location={}, category={}, search={}", location, category, search);
+
+        List<Inventory> items;
+        if (search != null && !search.isBlank()) {
+            items = inventoryService.searchInventory(search);
+        } else if (location != null && !location.isBlank()) {
+            items = inventoryService.getInventoryByLocation(location);
+        } else if (category != null && !category.isBlank()) {
+            items = inventoryService.getInventoryByCategory(category);
+        } else {
+            items = inventoryService.getAllInventory();
+        }
+        return ResponseEntity.ok(items);
+    }
+
+    @GetMapping("/locations")
+    public ResponseEntity<List<String>> getLocations() {
+        log.info("GET /api/inventory/locations");
+        return ResponseEntity.ok(inventoryService.getAllLocations());
+    }
+
+    @GetMapping("/skus")
+    public ResponseEntity<List<String>> getSkus() {
+        log.info("GET /api/inventory/skus");
+        return ResponseEntity.ok(inventoryService.getAllSkus());
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<String>> getCategories() {
+        log.info("GET /api/inventory/categories");
+        return ResponseEntity.ok(inventoryService.getAllCategories());
+    }
+
+    @GetMapping("/low-stock")
+    public ResponseEntity<List<Inventory>> getLowStock() {
+        log.info("GET /api/inventory/low-stock");
+        return ResponseEntity.ok(inventoryService.getLowStockItems());
+    }
+
+    @GetMapping("/{location}/{sku}")
+    public ResponseEntity<Inventory> getItem(@PathVariable String location, @PathVariable String sku) {
+        log.info("GET /api/inventory/{}/{}", location, sku);
+        return inventoryService.getInventoryItem(location, sku)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // ==================== BULK ====================
+
+    /**
+     * Set absolute quantities (cycle counts). Missing rows are created.
+     */
+    @PostMapping("/bulk/upsert")
+    public ResponseEntity<BulkInventoryResponse> bulkUpsert(@RequestBody BulkUpsertRequest request) {
+        log.info("POST /api/inventory/bulk/upsert - rows={}, allOrNothing={}",
+                request.rows != null ? request.rows.size() : 0, request.allOrNothing);
+        return ResponseEntity.ok(inventoryBulkService.upsert(request.rows, request.allOrNothing));
+    }
+
+    /**
+     * Apply quantity deltas to existing rows.
+     */
+    @PostMapping("/bulk/adjust")
+    public ResponseEntity<BulkInventoryResponse> bulkAdjust(@RequestBody BulkAdjustRequest request) {
+        log.info("POST /api/inventory/bulk/adjust - rows={}, allOrNothing={}",
+                request.rows != null ? request.rows.size() : 0, request.allOrNothing);
+        return ResponseEntity.ok(inventoryBulkService.adjust(request.rows, request.allOrNothing));
+    }
+
+    // ==================== REQUEST DTOs ====================
+
+    public static class BulkUpsertRequest {
+        public boolean allOrNothing;
+        public List<InventoryUpsertRow> rows;
+    }
+
+    public static class BulkAdjustRequest {
+        public boolean allOrNothing;
+        public List<InventoryAdjustRow> rows;
+    }
+}
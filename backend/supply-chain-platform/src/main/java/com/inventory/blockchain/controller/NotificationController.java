@@ -1,11 +1,20 @@
 package com.inventory.blockchain.controller;
 
+import com.inventory.blockchain.config.CurrentUser;
+import com.inventory.blockchain.dto.AuthenticatedUser;
 import com.inventory.blockchain.entity.*;
 import com.inventory.blockchain.repository.*;
+import com.inventory.blockchain.service.NotificationService;
+import com.inventory.blockchain.service.NotificationStreamService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.OffsetDateTime;
 import java.util.*;
@@ -17,55 +26,107 @@ public class NotificationController {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationController.class);
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final NotificationRepository notificationRepository;
     private final NotificationPreferenceRepository preferenceRepository;
     private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final NotificationStreamService streamService;
 
     public NotificationController(
             NotificationRepository notificationRepository,
             NotificationPreferenceRepository preferenceRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            NotificationService notificationService,
+            NotificationStreamService streamService) {
         this.notificationRepository = notificationRepository;
         this.preferenceRepository = preferenceRepository;
         this.userRepository = userRepository;
+        this.notificationService = notificationService;
+        this.streamService = streamService;
+    }
+
+    // ==================== STREAM ====================
+
+    /**
+     * Server-Sent Events stream of new notifications and unread-count changes.
+     * Browsers resend the last seen id in the Last-Event-ID header on reconnect.
+     * Only the user's own verified session may subscribe; EventSource clients pass the
+     * token as {@code ?access_token=}.
+     */
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotifications(
+            @PathVariable Long userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam,
+            @CurrentUser(required = false) AuthenticatedUser currentUser) {
+        log.info("GET /api/notifications/user/{}/stream - lastEventId={}", userId,
+                lastEventId != null ? lastEventId : lastEventIdParam);
+
+        // The legacy X-User-Id header is caller-asserted, so it cannot open a stream
+        if (currentUser == null || currentUser.tokenId() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!userId.equals(currentUser.userId())) {
+            log.warn("User {} tried to subscribe to the notification stream of user {}", currentUser.userId(), userId);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(streamService.subscribe(userId, lastEventId != null ? lastEventId : lastEventIdParam));
     }
 
     // ==================== NOTIFICATIONS ====================
 
+    /**
+     * Newest notifications first. {@code limit} is kept for existing clients; {@code page}
+     * and {@code size} page further back. X-Has-More tells whether another page exists.
+     */
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<Map<String, Object>>> getUserNotifications(
             @PathVariable Long userId,
-            @RequestParam(defaultValue = "50") int limit) {
-        log.info("GET /api/notifications/user/{} - limit={}", userId, limit);
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        log.info("GET /api/notifications/user/{} - page={}, size={}", userId, page, size != null ? size : limit);
 
-        List<Notification> notifications = notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        
-        List<Map<String, Object>> result = notifications.stream()
-            .limit(limit)
-            .map(this::mapNotificationToResponse)
-            .toList();
+        Slice<Notification> notifications = notificationRepository.findPageByUserId(userId, pageRequest(page, size, limit));
 
-        return ResponseEntity.ok(result);
+        return pageResponse(notifications);
     }
 
     @GetMapping("/user/{userId}/unread")
-    public ResponseEntity<List<Map<String, Object>>> getUnreadNotifications(@PathVariable Long userId) {
-        log.info("GET /api/notifications/user/{}/unread", userId);
+    public ResponseEntity<List<Map<String, Object>>> getUnreadNotifications(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("GET /api/notifications/user/{}/unread - page={}, size={}", userId, page, size);
 
-        List<Notification> notifications = notificationRepository.findUnreadByUserId(userId);
-        
+        Slice<Notification> notifications = notificationRepository.findUnreadPageByUserId(userId, pageRequest(page, size, size));
+
+        return pageResponse(notifications);
+    }
+
+    private PageRequest pageRequest(int page, Integer size, int defaultSize) {
+        int pageSize = Math.min(Math.max(size != null ? size : defaultSize, 1), MAX_PAGE_SIZE);
+        return PageRequest.of(Math.max(page, 0), pageSize);
+    }
+
+    private ResponseEntity<List<Map<String, Object>>> pageResponse(Slice<Notification> notifications) {
         List<Map<String, Object>> result = notifications.stream()
             .map(this::mapNotificationToResponse)
             .toList();
 
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok()
+            .header("X-Has-More", String.valueOf(notifications.hasNext()))
+            .body(result);
     }
 
     @GetMapping("/user/{userId}/count")
     public ResponseEntity<Map<String, Object>> getUnreadCount(@PathVariable Long userId) {
         log.info("GET /api/notifications/user/{}/count", userId);
 
-        long count = notificationRepository.countUnreadByUserId(userId);
+        long count = notificationService.getUnreadCount(userId);
         
         return ResponseEntity.ok(Map.of("unreadCount", count));
     }
@@ -88,7 +149,7 @@ public class NotificationController {
             userRepository.findById(request.userId).ifPresent(notification::setUser);
         }
 
-        Notification saved = notificationRepository.save(notification);
+        Notification saved = notificationService.createNotification(notification);
         return ResponseEntity.ok(mapNotificationToResponse(saved));
     }
 
@@ -96,9 +157,7 @@ public class NotificationController {
     public ResponseEntity<Map<String, Object>> markAsRead(@PathVariable Long id) {
         log.info("PUT /api/notifications/{}/read", id);
 
-        notificationRepository.markAsRead(id);
-        
-        return notificationRepository.findById(id)
+        return notificationService.markAsRead(id)
             .map(n -> ResponseEntity.ok(mapNotificationToResponse(n)))
             .orElse(ResponseEntity.notFound().build());
     }
@@ -107,7 +166,7 @@ public class NotificationController {
     public ResponseEntity<Map<String, Object>> markAllAsRead(@PathVariable Long userId) {
         log.info("PUT /api/notifications/user/{}/read-all", userId);
 
-        int updated = notificationRepository.markAllAsReadByUserId(userId);
+        int updated = notificationService.markAllAsRead(userId);
         
         return ResponseEntity.ok(Map.of(
             "message", "Marked all as read",
@@ -119,8 +178,7 @@ public class NotificationController {
     public ResponseEntity<Map<String, Object>> deleteNotification(@PathVariable Long id) {
         log.info("DELETE /api/notifications/{}", id);
 
-        if (notificationRepository.existsById(id)) {
-            notificationRepository.deleteById(id);
+        if (notificationService.deleteNotification(id)) {
             return ResponseEntity.ok(Map.of("message", "Notification deleted"));
         }
         return ResponseEntity.notFound().build();
@@ -130,7 +188,7 @@ public class NotificationController {
     public ResponseEntity<Map<String, Object>> clearAllNotifications(@PathVariable Long userId) {
         log.info("DELETE /api/notifications/user/{}/all", userId);
 
-        notificationRepository.deleteByUserId(userId);
+        notificationService.clearAllNotifications(userId);
         return ResponseEntity.ok(Map.of("message", "All notifications cleared"));
     }
 
@@ -210,6 +268,8 @@ public class NotificationController {
         map.put("link", n.getLink());
         map.put("referenceId", n.getReferenceId());
         map.put("referenceType", n.getReferenceType());
+        map.put("referenceIds", n.getReferenceIds());
+        map.put("digestCount", n.getDigestCount());
         map.put("priority", n.getPriority());
         map.put("isRead", n.getIsRead());
         map.put("readAt", n.getReadAt());
@@ -0,0 +1,54 @@
+package com.inventory.blockchain.controller;
+
+import com.inventory.blockchain.dto.SearchSuggestion;
+import com.inventory.blockchain.service.SearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchController.class);
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Typeahead suggestions. Without {@code types} every type is searched; each type
+     * returns at most {@code limit} matches.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<Map<String, List<SearchSuggestion>>> suggest(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(defaultValue = "8") int limit) {
+        log.debug("GET /api/search/suggest - q={}, types={}, limit={}", query, types, limit);
+
+        List<String> requested = types == null || types.isEmpty()
+            ? List.of(SearchService.TYPE_PRODUCT, SearchService.TYPE_SUPPLIER, SearchService.TYPE_DOCUMENT)
+            : types.stream().map(t -> t.trim().toUpperCase(Locale.ROOT)).distinct().toList();
+
+        Map<String, List<SearchSuggestion>> result = new LinkedHashMap<>();
+        for (String type : requested) {
+            result.put(type, switch (type) {
+                case SearchService.TYPE_PRODUCT -> searchService.searchProducts(query, limit);
+                case SearchService.TYPE_SUPPLIER -> searchService.searchSuppliers(query, limit);
+                case SearchService.TYPE_DOCUMENT -> searchService.searchDocuments(query, limit);
+                default -> throw new IllegalArgumentException("Unknown search type: " + type);
+            });
+        }
+        return ResponseEntity.ok(result);
+    }
+}
@@ -1,15 +1,25 @@
 package com.inventory.blockchain.controller;
 
+import com.inventory.blockchain.dto.PurchaseOrderSummary;
+import com.inventory.blockchain.dto.ReorderRunResult;
+import com.inventory.blockchain.dto.SupplierPerformanceMetrics;
 import com.inventory.blockchain.entity.*;
 import com.inventory.blockchain.repository.*;
+import com.inventory.blockchain.service.CodeSequenceService;
+import com.inventory.blockchain.service.PurchaseOrderService;
+import com.inventory.blockchain.service.ReorderService;
+import com.inventory.blockchain.service.SourcingIndex;
+import com.inventory.blockchain.service.SupplierPerformanceService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
-import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -20,17 +30,37 @@ public class SupplierController {
 
     private static final Logger log = LoggerFactory.getLogger(SupplierController.class);
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final SupplierRepository supplierRepository;
     private final SupplierProductRepository supplierProductRepository;
     private final PurchaseOrderRepository purchaseOrderRepository;
+    private final InventoryRepository inventoryRepository;
+    private final CodeSequenceService codeSequenceService;
+    private final ReorderService reorderService;
+    private final SourcingIndex sourcingIndex;
+    private final SupplierPerformanceService performanceService;
+    private final PurchaseOrderService purchaseOrderService;
 
     public SupplierController(
             SupplierRepository supplierRepository,
             SupplierProductRepository supplierProductRepository,
-            PurchaseOrderRepository purchaseOrderRepository) {
+            PurchaseOrderRepository purchaseOrderRepository,
+            InventoryRepository inventoryRepository,
+            CodeSequenceService codeSequenceService,
+            ReorderService reorderService,
+            SourcingIndex sourcingIndex,
+            SupplierPerformanceService performanceService,
+            PurchaseOrderService purchaseOrderService) {
         this.supplierRepository = supplierRepository;
         this.supplierProductRepository = supplierProductRepository;
         this.purchaseOrderRepository = purchaseOrderRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.codeSequenceService = codeSequenceService;
+        this.reorderService = reorderService;
+        this.sourcingIndex = sourcingIndex;
+        this.performanceService = performanceService;
+        this.purchaseOrderService = purchaseOrderService;
     }
 
     // ==================== SUPPLIERS ====================
@@ -62,7 +92,9 @@ public class SupplierController {
                     Map<String, Object> response = new HashMap<>();
                     response.put("supplier", supplier);
                     response.put("products", supplierProductRepository.findBySupplierId(id));
-                    response.put("orders", purchaseOrderRepository.findBySupplierIdOrderByCreatedAtDesc(id));
+                    response.put("orders", purchaseOrderRepository.findSummaries(null, id, Pageable.unpaged()).getContent());
+                    performanceService.getMetrics(id, SupplierPerformanceService.DEFAULT_QUARTERS)
+                            .ifPresent(metrics -> response.put("performance", metrics));
                     return ResponseEntity.ok(response);
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -100,8 +132,11 @@ public class SupplierController {
                     if (updates.getPaymentTerms() != null) supplier.setPaymentTerms(updates.getPaymentTerms());
                     if (updates.getLeadTimeDays() != null) supplier.setLeadTimeDays(updates.getLeadTimeDays());
                     if (updates.getNotes() != null) supplier.setNotes(updates.getNotes());
-                    
-                    return ResponseEntity.ok(supplierRepository.save(supplier));
+
+                    Supplier saved = supplierRepository.save(supplier);
+                    // Status and lead time feed the sourcing index
+                    sourcingIndex.refreshSupplier(id);
+                    return ResponseEntity.ok(saved);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -115,11 +150,38 @@ public class SupplierController {
                     // Soft delete - set status to INACTIVE
                     supplier.setStatus("INACTIVE");
                     supplierRepository.save(supplier);
+                    sourcingIndex.refreshSupplier(id);
                     return ResponseEntity.ok(Map.of("message", "Supplier deactivated"));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // ==================== SUPPLIER PERFORMANCE ====================
+
+    /**
+     * Scorecards for every supplier with delivered or confirmed orders over the last
+     * {@code quarters} quarters, including the current one.
+     */
+    @GetMapping("/performance")
+    public ResponseEntity<List<SupplierPerformanceMetrics>> getAllSupplierPerformance(
+            @RequestParam(defaultValue = "4") int quarters) {
+        log.info("GET /api/suppliers/performance - quarters={}", quarters);
+        return ResponseEntity.ok(performanceService.getAllMetrics(quarters));
+    }
+
+    @GetMapping("/{id}/performance")
+    public ResponseEntity<SupplierPerformanceMetrics> getSupplierPerformance(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "4") int quarters) {
+        log.info("GET /api/suppliers/{}/performance - quarters={}", id, quarters);
+
+        if (!supplierRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(performanceService.getMetrics(id, quarters)
+                .orElseGet(() -> SupplierPerformanceMetrics.of(id, null, SupplierPerformanceMetrics.Totals.EMPTY)));
+    }
+
     // ==================== SUPPLIER PRODUCTS ====================
 
     @GetMapping("/{supplierId}/products")
@@ -140,7 +202,9 @@ public class SupplierController {
                         return ResponseEntity.badRequest().body(Map.of("message", "Product already exists for this supplier"));
                     }
                     product.setSupplier(supplier);
-                    return ResponseEntity.ok(supplierProductRepository.save(product));
+                    SupplierProduct saved = supplierProductRepository.save(product);
+                    sourcingIndex.refreshSku(saved.getSku());
+                    return ResponseEntity.ok(saved);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -154,6 +218,7 @@ public class SupplierController {
         return supplierProductRepository.findBySupplierIdAndSku(supplierId, sku)
                 .map(product -> {
                     supplierProductRepository.delete(product);
+                    sourcingIndex.refreshSku(sku);
                     return ResponseEntity.ok(Map.of("message", "Product removed"));
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -166,30 +231,60 @@ public class SupplierController {
         return ResponseEntity.ok(supplierProductRepository.findActiveSuppliersBySku(sku));
     }
 
+    /**
+     * Offers per SKU from the sourcing index, cheapest first; {@code best} is the one the
+     * reorder engine would order from.
+     */
+    @GetMapping("/sourcing")
+    public ResponseEntity<Map<String, Object>> getSourcing(@RequestParam List<String> skus) {
+        log.info("GET /api/suppliers/sourcing - {} skus", skus.size());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String sku : skus) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("offers", sourcingIndex.offers(sku));
+            item.put("best", sourcingIndex.best(sku).orElse(null));
+            result.put(sku, item);
+        }
+        return ResponseEntity.ok(result);
+    }
+
     // ==================== PURCHASE ORDERS ====================
 
+    /**
+     * Order summaries, newest first, paged by {@code page} and {@code size}; X-Has-More tells
+     * whether another page exists.
+     */
     @GetMapping("/orders")
-    public ResponseEntity<List<PurchaseOrder>> getAllOrders(
+    public ResponseEntity<List<PurchaseOrderSummary>> getAllOrders(
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) Long supplierId) {
-        log.info("GET /api/suppliers/orders - status={}, supplierId={}", status, supplierId);
-        
-        List<PurchaseOrder> orders;
-        if (supplierId != null) {
-            orders = purchaseOrderRepository.findBySupplierIdOrderByCreatedAtDesc(supplierId);
-        } else if (status != null && !status.isEmpty()) {
-            orders = purchaseOrderRepository.findByStatus(status);
-        } else {
-            orders = purchaseOrderRepository.findAllByOrderByCreatedAtDesc();
-        }
-        
-        return ResponseEntity.ok(orders);
+            @RequestParam(required = false) Long supplierId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("GET /api/suppliers/orders - status={}, supplierId={}, page={}, size={}", status, supplierId, page, size);
+
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        Slice<PurchaseOrderSummary> orders = purchaseOrderRepository.findSummaries(
+                status != null && !status.isEmpty() ? status : null, supplierId, pageable);
+
+        return ResponseEntity.ok()
+                .header("X-Has-More", String.valueOf(orders.hasNext()))
+                .body(orders.getContent());
+    }
+
+    /**
+     * Run the reorder engine now instead of waiting for the schedule.
+     */
+    @PostMapping("/orders/reorder")
+    public ResponseEntity<ReorderRunResult> runReorder() {
+        log.info("POST /api/suppliers/orders/reorder");
+        return ResponseEntity.ok(reorderService.run());
     }
 
     @GetMapping("/orders/{id}")
     public ResponseEntity<PurchaseOrder> getOrder(@PathVariable Long id) {
         log.info("GET /api/suppliers/orders/{}", id);
-        return purchaseOrderRepository.findById(id)
+        return purchaseOrderRepository.findWithDetailsById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -205,10 +300,11 @@ public class SupplierController {
         
         Supplier supplier = supplierOpt.get();
         PurchaseOrder order = new PurchaseOrder();
-        order.setPoNumber(generatePoNumber());
+        order.setPoNumber(codeSequenceService.nextCode(CodeSequenceService.CodeType.PURCHASE_ORDER));
         order.setSupplier(supplier);
         order.setStatus("DRAFT");
         order.setShippingAddress(request.shippingAddress);
+        order.setDestinationLocation(destinationLocation(request));
         order.setNotes(request.notes);
         
         // Add items
@@ -229,39 +325,22 @@ public class SupplierController {
         order.recalculateTotals();
         
         PurchaseOrder saved = purchaseOrderRepository.save(order);
-        return ResponseEntity.ok(saved);
+        return ResponseEntity.ok(purchaseOrderRepository.findSummaryById(saved.getId()).orElseThrow());
     }
 
     @PutMapping("/orders/{id}/status")
     public ResponseEntity<?> updateOrderStatus(
             @PathVariable Long id,
-            @RequestBody Map<String, String> body) {
+            @RequestBody Map<String, Object> body) {
         log.info("PUT /api/suppliers/orders/{}/status", id);
         
-        String newStatus = body.get("status");
-        if (newStatus == null) {
+        if (!(body.get("status") instanceof String newStatus)) {
             return ResponseEntity.badRequest().body(Map.of("message", "Status required"));
         }
         
-        return purchaseOrderRepository.findById(id)
-                .map(order -> {
-                    order.setStatus(newStatus);
-                    
-                    if ("PENDING".equals(newStatus) || "CONFIRMED".equals(newStatus)) {
-                        order.setOrderDate(OffsetDateTime.now());
-                        if (order.getExpectedDelivery() == null) {
-                            int leadTime = order.getSupplier().getLeadTimeDays() != null ? 
-                                    order.getSupplier().getLeadTimeDays() : 7;
-                            order.setExpectedDelivery(LocalDate.now().plusDays(leadTime));
-                        }
-                    }
-                    
-                    if ("DELIVERED".equals(newStatus)) {
-                        order.setActualDelivery(LocalDate.now());
-                    }
-                    
-                    return ResponseEntity.ok(purchaseOrderRepository.save(order));
-                })
+        Map<?, ?> received = body.get("received") instanceof Map<?, ?> m ? m : null;
+        return purchaseOrderService.changeStatus(id, newStatus, received)
+                .<ResponseEntity<?>>map(order -> ResponseEntity.ok(purchaseOrderRepository.findSummaryById(id).orElseThrow()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -308,10 +387,23 @@ public class SupplierController {
 
     // ==================== HELPER METHODS ====================
 
-    private String generatePoNumber() {
-        int year = java.time.Year.now().getValue();
-        long count = purchaseOrderRepository.count() + 1;
-        return String.format("PO-%d-%03d", year, count);
+    /**
+     * The inventory location an order restocks: the explicit destination, or the shipping
+     * address when it names a known location. Orders shipping anywhere else have none.
+     */
+    private String destinationLocation(CreateOrderRequest request) {
+        String candidate = request.destinationLocation != null ? request.destinationLocation : request.shippingAddress;
+        if (candidate == null || candidate.isBlank()) {
+            return null;
+        }
+        String location = candidate.trim();
+        if (!inventoryRepository.existsByLocation(location)) {
+            if (request.destinationLocation != null) {
+                throw new IllegalArgumentException("Unknown destination location: " + location);
+            }
+            return null;
+        }
+        return location;
     }
 
     // ==================== REQUEST DTOs ====================
@@ -319,6 +411,7 @@ public class SupplierController {
     public static class CreateOrderRequest {
         public Long supplierId;
         public String shippingAddress;
+        public String destinationLocation;
         public String notes;
         public BigDecimal shippingCost;
         public List<OrderItemRequest> items;
@@ -1,18 +1,18 @@
 package com.inventory.blockchain.controller;
 
+import com.inventory.blockchain.dto.TransferItem;
 import com.inventory.blockchain.entity.Transfer;
 import com.inventory.blockchain.repository.TransferRepository;
-import com.inventory.blockchain.service.NotificationService;
+import com.inventory.blockchain.service.IdempotencyService;
 import com.inventory.blockchain.service.TransferService;
+import com.inventory.blockchain.util.TransferIdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/transfers")
@@ -23,14 +23,17 @@ public class TransferController {
 
     private final TransferRepository transferRepository;
     private final TransferService transferService;
-    private final NotificationService notificationService;
+    private final IdempotencyService idempotencyService;
+    private final TransferIdGenerator transferIdGenerator;
 
     public TransferController(TransferRepository transferRepository, 
                               TransferService transferService,
-                              NotificationService notificationService) {
+                              IdempotencyService idempotencyService,
+                              TransferIdGenerator transferIdGenerator) {
         this.transferRepository = transferRepository;
         this.transferService = transferService;
-        this.notificationService = notificationService;
+        this.idempotencyService = idempotencyService;
+        this.transferIdGenerator = transferIdGenerator;
     }
 
     @GetMapping
@@ -47,80 +50,56 @@ public class TransferController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/items")
+    public ResponseEntity<List<TransferItem>> getTransferItems(@PathVariable String id) {
+        log.info("GET /api/transfers/{}/items", id);
+        return ResponseEntity.ok(transferService.getTransferItems(id));
+    }
+
+    /**
+     * Create a transfer. Clients that retry should send an Idempotency-Key header;
+     * a retry with the same key and body returns the original response.
+     */
     @PostMapping
-    public ResponseEntity<?> createTransfer(@RequestBody Transfer transfer) {
-        log.info("POST /api/transfers - Creating transfer from {} to {}", 
-                transfer.getFromLocation(), transfer.getToLocation());
-
-        try {
-            // Generate transfer ID if not provided
-            if (transfer.getTransferId() == null || transfer.getTransferId().isEmpty()) {
-                transfer.setTransferId("TRF-" + System.currentTimeMillis() % 1000000);
-            }
-            
-            // Set defaults
-            if (transfer.getStatus() == null) {
-                transfer.setStatus("REQUESTED");
-            }
-            if (transfer.getCreatedAt() == null) {
-                transfer.setCreatedAt(OffsetDateTime.now());
-            }
-            
-            Transfer created = transferRepository.save(transfer);
-            
-            // Send notification
-            notificationService.notifyTransferCreated(created);
-            
-            return ResponseEntity.ok(created);
-        } catch (Exception e) {
-            log.error("Failed to create transfer: {}", e.getMessage());
-            return ResponseEntity.badRequest().body(Map.of(
-                "error", "FAILED",
-                "message", e.getMessage()
-            ));
+    public ResponseEntity<Transfer> createTransfer(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody CreateTransferRequest request) {
+        log.info("POST /api/transfers - Creating transfer from {} to {}, idempotencyKey={}", 
+                request.fromLocation, request.toLocation, idempotencyKey);
+
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(register(request));
         }
+        return idempotencyService.execute("POST /api/transfers", idempotencyKey, request,
+                () -> ResponseEntity.ok(register(request)));
+    }
+
+    private Transfer register(CreateTransferRequest request) {
+        // Generate transfer ID if not provided
+        String transferId = request.transferId;
+        if (transferId == null || transferId.isBlank()) {
+            transferId = transferIdGenerator.nextId();
+        }
+        return transferService.registerTransfer(
+                transferId, request.fromLocation, request.toLocation, request.items);
     }
 
     @PutMapping("/{id}/status")
-    public ResponseEntity<?> updateStatus(
+    public ResponseEntity<Transfer> updateStatus(
             @PathVariable String id,
             @RequestBody Map<String, String> body) {
         
         String newStatus = body.get("status");
         log.info("PUT /api/transfers/{}/status - newStatus={}", id, newStatus);
 
-        Optional<Transfer> optTransfer = transferRepository.findByTransferId(id);
-        if (optTransfer.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
-
-        Transfer transfer = optTransfer.get();
-        String oldStatus = transfer.getStatus();
-
-        // Update status
-        transfer.setStatus(newStatus);
-
-        Transfer saved = transferRepository.save(transfer);
-        
-        // Send notification for status change
-        notificationService.notifyTransferStatusChanged(saved, oldStatus, newStatus);
-
-        return ResponseEntity.ok(saved);
+        return ResponseEntity.ok(transferService.changeStatus(id, newStatus));
     }
 
     @PutMapping("/{id}/confirm")
-    public ResponseEntity<?> confirmTransfer(@PathVariable String id) {
+    public ResponseEntity<Transfer> confirmTransfer(@PathVariable String id) {
         log.info("PUT /api/transfers/{}/confirm", id);
         
-        return transferRepository.findByTransferId(id)
-            .map(transfer -> {
-                String oldStatus = transfer.getStatus();
-                transfer.setStatus("CONFIRMED");
-                Transfer saved = transferRepository.save(transfer);
-                notificationService.notifyTransferStatusChanged(saved, oldStatus, "CONFIRMED");
-                return ResponseEntity.ok(saved);
-            })
-            .orElse(ResponseEntity.notFound().build());
+        return ResponseEntity.ok(transferService.changeStatus(id, TransferService.STATUS_CONFIRMED));
     }
 
     @PutMapping("/{id}/blockchain")
@@ -149,18 +128,18 @@ public class TransferController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteTransfer(@PathVariable String id) {
         log.info("DELETE /api/transfers/{}", id);
-        
-        return transferRepository.findByTransferId(id)
-            .map(transfer -> {
-                // Only allow deletion of REQUESTED transfers
-                if (!"REQUESTED".equals(transfer.getStatus())) {
-                    return ResponseEntity.badRequest().body(Map.of(
-                        "error", "Cannot delete transfer that is not in REQUESTED status"
-                    ));
-                }
-                transferRepository.delete(transfer);
-                return ResponseEntity.ok(Map.of("message", "Transfer deleted"));
-            })
-            .orElse(ResponseEntity.notFound().build());
+
+        // Only REQUESTED transfers can be deleted; anything else is rejected with 400
+        transferService.deleteTransfer(id);
+        return ResponseEntity.ok(Map.of("message", "Transfer deleted"));
+    }
+
+    // ==================== REQUEST DTOs ====================
+
+    public static class CreateTransferRequest {
+        public String transferId;
+        public String fromLocation;
+        public String toLocation;
+        public List<TransferItem> items;
     }
 }
@@ -1,8 +1,12 @@
 package com.inventory.blockchain.controller;
 
+import com.inventory.blockchain.config.CurrentUser;
 import com.inventory.blockchain.dto.*;
 import com.inventory.blockchain.entity.User;
+import com.inventory.blockchain.exception.InvalidTokenException;
+import com.inventory.blockchain.exception.PermissionDeniedException;
 import com.inventory.blockchain.repository.UserRepository;
+import com.inventory.blockchain.service.PermissionCache;
 import com.inventory.blockchain.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
@@ -21,10 +25,12 @@ public class UserController {
 
     private final UserService userService;
     private final UserRepository userRepository;
+    private final PermissionCache permissionCache;
 
-    public UserController(UserService userService, UserRepository userRepository) {
+    public UserController(UserService userService, UserRepository userRepository, PermissionCache permissionCache) {
         this.userService = userService;
         this.userRepository = userRepository;
+        this.permissionCache = permissionCache;
     }
 
     // ==================== AUTHENTICATION ====================
@@ -39,6 +45,13 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/auth/logout")
+    public ResponseEntity<Void> logout(@CurrentUser AuthenticatedUser currentUser) {
+        log.info("POST /api/auth/logout - userId={}", currentUser.userId());
+        userService.logout(currentUser);
+        return ResponseEntity.noContent().build();
+    }
+
     // ==================== USER MANAGEMENT ====================
 
     @GetMapping("/users")
@@ -56,11 +69,9 @@ public class UserController {
     @PostMapping("/users")
     public ResponseEntity<UserResponse> createUser(
             @RequestBody CreateUserRequest request,
-            @RequestHeader(value = "X-User-Id", required = false) Long currentUserId) {
+            @CurrentUser AuthenticatedUser currentUser) {
         log.info("POST /api/users - username={}", request.username());
-        User currentUser = currentUserId != null ? 
-                userRepository.findById(currentUserId).orElse(null) : null;
-        UserResponse response = userService.createUser(request, currentUser);
+        UserResponse response = userService.createUser(request, authorize(currentUser, "users.create"));
         return ResponseEntity.ok(response);
     }
 
@@ -68,22 +79,18 @@ public class UserController {
     public ResponseEntity<UserResponse> updateUser(
             @PathVariable Long id,
             @RequestBody UpdateUserRequest request,
-            @RequestHeader(value = "X-User-Id", required = false) Long currentUserId) {
+            @CurrentUser AuthenticatedUser currentUser) {
         log.info("PUT /api/users/{}", id);
-        User currentUser = currentUserId != null ? 
-                userRepository.findById(currentUserId).orElse(null) : null;
-        UserResponse response = userService.updateUser(id, request, currentUser);
+        UserResponse response = userService.updateUser(id, request, authorize(currentUser, "users.update"));
         return ResponseEntity.ok(response);
     }
 
     @DeleteMapping("/users/{id}")
     public ResponseEntity<Void> deleteUser(
             @PathVariable Long id,
-            @RequestHeader(value = "X-User-Id", required = false) Long currentUserId) {
+            @CurrentUser AuthenticatedUser currentUser) {
         log.info("DELETE /api/users/{}", id);
-        User currentUser = currentUserId != null ? 
-                userRepository.findById(currentUserId).orElse(null) : null;
-        userService.deleteUser(id, currentUser);
+        userService.deleteUser(id, authorize(currentUser, "users.delete"));
         return ResponseEntity.noContent().build();
     }
 
@@ -100,11 +107,13 @@ public class UserController {
     public ResponseEntity<Void> resetPassword(
             @PathVariable Long id,
             @RequestBody String newPassword,
-            @RequestHeader(value = "X-User-Id") Long currentUserId) {
+            @CurrentUser AuthenticatedUser currentUser) {
         log.info("POST /api/users/{}/reset-password", id);
-        User currentUser = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
-        userService.resetPassword(id, newPassword, currentUser);
+        User actor = actor(currentUser);
+        if (actor == null) {
+            throw new RuntimeException("Current user not found");
+        }
+        userService.resetPassword(id, newPassword, actor);
         return ResponseEntity.ok().build();
     }
 
@@ -167,8 +176,45 @@ public class UserController {
     }
 
     @GetMapping("/activity-logs/user/{userId}")
-    public ResponseEntity<List<ActivityLogResponse>> getUserActivity(@PathVariable Long userId) {
-        log.info("GET /api/activity-logs/user/{}", userId);
-        return ResponseEntity.ok(userService.getUserActivity(userId));
+    public ResponseEntity<List<ActivityLogResponse>> getUserActivity(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "100") int limit) {
+        log.info("GET /api/activity-logs/user/{} - limit={}", userId, limit);
+        return ResponseEntity.ok(userService.getUserActivity(userId, limit));
+    }
+
+    // ==================== HELPERS ====================
+
+    /**
+     * Acting user, after checking their role grants {@code permission}. Token callers carry
+     * their role; legacy X-User-Id callers are looked up for it.
+     */
+    private User authorize(AuthenticatedUser currentUser, String permission) {
+        Long roleId = currentUser.roleId();
+        User actor = actor(currentUser);
+        if (actor == null) {
+            throw new InvalidTokenException("Unknown user");
+        }
+        if (currentUser.tokenId() == null) {
+            roleId = actor.getRole() != null ? actor.getRole().getId() : null;
+        }
+        if (!permissionCache.hasPermission(roleId, permission)) {
+            throw new PermissionDeniedException(permission);
+        }
+        return actor;
+    }
+
+    /**
+     * Acting user for audit fields. A verified token already proves the user exists, so a
+     * reference is enough; legacy X-User-Id callers are still looked up.
+     */
+    private User actor(AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            return null;
+        }
+        if (currentUser.tokenId() != null) {
+            return userRepository.getReferenceById(currentUser.userId());
+        }
+        return userRepository.findById(currentUser.userId()).orElse(null);
     }
 }
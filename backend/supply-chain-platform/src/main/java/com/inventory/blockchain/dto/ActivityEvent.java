@@ -0,0 +1,31 @@
+package com.inventory.blockchain.dto;
+
+import com.inventory.blockchain.entity.ActivityLog;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * One activity_logs row waiting to be written by {@code ActivityLogWriter}.
+ */
+public record ActivityEvent(
+        Long userId,
+        String action,
+        String entityType,
+        String entityId,
+        Map<String, Object> details,
+        String ipAddress,
+        LocalDateTime createdAt
+) {
+
+    public static ActivityEvent from(ActivityLog log) {
+        return new ActivityEvent(
+                log.getUser() != null ? log.getUser().getId() : null,
+                log.getAction(),
+                log.getEntityType(),
+                log.getEntityId(),
+                log.getDetails(),
+                log.getIpAddress(),
+                log.getCreatedAt() != null ? log.getCreatedAt() : LocalDateTime.now());
+    }
+}
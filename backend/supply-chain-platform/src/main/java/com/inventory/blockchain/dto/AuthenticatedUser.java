@@ -0,0 +1,24 @@
+package com.inventory.blockchain.dto;
+
+import java.time.Instant;
+
+/**
+ * Caller identity decoded from a session token. Grants are not part of the token; check
+ * them with {@code PermissionCache.hasPermission(roleId, code)}.
+ */
+public record AuthenticatedUser(
+        Long userId,
+        String username,
+        Long roleId,
+        String tokenId,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+
+    /**
+     * Identity taken from the legacy X-User-Id header: no role, no permissions.
+     */
+    public static AuthenticatedUser unverified(Long userId) {
+        return new AuthenticatedUser(userId, null, null, null, null, null);
+    }
+}
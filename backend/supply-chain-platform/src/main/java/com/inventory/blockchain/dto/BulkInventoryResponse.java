@@ -0,0 +1,11 @@
+package com.inventory.blockchain.dto;
+
+import java.util.List;
+
+public record BulkInventoryResponse(
+    int total,
+    int applied,
+    int failed,
+    boolean rolledBack,
+    List<BulkRowResult> results
+) {}
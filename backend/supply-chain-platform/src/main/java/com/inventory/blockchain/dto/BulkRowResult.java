@@ -0,0 +1,22 @@
+package com.inventory.blockchain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkRowResult(
+    int index,
+    String location,
+    String sku,
+    String status,
+    String message
+) {
+
+    public static final String APPLIED = "APPLIED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String INSUFFICIENT_STOCK = "INSUFFICIENT_STOCK";
+    public static final String REJECTED = "REJECTED";
+
+    public boolean isApplied() {
+        return APPLIED.equals(status);
+    }
+}
@@ -0,0 +1,67 @@
+package com.inventory.blockchain.dto;
+
+import com.inventory.blockchain.entity.Document;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A document with the names of its linked supplier, purchase order and uploader, read
+ * in one query for list endpoints instead of initializing each association.
+ */
+public record DocumentSummary(
+    Long id,
+    String documentCode,
+    String name,
+    String description,
+    String fileName,
+    String fileType,
+    Long fileSize,
+    String filePath,
+    String category,
+    String status,
+    String transferId,
+    Long supplierId,
+    String supplierName,
+    Long purchaseOrderId,
+    String poNumber,
+    String[] tags,
+    Integer version,
+    String hash,
+    String storageKey,
+    Long uploadedById,
+    String uploadedBy,
+    OffsetDateTime createdAt,
+    OffsetDateTime updatedAt
+) {
+
+    /**
+     * Summary of a loaded entity; initializes the associations it reads.
+     */
+    public static DocumentSummary from(Document doc) {
+        return new DocumentSummary(
+            doc.getId(),
+            doc.getDocumentCode(),
+            doc.getName(),
+            doc.getDescription(),
+            doc.getFileName(),
+            doc.getFileType(),
+            doc.getFileSize(),
+            doc.getFilePath(),
+            doc.getCategory(),
+            doc.getStatus(),
+            doc.getTransferId(),
+            doc.getSupplierId(),
+            doc.getSupplier() != null ? doc.getSupplier().getName() : null,
+            doc.getPurchaseOrderId(),
+            doc.getPurchaseOrder() != null ? doc.getPurchaseOrder().getPoNumber() : null,
+            doc.getTags(),
+            doc.getVersion(),
+            doc.getHash(),
+            doc.getStorageKey(),
+            doc.getUploadedBy() != null ? doc.getUploadedBy().getId() : null,
+            doc.getUploadedBy() != null ? doc.getUploadedBy().getUsername() : null,
+            doc.getCreatedAt(),
+            doc.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,7 @@
+package com.inventory.blockchain.dto;
+
+public record InventoryAdjustRow(
+    String location,
+    String sku,
+    Integer delta
+) {}
@@ -0,0 +1,14 @@
+package com.inventory.blockchain.dto;
+
+import java.math.BigDecimal;
+
+public record InventoryUpsertRow(
+    String location,
+    String sku,
+    String productName,
+    String category,
+    Integer quantity,
+    Integer minStock,
+    String unit,
+    BigDecimal price
+) {}
@@ -0,0 +1,26 @@
+package com.inventory.blockchain.dto;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A notification addressed to every active user who has not opted out of its type.
+ * A digest merges {@code digestCount} broadcasts and lists their {@code referenceIds}.
+ */
+public record NotificationBroadcast(
+        String type,
+        String title,
+        String message,
+        String icon,
+        String priority,
+        String referenceId,
+        String referenceType,
+        String referenceIds,
+        Integer digestCount,
+        OffsetDateTime createdAt
+) {
+
+    public NotificationBroadcast(String type, String title, String message, String icon, String priority,
+                                 String referenceId, String referenceType, OffsetDateTime createdAt) {
+        this(type, title, message, icon, priority, referenceId, referenceType, null, null, createdAt);
+    }
+}
@@ -0,0 +1,38 @@
+package com.inventory.blockchain.dto;
+
+import com.inventory.blockchain.entity.Notification;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Notification as pushed on the per-user stream; same fields as the REST responses.
+ */
+public record NotificationEvent(
+        Long id,
+        String type,
+        String title,
+        String message,
+        String icon,
+        String link,
+        String referenceId,
+        String referenceType,
+        String referenceIds,
+        Integer digestCount,
+        String priority,
+        Boolean isRead,
+        OffsetDateTime readAt,
+        OffsetDateTime createdAt
+) {
+
+    public static NotificationEvent from(Notification n) {
+        return new NotificationEvent(n.getId(), n.getType(), n.getTitle(), n.getMessage(), n.getIcon(),
+                n.getLink(), n.getReferenceId(), n.getReferenceType(), n.getReferenceIds(), n.getDigestCount(),
+                n.getPriority(), n.getIsRead(), n.getReadAt(), n.getCreatedAt());
+    }
+
+    public static NotificationEvent from(Long id, NotificationBroadcast b) {
+        return new NotificationEvent(id, b.type(), b.title(), b.message(), b.icon(), null,
+                b.referenceId(), b.referenceType(), b.referenceIds(), b.digestCount(), b.priority(),
+                false, null, b.createdAt());
+    }
+}
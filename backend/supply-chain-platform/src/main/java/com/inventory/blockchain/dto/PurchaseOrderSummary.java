@@ -0,0 +1,31 @@
+package com.inventory.blockchain.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Purchase order row for list views: supplier name and item aggregates are computed in
+ * the query, so neither the supplier nor the items are loaded.
+ */
+public record PurchaseOrderSummary(
+    Long id,
+    String poNumber,
+    String status,
+    Long supplierId,
+    String supplierName,
+    String supplierCode,
+    OffsetDateTime orderDate,
+    LocalDate expectedDelivery,
+    LocalDate actualDelivery,
+    BigDecimal subtotal,
+    BigDecimal tax,
+    BigDecimal shippingCost,
+    BigDecimal total,
+    Long itemCount,
+    Long totalQuantity,
+    Long receivedQuantity,
+    OffsetDateTime createdAt,
+    OffsetDateTime updatedAt
+) {
+}
@@ -0,0 +1,19 @@
+package com.inventory.blockchain.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of one reorder run. {@code unsourcedSkus} are low-stock SKUs no active
+ * supplier offers. {@code skippedLocations} were not planned, either because another
+ * instance was planning them or because planning failed (see the log).
+ */
+public record ReorderRunResult(
+    int lowStockItems,
+    int locationsPlanned,
+    int ordersCreated,
+    int linesCreated,
+    List<String> poNumbers,
+    List<String> unsourcedSkus,
+    List<String> skippedLocations
+) {
+}
@@ -0,0 +1,15 @@
+package com.inventory.blockchain.dto;
+
+/**
+ * One typeahead match. {@code id} is the entity id, or the SKU for inventory items that
+ * span several locations; {@code score} orders matches within a type.
+ */
+public record SearchSuggestion(
+    String type,
+    String id,
+    String code,
+    String label,
+    String detail,
+    double score
+) {
+}
@@ -0,0 +1,14 @@
+package com.inventory.blockchain.dto;
+
+public record StockLevel(
+    String location,
+    String sku,
+    String productName,
+    Integer quantity,
+    Integer minStock
+) {
+
+    public boolean isLowStock() {
+        return quantity <= minStock;
+    }
+}
@@ -0,0 +1,12 @@
+package com.inventory.blockchain.dto;
+
+/**
+ * Result of storing an upload: its SHA-256, size in bytes, and whether identical content
+ * was already in the store.
+ */
+public record StoredContent(
+        String sha256,
+        long size,
+        boolean deduplicated
+) {
+}
@@ -0,0 +1,28 @@
+package com.inventory.blockchain.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * An active supplier's terms for one SKU, as held by the sourcing index.
+ */
+public record SupplierOffer(
+    String sku,
+    Long supplierId,
+    BigDecimal unitCost,
+    Integer minOrderQty,
+    Integer leadTimeDays,
+    Boolean preferred
+) {
+
+    public static final int DEFAULT_LEAD_TIME_DAYS = 7;
+
+    public SupplierOffer {
+        if (minOrderQty == null || minOrderQty < 1) {
+            minOrderQty = 1;
+        }
+        if (leadTimeDays == null) {
+            leadTimeDays = DEFAULT_LEAD_TIME_DAYS;
+        }
+        preferred = Boolean.TRUE.equals(preferred);
+    }
+}
@@ -0,0 +1,68 @@
+package com.inventory.blockchain.dto;
+
+/**
+ * Supplier performance over a range of quarters. Rates are percentages and are null
+ * when there is nothing to measure yet (no delivered or confirmed orders).
+ * {@code score} is 0-5, weighted 60% on-time rate and 40% fill rate.
+ */
+public record SupplierPerformanceMetrics(
+    Long supplierId,
+    String supplierName,
+    long deliveredOrders,
+    long confirmedOrders,
+    Double onTimeRate,
+    Double fillRate,
+    Double avgLeadTimeDays,
+    Double leadTimeVariance,
+    Double avgResponseDays,
+    Double score
+) {
+
+    /**
+     * Summed {@code supplier_performance} columns, in table order.
+     */
+    public record Totals(long delivered, long promised, long onTime,
+                         long leadTimeSamples, long leadTimeDaysSum, long leadTimeDaysSqSum,
+                         long orderedQty, long receivedQty, long confirmed, long responseHoursSum) {
+
+        public static final Totals EMPTY = new Totals(0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+        public Totals plus(Totals o) {
+            return new Totals(delivered + o.delivered, promised + o.promised, onTime + o.onTime,
+                    leadTimeSamples + o.leadTimeSamples, leadTimeDaysSum + o.leadTimeDaysSum,
+                    leadTimeDaysSqSum + o.leadTimeDaysSqSum, orderedQty + o.orderedQty,
+                    receivedQty + o.receivedQty, confirmed + o.confirmed, responseHoursSum + o.responseHoursSum);
+        }
+    }
+
+    public static SupplierPerformanceMetrics of(Long supplierId, String supplierName, Totals t) {
+        Double onTimeRate = t.promised() > 0 ? round(100.0 * t.onTime() / t.promised()) : null;
+        Double fillRate = t.orderedQty() > 0 ? round(100.0 * t.receivedQty() / t.orderedQty()) : null;
+
+        Double avgLead = null;
+        Double leadVariance = null;
+        if (t.leadTimeSamples() > 0) {
+            double mean = (double) t.leadTimeDaysSum() / t.leadTimeSamples();
+            double meanSq = (double) t.leadTimeDaysSqSum() / t.leadTimeSamples();
+            avgLead = round(mean);
+            // Population variance from the running sums; clamp rounding noise below zero
+            leadVariance = round(Math.max(0.0, meanSq - mean * mean));
+        }
+
+        Double avgResponse = t.confirmed() > 0 ? round(t.responseHoursSum() / 24.0 / t.confirmed()) : null;
+
+        Double score = null;
+        if (onTimeRate != null || fillRate != null) {
+            double onTime = onTimeRate != null ? onTimeRate : fillRate;
+            double fill = fillRate != null ? fillRate : onTimeRate;
+            score = round(5.0 * (0.6 * onTime + 0.4 * fill) / 100.0);
+        }
+
+        return new SupplierPerformanceMetrics(supplierId, supplierName, t.delivered(), t.confirmed(),
+                onTimeRate, fillRate, avgLead, leadVariance, avgResponse, score);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -8,7 +8,11 @@ import java.time.LocalDateTime;
 import java.util.Map;
 
 @Entity
-@Table(name = "activity_logs")
+@Table(name = "activity_logs", indexes = {
+    @Index(name = "idx_activity_logs_action_created", columnList = "action, created_at"),
+    @Index(name = "idx_activity_logs_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_activity_logs_entity_created", columnList = "entity_type, created_at")
+})
 public class ActivityLog {
 
     @Id
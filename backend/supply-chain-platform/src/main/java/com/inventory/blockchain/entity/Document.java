@@ -5,7 +5,9 @@ import java.time.OffsetDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "documents")
+@Table(name = "documents", indexes = {
+    @Index(name = "idx_documents_hash", columnList = "hash")
+})
 public class Document {
 
     @Id
@@ -59,6 +61,10 @@ public class Document {
     @Column(length = 255)
     private String hash;
 
+    // SHA-256 of the content when the file is held by DocumentStorageService, else null
+    @Column(name = "storage_key", length = 64)
+    private String storageKey;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "uploaded_by")
     private User uploadedBy;
@@ -128,6 +134,9 @@ public class Document {
     public String getHash() { return hash; }
     public void setHash(String hash) { this.hash = hash; }
 
+    public String getStorageKey() { return storageKey; }
+    public void setStorageKey(String storageKey) { this.storageKey = storageKey; }
+
     public User getUploadedBy() { return uploadedBy; }
     public void setUploadedBy(User uploadedBy) { this.uploadedBy = uploadedBy; }
 
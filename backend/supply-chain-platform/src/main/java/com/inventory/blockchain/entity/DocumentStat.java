@@ -0,0 +1,74 @@
+package com.inventory.blockchain.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+/**
+ * Running document count and total size per category and status, so dashboard stats
+ * never scan the documents table. Written with native upserts; see
+ * {@code DocumentStatRepository}.
+ */
+@Entity
+@Table(name = "document_stats")
+@IdClass(DocumentStat.Key.class)
+public class DocumentStat {
+
+    @Id
+    @Column(length = 50)
+    private String category;
+
+    @Id
+    @Column(length = 50)
+    private String status;
+
+    @Column(name = "document_count", nullable = false)
+    private Long documentCount = 0L;
+
+    @Column(name = "total_bytes", nullable = false)
+    private Long totalBytes = 0L;
+
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
+    public DocumentStat() {}
+
+    // Getters and Setters
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getDocumentCount() { return documentCount; }
+    public void setDocumentCount(Long documentCount) { this.documentCount = documentCount; }
+
+    public Long getTotalBytes() { return totalBytes; }
+    public void setTotalBytes(Long totalBytes) { this.totalBytes = totalBytes; }
+
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public static class Key implements Serializable {
+        private String category;
+        private String status;
+
+        public Key() {}
+
+        public Key(String category, String status) {
+            this.category = category;
+            this.status = status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && Objects.equals(category, k.category) && Objects.equals(status, k.status);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(category, status);
+        }
+    }
+}
@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import java.time.OffsetDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_user_unread", columnList = "user_id, is_read"),
+    @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at")
+})
 public class Notification {
 
     @Id
@@ -36,6 +39,13 @@ public class Notification {
     @Column(name = "reference_type", length = 50)
     private String referenceType;
 
+    // Digests only: every referenced id (comma separated) and how many notifications were merged
+    @Column(name = "reference_ids", columnDefinition = "TEXT")
+    private String referenceIds;
+
+    @Column(name = "digest_count")
+    private Integer digestCount;
+
     @Column(length = 20)
     private String priority = "NORMAL";
 
@@ -80,6 +90,12 @@ public class Notification {
     public String getReferenceType() { return referenceType; }
     public void setReferenceType(String referenceType) { this.referenceType = referenceType; }
 
+    public String getReferenceIds() { return referenceIds; }
+    public void setReferenceIds(String referenceIds) { this.referenceIds = referenceIds; }
+
+    public Integer getDigestCount() { return digestCount; }
+    public void setDigestCount(Integer digestCount) { this.digestCount = digestCount; }
+
     public String getPriority() { return priority; }
     public void setPriority(String priority) { this.priority = priority; }
 
@@ -8,7 +8,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "purchase_orders")
+@Table(name = "purchase_orders", indexes = {
+    @Index(name = "idx_purchase_orders_destination_status", columnList = "destination_location, status")
+})
 public class PurchaseOrder {
 
     @Id
@@ -18,7 +20,7 @@ public class PurchaseOrder {
     @Column(name = "po_number", unique = true, nullable = false, length = 50)
     private String poNumber;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supplier_id", nullable = false)
     private Supplier supplier;
 
@@ -37,6 +39,10 @@ public class PurchaseOrder {
     @Column(name = "shipping_address", columnDefinition = "TEXT")
     private String shippingAddress;
 
+    // Inventory location the goods are for; null when the order ships elsewhere
+    @Column(name = "destination_location", length = 100)
+    private String destinationLocation;
+
     @Column(precision = 12, scale = 2)
     private BigDecimal subtotal = BigDecimal.ZERO;
 
@@ -56,7 +62,7 @@ public class PurchaseOrder {
     @JoinColumn(name = "created_by")
     private User createdBy;
 
-    @OneToMany(mappedBy = "purchaseOrder", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "purchaseOrder", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<PurchaseOrderItem> items = new ArrayList<>();
 
     @Column(name = "created_at")
@@ -119,6 +125,9 @@ public class PurchaseOrder {
     public String getShippingAddress() { return shippingAddress; }
     public void setShippingAddress(String shippingAddress) { this.shippingAddress = shippingAddress; }
 
+    public String getDestinationLocation() { return destinationLocation; }
+    public void setDestinationLocation(String destinationLocation) { this.destinationLocation = destinationLocation; }
+
     public BigDecimal getSubtotal() { return subtotal; }
     public void setSubtotal(BigDecimal subtotal) { this.subtotal = subtotal; }
 
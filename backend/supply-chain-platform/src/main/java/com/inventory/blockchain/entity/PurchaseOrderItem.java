@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "purchase_order_items")
+@Table(name = "purchase_order_items", indexes = {
+    @Index(name = "idx_po_items_order", columnList = "purchase_order_id")
+})
 public class PurchaseOrderItem {
 
     @Id
@@ -0,0 +1,25 @@
+package com.inventory.blockchain.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * One row per inventory location, locked by the reorder engine while it plans that
+ * location so two instances never plan the same location at once.
+ */
+@Entity
+@Table(name = "reorder_locks")
+public class ReorderLock {
+
+    @Id
+    @Column(length = 100)
+    private String location;
+
+    public ReorderLock() {}
+
+    public ReorderLock(String location) {
+        this.location = location;
+    }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+}
@@ -0,0 +1,59 @@
+package com.inventory.blockchain.entity;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+/**
+ * A revoked session token ({@code tokenId} set) or all of a user's tokens issued up to
+ * {@code revokedAt} ({@code tokenId} null). Shared by every instance through the
+ * database; each instance mirrors recent rows into memory. Rows can be deleted once
+ * {@code expiresAt} has passed, since every token they cover has expired by then.
+ */
+@Entity
+@Table(name = "session_revocations", indexes = {
+    @Index(name = "idx_session_revocations_revoked_at", columnList = "revoked_at"),
+    @Index(name = "idx_session_revocations_expires_at", columnList = "expires_at")
+})
+public class SessionRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_id", length = 36)
+    private String tokenId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private OffsetDateTime revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private OffsetDateTime expiresAt;
+
+    public SessionRevocation() {}
+
+    public SessionRevocation(String tokenId, Long userId, OffsetDateTime revokedAt, OffsetDateTime expiresAt) {
+        this.tokenId = tokenId;
+        this.userId = userId;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTokenId() { return tokenId; }
+    public void setTokenId(String tokenId) { this.tokenId = tokenId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public OffsetDateTime getRevokedAt() { return revokedAt; }
+    public void setRevokedAt(OffsetDateTime revokedAt) { this.revokedAt = revokedAt; }
+
+    public OffsetDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(OffsetDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -0,0 +1,125 @@
+package com.inventory.blockchain.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+/**
+ * Delivery and response totals for one supplier in one calendar quarter. Rates are
+ * derived from these sums when read, so a score over any range of quarters is a
+ * single grouped query. Written with native upserts; see {@code SupplierPerformanceRepository}.
+ */
+@Entity
+@Table(name = "supplier_performance")
+@IdClass(SupplierPerformance.Key.class)
+public class SupplierPerformance {
+
+    @Id
+    @Column(name = "supplier_id")
+    private Long supplierId;
+
+    // First day of the quarter
+    @Id
+    @Column(name = "period_start")
+    private LocalDate periodStart;
+
+    @Column(name = "delivered_orders", nullable = false)
+    private Long deliveredOrders = 0L;
+
+    // Delivered orders that had an expected delivery date to be measured against
+    @Column(name = "promised_orders", nullable = false)
+    private Long promisedOrders = 0L;
+
+    @Column(name = "on_time_orders", nullable = false)
+    private Long onTimeOrders = 0L;
+
+    @Column(name = "lead_time_samples", nullable = false)
+    private Long leadTimeSamples = 0L;
+
+    @Column(name = "lead_time_days_sum", nullable = false)
+    private Long leadTimeDaysSum = 0L;
+
+    @Column(name = "lead_time_days_sq_sum", nullable = false)
+    private Long leadTimeDaysSqSum = 0L;
+
+    @Column(name = "ordered_qty", nullable = false)
+    private Long orderedQty = 0L;
+
+    @Column(name = "received_qty", nullable = false)
+    private Long receivedQty = 0L;
+
+    @Column(name = "confirmed_orders", nullable = false)
+    private Long confirmedOrders = 0L;
+
+    @Column(name = "response_hours_sum", nullable = false)
+    private Long responseHoursSum = 0L;
+
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
+    public SupplierPerformance() {}
+
+    // Getters and Setters
+    public Long getSupplierId() { return supplierId; }
+    public void setSupplierId(Long supplierId) { this.supplierId = supplierId; }
+
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+
+    public Long getDeliveredOrders() { return deliveredOrders; }
+    public void setDeliveredOrders(Long deliveredOrders) { this.deliveredOrders = deliveredOrders; }
+
+    public Long getPromisedOrders() { return promisedOrders; }
+    public void setPromisedOrders(Long promisedOrders) { this.promisedOrders = promisedOrders; }
+
+    public Long getOnTimeOrders() { return onTimeOrders; }
+    public void setOnTimeOrders(Long onTimeOrders) { this.onTimeOrders = onTimeOrders; }
+
+    public Long getLeadTimeSamples() { return leadTimeSamples; }
+    public void setLeadTimeSamples(Long leadTimeSamples) { this.leadTimeSamples = leadTimeSamples; }
+
+    public Long getLeadTimeDaysSum() { return leadTimeDaysSum; }
+    public void setLeadTimeDaysSum(Long leadTimeDaysSum) { this.leadTimeDaysSum = leadTimeDaysSum; }
+
+    public Long getLeadTimeDaysSqSum() { return leadTimeDaysSqSum; }
+    public void setLeadTimeDaysSqSum(Long leadTimeDaysSqSum) { this.leadTimeDaysSqSum = leadTimeDaysSqSum; }
+
+    public Long getOrderedQty() { return orderedQty; }
+    public void setOrderedQty(Long orderedQty) { this.orderedQty = orderedQty; }
+
+    public Long getReceivedQty() { return receivedQty; }
+    public void setReceivedQty(Long receivedQty) { this.receivedQty = receivedQty; }
+
+    public Long getConfirmedOrders() { return confirmedOrders; }
+    public void setConfirmedOrders(Long confirmedOrders) { this.confirmedOrders = confirmedOrders; }
+
+    public Long getResponseHoursSum() { return responseHoursSum; }
+    public void setResponseHoursSum(Long responseHoursSum) { this.responseHoursSum = responseHoursSum; }
+
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public static class Key implements Serializable {
+        private Long supplierId;
+        private LocalDate periodStart;
+
+        public Key() {}
+
+        public Key(Long supplierId, LocalDate periodStart) {
+            this.supplierId = supplierId;
+            this.periodStart = periodStart;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && Objects.equals(supplierId, k.supplierId) && Objects.equals(periodStart, k.periodStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(supplierId, periodStart);
+        }
+    }
+}
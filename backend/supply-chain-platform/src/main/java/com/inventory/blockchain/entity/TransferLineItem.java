@@ -0,0 +1,51 @@
+package com.inventory.blockchain.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+/**
+ * One SKU line of a transfer. The on-chain record only carries the items hash,
+ * so the lines are kept here to credit or restore stock on later status changes.
+ */
+@Entity
+@Table(name = "transfer_items", indexes = {
+    @Index(name = "idx_transfer_items_transfer", columnList = "transfer_id")
+})
+public class TransferLineItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "transfer_id", nullable = false)
+    @JsonIgnore
+    private Transfer transfer;
+
+    @Column(nullable = false, length = 50)
+    private String sku;
+
+    @Column(nullable = false)
+    private Integer qty;
+
+    public TransferLineItem() {}
+
+    public TransferLineItem(Transfer transfer, String sku, Integer qty) {
+        this.transfer = transfer;
+        this.sku = sku;
+        this.qty = qty;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Transfer getTransfer() { return transfer; }
+    public void setTransfer(Transfer transfer) { this.transfer = transfer; }
+
+    public String getSku() { return sku; }
+    public void setSku(String sku) { this.sku = sku; }
+
+    public Integer getQty() { return qty; }
+    public void setQty(Integer qty) { this.qty = qty; }
+}
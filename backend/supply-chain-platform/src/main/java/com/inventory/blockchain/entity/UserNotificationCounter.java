@@ -0,0 +1,35 @@
+package com.inventory.blockchain.entity;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+/**
+ * Maintained unread notification count per user, so badges never COUNT the history.
+ * Written with native upserts; see {@code NotificationCounterRepository}.
+ */
+@Entity
+@Table(name = "notification_counters")
+public class UserNotificationCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private Long unreadCount = 0L;
+
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
+    public UserNotificationCounter() {}
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getUnreadCount() { return unreadCount; }
+    public void setUnreadCount(Long unreadCount) { this.unreadCount = unreadCount; }
+
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
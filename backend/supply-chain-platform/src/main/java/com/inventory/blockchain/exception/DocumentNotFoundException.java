@@ -0,0 +1,19 @@
+package com.inventory.blockchain.exception;
+
+public class DocumentNotFoundException extends RuntimeException {
+
+    private final Long documentId;
+
+    public DocumentNotFoundException(Long documentId, String message) {
+        super(message);
+        this.documentId = documentId;
+    }
+
+    public DocumentNotFoundException(Long documentId) {
+        this(documentId, "Document with ID '" + documentId + "' not found");
+    }
+
+    public Long getDocumentId() {
+        return documentId;
+    }
+}
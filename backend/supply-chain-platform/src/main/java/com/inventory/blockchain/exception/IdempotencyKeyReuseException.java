@@ -0,0 +1,15 @@
+package com.inventory.blockchain.exception;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+
+    private final String idempotencyKey;
+
+    public IdempotencyKeyReuseException(String idempotencyKey) {
+        super("Idempotency-Key '" + idempotencyKey + "' was already used with a different request body");
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+}
@@ -0,0 +1,15 @@
+package com.inventory.blockchain.exception;
+
+public class PermissionDeniedException extends RuntimeException {
+
+    private final String permission;
+
+    public PermissionDeniedException(String permission) {
+        super("Permission '" + permission + "' required");
+        this.permission = permission;
+    }
+
+    public String getPermission() {
+        return permission;
+    }
+}
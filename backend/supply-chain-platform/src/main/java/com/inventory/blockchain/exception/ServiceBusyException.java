@@ -0,0 +1,8 @@
+package com.inventory.blockchain.exception;
+
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -1,8 +1,8 @@
 package com.inventory.blockchain.repository;
 
 import com.inventory.blockchain.entity.ActivityLog;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,30 +11,62 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Activity log queries. Every list query takes a {@link Pageable} so the limit is applied in
+ * the database, and returns a List so no COUNT over the whole table is run.
+ */
 @Repository
 public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long> {
 
-    List<ActivityLog> findByUserIdOrderByCreatedAtDesc(Long userId);
+    @EntityGraph(attributePaths = "user")
+    List<ActivityLog> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
     
-    Page<ActivityLog> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    @EntityGraph(attributePaths = "user")
+    List<ActivityLog> findAllByOrderByCreatedAtDesc(Pageable pageable);
     
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT a FROM ActivityLog a WHERE a.createdAt BETWEEN :start AND :end ORDER BY a.createdAt DESC")
     List<ActivityLog> findByDateRange(
             @Param("start") LocalDateTime start, 
-            @Param("end") LocalDateTime end);
+            @Param("end") LocalDateTime end,
+            Pageable pageable);
     
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT a FROM ActivityLog a WHERE a.entityType = :entityType ORDER BY a.createdAt DESC")
-    List<ActivityLog> findByEntityType(@Param("entityType") String entityType);
+    List<ActivityLog> findByEntityType(@Param("entityType") String entityType, Pageable pageable);
     
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT a FROM ActivityLog a WHERE a.action = :action ORDER BY a.createdAt DESC")
-    List<ActivityLog> findByAction(@Param("action") String action);
+    List<ActivityLog> findByAction(@Param("action") String action, Pageable pageable);
     
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT a FROM ActivityLog a WHERE a.entityType = :entityType AND a.createdAt BETWEEN :start AND :end ORDER BY a.createdAt DESC")
+    List<ActivityLog> findByEntityTypeAndDateRange(
+            @Param("entityType") String entityType,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT a FROM ActivityLog a WHERE a.action = :action AND a.createdAt BETWEEN :start AND :end ORDER BY a.createdAt DESC")
+    List<ActivityLog> findByActionAndDateRange(
+            @Param("action") String action,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT a FROM ActivityLog a WHERE a.user.id = :userId AND a.createdAt BETWEEN :start AND :end ORDER BY a.createdAt DESC")
     List<ActivityLog> findByUserAndDateRange(
             @Param("userId") Long userId,
             @Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end);
+            @Param("end") LocalDateTime end,
+            Pageable pageable);
     
     @Query("SELECT COUNT(a) FROM ActivityLog a WHERE a.action = :action AND a.createdAt >= :since")
     long countByActionSince(@Param("action") String action, @Param("since") LocalDateTime since);
+
+    // (action, count) pairs, most frequent first
+    @Query("SELECT a.action, COUNT(a) FROM ActivityLog a WHERE a.createdAt >= :since GROUP BY a.action ORDER BY COUNT(a) DESC")
+    List<Object[]> countActionsSince(@Param("since") LocalDateTime since);
 }
@@ -1,17 +1,33 @@
 package com.inventory.blockchain.repository;
 
+import com.inventory.blockchain.dto.DocumentSummary;
 import com.inventory.blockchain.entity.Document;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
 
+    // List endpoints read summaries: one query, no lazy loads per row
+    String SUMMARY_SELECT = """
+            SELECT new com.inventory.blockchain.dto.DocumentSummary(
+                d.id, d.documentCode, d.name, d.description, d.fileName, d.fileType, d.fileSize, d.filePath,
+                d.category, d.status, d.transferId, s.id, s.name, po.id, po.poNumber, d.tags, d.version,
+                d.hash, d.storageKey, u.id, u.username, d.createdAt, d.updatedAt)
+            FROM Document d
+            LEFT JOIN d.supplier s
+            LEFT JOIN d.purchaseOrder po
+            LEFT JOIN d.uploadedBy u
+            """;
+
     Optional<Document> findByDocumentCode(String documentCode);
 
     boolean existsByDocumentCode(String documentCode);
@@ -32,8 +48,40 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     @Query("SELECT d FROM Document d WHERE d.purchaseOrder.id = :poId ORDER BY d.createdAt DESC")
     List<Document> findByPurchaseOrderId(@Param("poId") Long poId);
 
-    @Query("SELECT d FROM Document d WHERE LOWER(d.name) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(d.description) LIKE LOWER(CONCAT('%', :search, '%')) ORDER BY d.createdAt DESC")
-    List<Document> searchDocuments(@Param("search") String search);
+    // Ranked full-text match on the trigger-maintained search_vector (see DocumentSearchService)
+    @Query(value = """
+            SELECT d.* FROM documents d, websearch_to_tsquery('english', :search) q
+            WHERE d.search_vector @@ q
+              AND (CAST(:category AS varchar) IS NULL OR d.category = :category)
+              AND (CAST(:status AS varchar) IS NULL OR d.status = :status)
+            ORDER BY ts_rank_cd(d.search_vector, q) DESC, d.created_at DESC
+            """, nativeQuery = true)
+    Slice<Document> fullTextSearch(@Param("search") String search,
+                                   @Param("category") String category,
+                                   @Param("status") String status,
+                                   Pageable pageable);
+
+    // Earliest document with this content, to point re-uploads at the original
+    Optional<Document> findFirstByHashAndStatusNotOrderByCreatedAtAsc(String hash, String status);
+
+    @Query(SUMMARY_SELECT + """
+            WHERE (:category IS NULL OR d.category = :category)
+              AND (:status IS NULL OR d.status = :status)
+            ORDER BY d.createdAt DESC
+            """)
+    List<DocumentSummary> findSummaries(@Param("category") String category, @Param("status") String status);
+
+    @Query(SUMMARY_SELECT + "WHERE d.id IN :ids")
+    List<DocumentSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SUMMARY_SELECT + "WHERE d.transferId = :transferId ORDER BY d.createdAt DESC")
+    List<DocumentSummary> findSummariesByTransferId(@Param("transferId") String transferId);
+
+    @Query(SUMMARY_SELECT + "WHERE s.id = :supplierId ORDER BY d.createdAt DESC")
+    List<DocumentSummary> findSummariesBySupplierId(@Param("supplierId") Long supplierId);
+
+    @Query(SUMMARY_SELECT + "WHERE po.id = :poId ORDER BY d.createdAt DESC")
+    List<DocumentSummary> findSummariesByPurchaseOrderId(@Param("poId") Long poId);
 
     @Query("SELECT d.category, COUNT(d) FROM Document d GROUP BY d.category")
     List<Object[]> countByCategory();
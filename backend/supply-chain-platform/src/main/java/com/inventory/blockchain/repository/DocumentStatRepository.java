@@ -0,0 +1,60 @@
+package com.inventory.blockchain.repository;
+
+import com.inventory.blockchain.entity.DocumentStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface DocumentStatRepository extends JpaRepository<DocumentStat, DocumentStat.Key> {
+
+    // Add to one bucket (never below zero), creating the row if needed
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO document_stats (category, status, document_count, total_bytes, updated_at)
+            VALUES (:category, :status, GREATEST(:countDelta, 0), GREATEST(:bytesDelta, 0), CURRENT_TIMESTAMP)
+            ON CONFLICT (category, status) DO UPDATE SET
+                document_count = GREATEST(document_stats.document_count + :countDelta, 0),
+                total_bytes = GREATEST(document_stats.total_bytes + :bytesDelta, 0),
+                updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    int addToBucket(@Param("category") String category,
+                    @Param("status") String status,
+                    @Param("countDelta") long countDelta,
+                    @Param("bytesDelta") long bytesDelta);
+
+    // Blocks bucket updates until the transaction ends; reads of the stats are not blocked
+    @Modifying
+    @Transactional
+    @Query(value = "LOCK TABLE document_stats IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockBuckets();
+
+    // Recompute every bucket from the documents table (periodic reconciliation). Call it
+    // after lockBuckets in the same transaction: the totals are taken on the statement's
+    // snapshot and would otherwise overwrite increments committed while it runs.
+    @Modifying
+    @Transactional
+    @Query(value = """
+            WITH actual AS (
+                SELECT category, COALESCE(status, 'UNKNOWN') AS status,
+                       COUNT(*) AS document_count, COALESCE(SUM(file_size), 0) AS total_bytes
+                FROM documents GROUP BY category, COALESCE(status, 'UNKNOWN')
+            ), cleared AS (
+                DELETE FROM document_stats s
+                WHERE NOT EXISTS (SELECT 1 FROM actual a WHERE a.category = s.category AND a.status = s.status)
+            )
+            INSERT INTO document_stats (category, status, document_count, total_bytes, updated_at)
+            SELECT category, status, document_count, total_bytes, CURRENT_TIMESTAMP FROM actual
+            ON CONFLICT (category, status) DO UPDATE SET
+                document_count = EXCLUDED.document_count,
+                total_bytes = EXCLUDED.total_bytes,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE document_stats.document_count <> EXCLUDED.document_count
+               OR document_stats.total_bytes <> EXCLUDED.total_bytes
+            """, nativeQuery = true)
+    int reconcileAll();
+}
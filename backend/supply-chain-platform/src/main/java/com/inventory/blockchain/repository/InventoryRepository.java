@@ -1,5 +1,6 @@
 package com.inventory.blockchain.repository;
 
+import com.inventory.blockchain.dto.StockLevel;
 import com.inventory.blockchain.entity.Inventory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -7,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +32,14 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     @Query("SELECT i FROM Inventory i WHERE i.location = :location AND i.quantity <= i.minStock")
     List<Inventory> findLowStockByLocation(@Param("location") String location);
 
+    // Current stock level for threshold checks (projection, never a cached entity)
+    @Query("SELECT new com.inventory.blockchain.dto.StockLevel(i.location, i.sku, i.productName, i.quantity, i.minStock) FROM Inventory i WHERE i.location = :location AND i.sku = :sku")
+    Optional<StockLevel> findStockLevel(@Param("location") String location, @Param("sku") String sku);
+
+    // Stock levels for a set of touched rows; callers filter the location/sku cross product
+    @Query("SELECT new com.inventory.blockchain.dto.StockLevel(i.location, i.sku, i.productName, i.quantity, i.minStock) FROM Inventory i WHERE i.sku IN :skus AND i.location IN :locations")
+    List<StockLevel> findStockLevels(@Param("skus") Collection<String> skus, @Param("locations") Collection<String> locations);
+
     // Check if sufficient stock exists
     @Query("SELECT CASE WHEN i.quantity >= :quantity THEN true ELSE false END FROM Inventory i WHERE i.location = :location AND i.sku = :sku")
     boolean hasStock(@Param("location") String location, @Param("sku") String sku, @Param("quantity") int quantity);
@@ -59,6 +69,8 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     @Query("SELECT SUM(i.quantity * i.price) FROM Inventory i WHERE i.location = :location")
     Optional<Double> getTotalValueByLocation(@Param("location") String location);
 
+    boolean existsByLocation(String location);
+
     // Get all unique locations
     @Query("SELECT DISTINCT i.location FROM Inventory i ORDER BY i.location")
     List<String> findAllLocations();
@@ -0,0 +1,86 @@
+package com.inventory.blockchain.repository;
+
+import com.inventory.blockchain.entity.UserNotificationCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NotificationCounterRepository extends JpaRepository<UserNotificationCounter, Long> {
+
+    @Query("SELECT c.unreadCount FROM UserNotificationCounter c WHERE c.userId = :userId")
+    Optional<Long> findUnreadCount(@Param("userId") Long userId);
+
+    // Add delta to a user's counter (never below zero), creating the row if needed
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO notification_counters (user_id, unread_count, updated_at)
+            VALUES (:userId, GREATEST(:delta, 0), CURRENT_TIMESTAMP)
+            ON CONFLICT (user_id) DO UPDATE SET
+                unread_count = GREATEST(notification_counters.unread_count + :delta, 0),
+                updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    int addToCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO notification_counters (user_id, unread_count, updated_at)
+            VALUES (:userId, :count, CURRENT_TIMESTAMP)
+            ON CONFLICT (user_id) DO UPDATE SET
+                unread_count = EXCLUDED.unread_count,
+                updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    int setCount(@Param("userId") Long userId, @Param("count") long count);
+
+    // ==================== RECONCILIATION ====================
+    // Run together in one transaction per range of user ids: missing rows are created and
+    // every row is locked before counting, so a concurrent increment either commits before
+    // the count sees it or waits, and is never overwritten with an older total.
+
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM users", nativeQuery = true)
+    long findMaxUserId();
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO notification_counters (user_id, unread_count, updated_at)
+            SELECT u.id, 0, CURRENT_TIMESTAMP FROM users u
+            WHERE u.id BETWEEN :fromId AND :toId
+            ON CONFLICT (user_id) DO NOTHING
+            """, nativeQuery = true)
+    int createMissing(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Query(value = """
+            SELECT user_id FROM notification_counters
+            WHERE user_id BETWEEN :fromId AND :toId
+            ORDER BY user_id
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<Long> lockRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // Recompute the (locked) counters in a range from the notifications table
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE notification_counters c SET
+                unread_count = s.unread,
+                updated_at = CURRENT_TIMESTAMP
+            FROM (
+                SELECT c2.user_id, COUNT(n.id) AS unread
+                FROM notification_counters c2
+                LEFT JOIN notifications n ON n.user_id = c2.user_id AND n.is_read = false
+                WHERE c2.user_id BETWEEN :fromId AND :toId
+                GROUP BY c2.user_id
+            ) s
+            WHERE c.user_id = s.user_id AND c.unread_count <> s.unread
+            """, nativeQuery = true)
+    int recountRange(@Param("fromId") long fromId, @Param("toId") long toId);
+}
@@ -1,6 +1,8 @@
 package com.inventory.blockchain.repository;
 
 import com.inventory.blockchain.entity.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -19,12 +21,26 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.isRead = false ORDER BY n.createdAt DESC")
     List<Notification> findUnreadByUserId(@Param("userId") Long userId);
 
+    // Paged variants; Slice avoids a COUNT over the user's history
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<Notification> findPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.isRead = false ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<Notification> findUnreadPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.isRead = false")
     long countUnreadByUserId(@Param("userId") Long userId);
 
     @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC")
     List<Notification> findRecentByUserId(@Param("userId") Long userId);
 
+    // Notifications a reconnecting stream missed, oldest first
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.id > :afterId ORDER BY n.id ASC")
+    List<Notification> findByUserIdAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(n.id), 0) FROM Notification n")
+    long findMaxId();
+
     @Modifying
     @Transactional
     @Query("UPDATE Notification n SET n.isRead = true, n.readAt = CURRENT_TIMESTAMP WHERE n.user.id = :userId AND n.isRead = false")
@@ -32,7 +48,7 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     @Modifying
     @Transactional
-    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = CURRENT_TIMESTAMP WHERE n.id = :id")
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = CURRENT_TIMESTAMP WHERE n.id = :id AND n.isRead = false")
     int markAsRead(@Param("id") Long id);
 
     @Query("SELECT n.type, COUNT(n) FROM Notification n WHERE n.user.id = :userId GROUP BY n.type")
@@ -1,17 +1,64 @@
 package com.inventory.blockchain.repository;
 
+import com.inventory.blockchain.dto.PurchaseOrderSummary;
 import com.inventory.blockchain.entity.PurchaseOrder;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Long> {
 
+    // Row lock for status changes, so concurrent or retried changes are applied once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT po FROM PurchaseOrder po WHERE po.id = :id")
+    Optional<PurchaseOrder> findByIdForUpdate(@Param("id") Long id);
+
+    // List endpoints read summaries; items are only loaded for single-order views.
+    // Item aggregates come from one grouped join rather than a subquery per column.
+    String SUMMARY_SELECT = """
+            SELECT new com.inventory.blockchain.dto.PurchaseOrderSummary(
+                po.id, po.poNumber, po.status, s.id, s.name, s.supplierCode,
+                po.orderDate, po.expectedDelivery, po.actualDelivery,
+                po.subtotal, po.tax, po.shippingCost, po.total,
+                COUNT(i), COALESCE(SUM(i.quantity), 0), COALESCE(SUM(i.receivedQty), 0),
+                po.createdAt, po.updatedAt)
+            FROM PurchaseOrder po
+            JOIN po.supplier s
+            LEFT JOIN po.items i
+            """;
+
+    // Every other selected column depends on one of these keys
+    String SUMMARY_GROUP_BY = " GROUP BY po.id, s.id ";
+
+    @Query(value = SUMMARY_SELECT + """
+            WHERE (:status IS NULL OR po.status = :status)
+              AND (:supplierId IS NULL OR s.id = :supplierId)
+            """ + SUMMARY_GROUP_BY + """
+            ORDER BY po.createdAt DESC
+            """)
+    Slice<PurchaseOrderSummary> findSummaries(@Param("status") String status,
+                                              @Param("supplierId") Long supplierId,
+                                              Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE po.id = :id" + SUMMARY_GROUP_BY)
+    Optional<PurchaseOrderSummary> findSummaryById(@Param("id") Long id);
+
+    // Single-order view: supplier and items in one query
+    @EntityGraph(attributePaths = {"supplier", "items"})
+    @Query("SELECT po FROM PurchaseOrder po WHERE po.id = :id")
+    Optional<PurchaseOrder> findWithDetailsById(@Param("id") Long id);
+
     Optional<PurchaseOrder> findByPoNumber(String poNumber);
 
     boolean existsByPoNumber(String poNumber);
@@ -33,6 +80,17 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Lo
     @Query("SELECT SUM(po.total) FROM PurchaseOrder po WHERE po.status = 'DELIVERED'")
     java.math.BigDecimal sumDeliveredTotal();
 
+    // Quantity still outstanding on open orders shipping to a location, per SKU
+    @Query("""
+            SELECT i.sku, SUM(i.quantity - COALESCE(i.receivedQty, 0))
+            FROM PurchaseOrderItem i JOIN i.purchaseOrder po
+            WHERE po.destinationLocation = :location AND po.status IN :statuses AND i.sku IN :skus
+            GROUP BY i.sku
+            """)
+    List<Object[]> sumOpenQuantityBySku(@Param("location") String location,
+                                        @Param("skus") Collection<String> skus,
+                                        @Param("statuses") Collection<String> statuses);
+
     @Query("SELECT po.supplier.id, COUNT(po) FROM PurchaseOrder po GROUP BY po.supplier.id")
     List<Object[]> countOrdersBySupplier();
 }
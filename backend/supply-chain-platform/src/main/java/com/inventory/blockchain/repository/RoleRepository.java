@@ -24,4 +24,11 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
     
     @Query("SELECT r FROM Role r LEFT JOIN FETCH r.permissions WHERE r.id = :id")
     Optional<Role> findByIdWithPermissions(Long id);
+
+    @Query("SELECT r.id FROM Role r")
+    List<Long> findAllIds();
+
+    // (roleId, permissionId) pairs straight from the join table
+    @Query("SELECT r.id, p.id FROM Role r JOIN r.permissions p")
+    List<Object[]> findRolePermissionIds();
 }
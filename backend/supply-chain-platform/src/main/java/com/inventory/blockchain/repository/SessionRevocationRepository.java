@@ -0,0 +1,25 @@
+package com.inventory.blockchain.repository;
+
+import com.inventory.blockchain.entity.SessionRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Repository
+public interface SessionRevocationRepository extends JpaRepository<SessionRevocation, Long> {
+
+    // Revocations recorded since an instant that still cover live tokens
+    @Query("SELECT r FROM SessionRevocation r WHERE r.revokedAt >= :since AND r.expiresAt > :now")
+    List<SessionRevocation> findActiveSince(@Param("since") OffsetDateTime since, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SessionRevocation r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") OffsetDateTime now);
+}
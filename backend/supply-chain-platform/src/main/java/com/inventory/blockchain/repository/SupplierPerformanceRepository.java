@@ -0,0 +1,107 @@
+package com.inventory.blockchain.repository;
+
+import com.inventory.blockchain.entity.SupplierPerformance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SupplierPerformanceRepository extends JpaRepository<SupplierPerformance, SupplierPerformance.Key> {
+
+    // Add one delivered order to a supplier's quarter, creating the row if needed
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO supplier_performance (supplier_id, period_start, delivered_orders, promised_orders,
+                on_time_orders, lead_time_samples, lead_time_days_sum, lead_time_days_sq_sum,
+                ordered_qty, received_qty, confirmed_orders, response_hours_sum, updated_at)
+            VALUES (:supplierId, :periodStart, 1, :promised, :onTime, :leadTimeSamples, :leadTimeDays,
+                :leadTimeDays * :leadTimeDays, :orderedQty, :receivedQty, 0, 0, CURRENT_TIMESTAMP)
+            ON CONFLICT (supplier_id, period_start) DO UPDATE SET
+                delivered_orders = supplier_performance.delivered_orders + 1,
+                promised_orders = supplier_performance.promised_orders + EXCLUDED.promised_orders,
+                on_time_orders = supplier_performance.on_time_orders + EXCLUDED.on_time_orders,
+                lead_time_samples = supplier_performance.lead_time_samples + EXCLUDED.lead_time_samples,
+                lead_time_days_sum = supplier_performance.lead_time_days_sum + EXCLUDED.lead_time_days_sum,
+                lead_time_days_sq_sum = supplier_performance.lead_time_days_sq_sum + EXCLUDED.lead_time_days_sq_sum,
+                ordered_qty = supplier_performance.ordered_qty + EXCLUDED.ordered_qty,
+                received_qty = supplier_performance.received_qty + EXCLUDED.received_qty,
+                updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    int addDelivery(@Param("supplierId") Long supplierId,
+                    @Param("periodStart") LocalDate periodStart,
+                    @Param("promised") int promised,
+                    @Param("onTime") int onTime,
+                    @Param("leadTimeSamples") int leadTimeSamples,
+                    @Param("leadTimeDays") long leadTimeDays,
+                    @Param("orderedQty") long orderedQty,
+                    @Param("receivedQty") long receivedQty);
+
+    // Add one confirmed order and how long the supplier took to confirm it
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO supplier_performance (supplier_id, period_start, delivered_orders, promised_orders,
+                on_time_orders, lead_time_samples, lead_time_days_sum, lead_time_days_sq_sum,
+                ordered_qty, received_qty, confirmed_orders, response_hours_sum, updated_at)
+            VALUES (:supplierId, :periodStart, 0, 0, 0, 0, 0, 0, 0, 0, 1, :responseHours, CURRENT_TIMESTAMP)
+            ON CONFLICT (supplier_id, period_start) DO UPDATE SET
+                confirmed_orders = supplier_performance.confirmed_orders + 1,
+                response_hours_sum = supplier_performance.response_hours_sum + EXCLUDED.response_hours_sum,
+                updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    int addConfirmation(@Param("supplierId") Long supplierId,
+                        @Param("periodStart") LocalDate periodStart,
+                        @Param("responseHours") long responseHours);
+
+    // Seed delivery totals from orders delivered before this table existed. Receipts
+    // were not tracked then, so a delivered line without one counts as fully received.
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO supplier_performance (supplier_id, period_start, delivered_orders, promised_orders,
+                on_time_orders, lead_time_samples, lead_time_days_sum, lead_time_days_sq_sum,
+                ordered_qty, received_qty, confirmed_orders, response_hours_sum, updated_at)
+            SELECT po.supplier_id,
+                   CAST(date_trunc('quarter', po.actual_delivery) AS date),
+                   COUNT(*),
+                   COUNT(po.expected_delivery),
+                   COUNT(*) FILTER (WHERE po.actual_delivery <= po.expected_delivery),
+                   COUNT(po.order_date),
+                   COALESCE(SUM(po.actual_delivery - CAST(po.order_date AS date)), 0),
+                   COALESCE(SUM((po.actual_delivery - CAST(po.order_date AS date))
+                              * (po.actual_delivery - CAST(po.order_date AS date))), 0),
+                   COALESCE(SUM(i.ordered), 0),
+                   COALESCE(SUM(i.received), 0),
+                   0, 0, CURRENT_TIMESTAMP
+            FROM purchase_orders po
+            LEFT JOIN (
+                SELECT purchase_order_id, SUM(quantity) AS ordered,
+                       SUM(LEAST(COALESCE(NULLIF(received_qty, 0), quantity), quantity)) AS received
+                FROM purchase_order_items GROUP BY purchase_order_id
+            ) i ON i.purchase_order_id = po.id
+            WHERE po.status = 'DELIVERED' AND po.actual_delivery IS NOT NULL
+            GROUP BY po.supplier_id, CAST(date_trunc('quarter', po.actual_delivery) AS date)
+            ON CONFLICT (supplier_id, period_start) DO NOTHING
+            """, nativeQuery = true)
+    int backfillDeliveries();
+
+    // Totals per supplier from periodStart on: supplierId, name, then the summed columns
+    @Query("""
+            SELECT p.supplierId, s.name,
+                   SUM(p.deliveredOrders), SUM(p.promisedOrders), SUM(p.onTimeOrders),
+                   SUM(p.leadTimeSamples), SUM(p.leadTimeDaysSum), SUM(p.leadTimeDaysSqSum),
+                   SUM(p.orderedQty), SUM(p.receivedQty), SUM(p.confirmedOrders), SUM(p.responseHoursSum)
+            FROM SupplierPerformance p, Supplier s
+            WHERE s.id = p.supplierId AND p.periodStart >= :from
+              AND (:supplierId IS NULL OR p.supplierId = :supplierId)
+            GROUP BY p.supplierId, s.name
+            """)
+    List<Object[]> sumSince(@Param("from") LocalDate from, @Param("supplierId") Long supplierId);
+}
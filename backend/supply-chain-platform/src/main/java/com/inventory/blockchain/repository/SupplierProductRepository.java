@@ -1,11 +1,13 @@
 package com.inventory.blockchain.repository;
 
+import com.inventory.blockchain.dto.SupplierOffer;
 import com.inventory.blockchain.entity.SupplierProduct;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +21,20 @@ public interface SupplierProductRepository extends JpaRepository<SupplierProduct
     @Query("SELECT sp FROM SupplierProduct sp WHERE sp.sku = :sku AND sp.supplier.status = 'ACTIVE' ORDER BY sp.isPreferred DESC, sp.unitCost ASC")
     List<SupplierProduct> findActiveSuppliersBySku(@Param("sku") String sku);
 
+    // Compact offers of active suppliers for the sourcing index
+    String OFFER_SELECT = """
+            SELECT new com.inventory.blockchain.dto.SupplierOffer(
+                sp.sku, s.id, sp.unitCost, sp.minOrderQty, s.leadTimeDays, sp.isPreferred)
+            FROM SupplierProduct sp JOIN sp.supplier s
+            WHERE s.status = 'ACTIVE'
+            """;
+
+    @Query(OFFER_SELECT)
+    List<SupplierOffer> findAllActiveOffers();
+
+    @Query(OFFER_SELECT + " AND sp.sku IN :skus")
+    List<SupplierOffer> findActiveOffersBySkuIn(@Param("skus") Collection<String> skus);
+
     @Query("SELECT sp FROM SupplierProduct sp WHERE sp.supplier.id = :supplierId AND sp.isPreferred = true")
     List<SupplierProduct> findPreferredProductsBySupplier(@Param("supplierId") Long supplierId);
 
@@ -0,0 +1,61 @@
+package com.inventory.blockchain.repository;
+
+import com.inventory.blockchain.entity.TransferLineItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TransferLineItemRepository extends JpaRepository<TransferLineItem, Long> {
+
+    @Query("SELECT i FROM TransferLineItem i WHERE i.transfer.id = :transferId ORDER BY i.id")
+    List<TransferLineItem> findByTransferId(@Param("transferId") Long transferId);
+
+    // Number of distinct SKUs on a transfer (expected row count for set-based stock updates)
+    @Query("SELECT COUNT(DISTINCT i.sku) FROM TransferLineItem i WHERE i.transfer.id = :transferId")
+    long countDistinctSkus(@Param("transferId") Long transferId);
+
+    // SKUs whose summed quantity exceeds the stock at a location: sku, required, available
+    @Query(value = """
+            SELECT t.sku, t.qty, COALESCE(inv.quantity, 0)
+            FROM (SELECT sku, SUM(qty) AS qty FROM transfer_items WHERE transfer_id = :transferId GROUP BY sku) t
+            LEFT JOIN inventory inv ON inv.location = :location AND inv.sku = t.sku
+            WHERE COALESCE(inv.quantity, 0) < t.qty
+            ORDER BY t.sku
+            """, nativeQuery = true)
+    List<Object[]> findShortfalls(@Param("transferId") Long transferId, @Param("location") String location);
+
+    @Modifying
+    @Query("DELETE FROM TransferLineItem i WHERE i.transfer.id = :transferId")
+    int deleteByTransferId(@Param("transferId") Long transferId);
+
+    // Deduct all lines from the source in one statement; rows without enough stock are left untouched
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE inventory inv
+            SET quantity = inv.quantity - t.qty, last_updated = CURRENT_TIMESTAMP
+            FROM (SELECT sku, SUM(qty) AS qty FROM transfer_items WHERE transfer_id = :transferId GROUP BY sku) t
+            WHERE inv.location = :location AND inv.sku = t.sku AND inv.quantity >= t.qty
+            """, nativeQuery = true)
+    int deductItems(@Param("transferId") Long transferId, @Param("location") String location);
+
+    // Credit all lines to a location in one statement, creating missing rows from the template location's attributes
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO inventory (location, sku, product_name, category, quantity, min_stock, unit, price, last_updated)
+            SELECT :location, t.sku, COALESCE(src.product_name, t.sku), src.category, t.qty,
+                   COALESCE(src.min_stock, 10), COALESCE(src.unit, 'units'), COALESCE(src.price, 0), CURRENT_TIMESTAMP
+            FROM (SELECT sku, SUM(qty) AS qty FROM transfer_items WHERE transfer_id = :transferId GROUP BY sku) t
+            LEFT JOIN inventory src ON src.location = :templateLocation AND src.sku = t.sku
+            ON CONFLICT (location, sku) DO UPDATE SET
+                quantity = inventory.quantity + EXCLUDED.quantity,
+                last_updated = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    int creditItems(@Param("transferId") Long transferId,
+                    @Param("location") String location,
+                    @Param("templateLocation") String templateLocation);
+}
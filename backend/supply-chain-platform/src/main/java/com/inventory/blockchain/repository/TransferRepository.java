@@ -1,7 +1,9 @@
 package com.inventory.blockchain.repository;
 
 import com.inventory.blockchain.entity.Transfer;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,6 +17,11 @@ public interface TransferRepository extends JpaRepository<Transfer, Long> {
 
     Optional<Transfer> findByTransferId(String transferId);
 
+    // Row lock for status changes, so concurrent or retried changes apply stock effects once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transfer t WHERE t.transferId = :transferId")
+    Optional<Transfer> findByTransferIdForUpdate(@Param("transferId") String transferId);
+
     boolean existsByTransferId(String transferId);
 
     List<Transfer> findByStatus(String status);
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -36,6 +37,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("UPDATE User u SET u.lastLogin = :lastLogin WHERE u.id = :userId")
     void updateLastLogin(@Param("userId") Long userId, @Param("lastLogin") LocalDateTime lastLogin);
     
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.passwordHash = :newHash WHERE u.id = :userId AND u.passwordHash = :oldHash")
+    int replacePasswordHash(@Param("userId") Long userId,
+                            @Param("oldHash") String oldHash,
+                            @Param("newHash") String newHash);
+    
     @Modifying
     @Query("UPDATE User u SET u.isActive = false WHERE u.id = :userId")
     void deactivateUser(@Param("userId") Long userId);
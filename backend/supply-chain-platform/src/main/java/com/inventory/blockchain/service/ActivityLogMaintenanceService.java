@@ -0,0 +1,51 @@
+package com.inventory.blockchain.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the activity_logs indexes and monthly partitions in place.
+ *
+ * The BRIN index on created_at cannot be declared through JPA, so it is created here;
+ * the btree indexes come from the entity. On a partitioned table (see
+ * {@code db/activity-logs-partitioning.sql}) upcoming months are created ahead of time.
+ */
+@Service
+public class ActivityLogMaintenanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityLogMaintenanceService.class);
+
+    private static final String TABLE = "activity_logs";
+    private static final int PARTITIONS_AHEAD = 2;
+
+    private final TimePartitionManager partitionManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ActivityLogMaintenanceService(TimePartitionManager partitionManager, JdbcTemplate jdbcTemplate) {
+        this.partitionManager = partitionManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareTable() {
+        try {
+            jdbcTemplate.execute(
+                    "CREATE INDEX IF NOT EXISTS idx_activity_logs_created_brin ON activity_logs USING brin (created_at)");
+        } catch (RuntimeException e) {
+            log.warn("Could not create BRIN index on activity_logs: {}", e.getMessage());
+        }
+        ensurePartitions();
+    }
+
+    @Scheduled(cron = "0 15 3 * * *")
+    public void ensurePartitions() {
+        if (partitionManager.isPartitioned(TABLE)) {
+            partitionManager.ensureMonthlyPartitions(TABLE, PARTITIONS_AHEAD);
+        }
+    }
+}
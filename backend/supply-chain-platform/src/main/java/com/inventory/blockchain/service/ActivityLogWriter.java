@@ -0,0 +1,255 @@
+package com.inventory.blockchain.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.blockchain.config.ActivityLogProperties;
+import com.inventory.blockchain.dto.ActivityEvent;
+import com.inventory.blockchain.entity.ActivityLog;
+import com.inventory.blockchain.util.RingBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only activity log pipeline.
+ *
+ * Callers hand events to {@link #append}; once their transaction commits the event goes into
+ * a lock-free {@link RingBuffer} and a single writer thread inserts them in JDBC batches.
+ * When the buffer is full the producer waits up to {@code activity-log.offer-timeout} for
+ * space and then writes its own event, so a full buffer slows producers down rather than
+ * losing rows. A batch that keeps failing is written again row by row, so a row the
+ * database rejects (an over-long value, an unknown user) is logged and dropped on its own
+ * while the rest of its batch is kept; rows are only lost wholesale if the database stays
+ * unreachable through every retry. On shutdown the writer stops after the web server and
+ * drains the buffer.
+ */
+@Service
+public class ActivityLogWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityLogWriter.class);
+
+    private static final String INSERT_SQL = """
+            INSERT INTO activity_logs (user_id, action, entity_type, entity_id, details, ip_address, created_at)
+            VALUES (?, ?, ?, ?, ?::jsonb, ?, ?)
+            """;
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ActivityLogProperties properties;
+    private final RingBuffer<ActivityEvent> buffer;
+
+    private volatile boolean running;
+    private volatile Thread writerThread;
+
+    public ActivityLogWriter(JdbcTemplate jdbcTemplate,
+                             ObjectMapper objectMapper,
+                             ActivityLogProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.buffer = new RingBuffer<>(properties.getBufferCapacity());
+    }
+
+    // ==================== PRODUCERS ====================
+
+    /**
+     * Queue an activity row. Inside a transaction it is only queued after commit.
+     */
+    public void append(ActivityLog activityLog) {
+        append(ActivityEvent.from(activityLog));
+    }
+
+    public void append(ActivityEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    private void enqueue(ActivityEvent event) {
+        if (!running) {
+            // Before start or after shutdown nobody would drain the buffer
+            writeWithRetry(List.of(event));
+            return;
+        }
+        if (buffer.offer(event)) {
+            wakeWriterIfBacklogged();
+            return;
+        }
+        // Backpressure: give the writer a moment to catch up before writing inline
+        long deadline = System.nanoTime() + properties.getOfferTimeout().toNanos();
+        while (running && System.nanoTime() < deadline) {
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            if (buffer.offer(event)) {
+                return;
+            }
+        }
+        log.warn("Activity log buffer full ({} events), writing inline", buffer.capacity());
+        writeWithRetry(List.of(event));
+    }
+
+    private void wakeWriterIfBacklogged() {
+        Thread writer = writerThread;
+        if (writer != null && buffer.size() >= properties.getBatchSize()) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    // ==================== WRITER ====================
+
+    private void runWriter() {
+        long flushNanos = properties.getFlushInterval().toNanos();
+        List<ActivityEvent> batch = new ArrayList<>(properties.getBatchSize());
+        while (running) {
+            if (buffer.drainTo(batch, properties.getBatchSize()) == 0) {
+                LockSupport.parkNanos(this, flushNanos);
+                continue;
+            }
+            writeWithRetry(batch);
+            batch.clear();
+        }
+        // Shutdown: drain whatever producers managed to queue
+        while (buffer.drainTo(batch, properties.getBatchSize()) > 0) {
+            writeWithRetry(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeWithRetry(List<ActivityEvent> batch) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    log.warn("Activity log batch of {} failed {} times, writing rows one by one: {}",
+                            batch.size(), MAX_ATTEMPTS, e.getMessage());
+                    break;
+                }
+                log.warn("Activity log batch failed (attempt {}): {}", attempt, e.getMessage());
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100L * attempt));
+            }
+        }
+        writeEach(batch);
+    }
+
+    // Isolate the rows the database rejects so only they are lost
+    private void writeEach(List<ActivityEvent> batch) {
+        int dropped = 0;
+        for (ActivityEvent event : batch) {
+            try {
+                write(List.of(event));
+            } catch (RuntimeException e) {
+                dropped++;
+                log.error("Dropping activity log row: userId={}, action={}, entityType={}, entityId={}: {}",
+                        event.userId(), event.action(), event.entityType(), event.entityId(), e.getMessage());
+            }
+        }
+        if (dropped > 0) {
+            log.error("Dropped {} of {} activity log rows", dropped, batch.size());
+        }
+    }
+
+    private void write(List<ActivityEvent> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), this::bind);
+    }
+
+    private void bind(PreparedStatement ps, ActivityEvent event) throws SQLException {
+        if (event.userId() != null) {
+            ps.setLong(1, event.userId());
+        } else {
+            ps.setNull(1, Types.BIGINT);
+        }
+        ps.setString(2, event.action());
+        ps.setString(3, event.entityType());
+        ps.setString(4, event.entityId());
+        ps.setString(5, toJson(event));
+        ps.setString(6, event.ipAddress());
+        ps.setTimestamp(7, Timestamp.valueOf(event.createdAt()));
+    }
+
+    private String toJson(ActivityEvent event) {
+        if (event.details() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(event.details());
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize activity details for {} {}: {}", event.action(), event.entityId(), e.getMessage());
+            return null;
+        }
+    }
+
+    // ==================== LIFECYCLE ====================
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::runWriter, "activity-log-writer");
+        thread.setDaemon(false);
+        writerThread = thread;
+        thread.start();
+        log.info("Activity log writer started: buffer={}, batchSize={}", buffer.capacity(), properties.getBatchSize());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writerThread;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // A producer that saw running=true can offer after the writer's last drain
+        if (!thread.isAlive()) {
+            List<ActivityEvent> batch = new ArrayList<>(properties.getBatchSize());
+            while (buffer.drainTo(batch, properties.getBatchSize()) > 0) {
+                writeWithRetry(batch);
+                batch.clear();
+            }
+        }
+        if (!buffer.isEmpty()) {
+            log.warn("Activity log writer stopped with {} events unwritten", buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stop after the web server (and its graceful shutdown) so in-flight requests can still log.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
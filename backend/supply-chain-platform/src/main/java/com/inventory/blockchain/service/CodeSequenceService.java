@@ -0,0 +1,130 @@
+package com.inventory.blockchain.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Issues business codes such as {@code PO-2026-001} and {@code DOC-2026-042}.
+ *
+ * Numbers come from one database sequence per code type and year, so they are unique
+ * across instances without a COUNT query. Each sequence advances in steps of
+ * {@link #BLOCK_SIZE}; one nextval reserves a whole block that is then handed out from
+ * memory. Codes from one instance are increasing, and numbers left in a block at shutdown
+ * are skipped. A new year's sequence starts after the highest number already stored for
+ * that year, so codes issued before sequences existed are never reused.
+ */
+@Service
+public class CodeSequenceService {
+
+    private static final Logger log = LoggerFactory.getLogger(CodeSequenceService.class);
+
+    static final int BLOCK_SIZE = 20;
+
+    public enum CodeType {
+        DOCUMENT("DOC", "documents", "document_code"),
+        PURCHASE_ORDER("PO", "purchase_orders", "po_number");
+
+        private final String prefix;
+        private final String table;
+        private final String column;
+
+        CodeType(String prefix, String table, String column) {
+            this.prefix = prefix;
+            this.table = table;
+            this.column = column;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate sequenceTransaction;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public CodeSequenceService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Sequence DDL must neither roll back with nor abort the caller's transaction
+        this.sequenceTransaction = new TransactionTemplate(transactionManager);
+        this.sequenceTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String nextCode(CodeType type) {
+        int year = Year.now(ZoneOffset.UTC).getValue();
+        String sequence = sequenceName(type, year);
+        long number = blocks.computeIfAbsent(sequence, name -> new Block()).next(() -> reserveBlock(type, year, name));
+        return String.format("%s-%d-%03d", type.prefix, year, number);
+    }
+
+    /**
+     * @return the first number of a freshly reserved block
+     */
+    private long reserveBlock(CodeType type, int year, String sequence) {
+        try {
+            return sequenceTransaction.execute(status -> createIfMissingAndReserve(type, year, sequence));
+        } catch (DataAccessException e) {
+            // Typically another instance created the same sequence concurrently
+            log.debug("Retrying block reservation on {}: {}", sequence, e.getMessage());
+            return sequenceTransaction.execute(status -> createIfMissingAndReserve(type, year, sequence));
+        }
+    }
+
+    private long createIfMissingAndReserve(CodeType type, int year, String sequence) {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, sequence);
+        if (!Boolean.TRUE.equals(exists)) {
+            createSequence(type, year, sequence);
+        }
+        return nextval(sequence);
+    }
+
+    private long nextval(String sequence) {
+        Long value = jdbcTemplate.queryForObject("SELECT nextval(?::regclass)", Long.class, sequence);
+        if (value == null) {
+            throw new IllegalStateException("Sequence " + sequence + " returned no value");
+        }
+        return value;
+    }
+
+    private void createSequence(CodeType type, int year, String sequence) {
+        // Continue after codes already stored for this year, e.g. ones issued by COUNT + 1
+        Long highest = jdbcTemplate.queryForObject(String.format(
+                "SELECT MAX(CAST(substring(%s FROM ?) AS bigint)) FROM %s", type.column, type.table),
+                Long.class, "^" + type.prefix + "-" + year + "-(\\d{1,18})$");
+        long start = (highest != null ? highest : 0) + 1;
+        jdbcTemplate.execute(String.format(
+                "CREATE SEQUENCE IF NOT EXISTS %s INCREMENT BY %d MINVALUE 1 START WITH %d",
+                sequence, BLOCK_SIZE, start));
+        log.info("Created code sequence {} starting at {}", sequence, start);
+    }
+
+    private static String sequenceName(CodeType type, int year) {
+        return "code_seq_" + type.name().toLowerCase() + "_" + year;
+    }
+
+    // ==================== INNER TYPES ====================
+
+    /**
+     * Numbers {@code [next, limit)} reserved from the sequence and not yet handed out.
+     */
+    static final class Block {
+        private long next;
+        private long limit;
+
+        synchronized long next(LongSupplier reserve) {
+            if (next >= limit) {
+                next = reserve.getAsLong();
+                limit = next + BLOCK_SIZE;
+            }
+            return next++;
+        }
+    }
+}
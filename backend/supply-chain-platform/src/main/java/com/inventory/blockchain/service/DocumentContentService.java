@@ -0,0 +1,237 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.entity.Document;
+import com.inventory.blockchain.exception.DocumentNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves stored document content over HTTP.
+ *
+ * Supports a single byte range ({@code Range}, {@code If-Range}) and conditional GETs with
+ * the content hash as a strong ETag. The body is handed to Tomcat's sendfile when the
+ * connector offers it, otherwise copied with {@link FileChannel#transferTo}; either way the
+ * file is never read into the heap.
+ *
+ * The stored content type comes from the uploading client, so it is only trusted for
+ * {@link #INLINE_TYPES}. Anything else (HTML, SVG, ...) is sent as an octet-stream
+ * attachment so it cannot run script on the API origin.
+ */
+@Service
+public class DocumentContentService {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentContentService.class);
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final Pattern SINGLE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    // Types that are safe to render from our origin
+    private static final Set<MediaType> INLINE_TYPES = Set.of(
+            MediaType.APPLICATION_PDF,
+            MediaType.IMAGE_PNG,
+            MediaType.IMAGE_JPEG,
+            MediaType.IMAGE_GIF,
+            MediaType.parseMediaType("image/webp"),
+            MediaType.TEXT_PLAIN);
+
+    private final DocumentStorageService storageService;
+
+    public DocumentContentService(DocumentStorageService storageService) {
+        this.storageService = storageService;
+    }
+
+    public void serve(Document document, boolean inline,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (document.getStorageKey() == null) {
+            throw new DocumentNotFoundException(document.getId(), "Document " + document.getDocumentCode() + " has no stored content");
+        }
+        Path file = storageService.pathFor(document.getStorageKey());
+        if (!Files.isRegularFile(file)) {
+            log.error("Stored content missing for document {}: {}", document.getId(), file);
+            throw new DocumentNotFoundException(document.getId(), "Content of document " + document.getDocumentCode() + " is missing");
+        }
+        long length = Files.size(file);
+        String etag = "\"" + document.getStorageKey() + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // Content under a stored key never changes
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=86400");
+
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        ByteRange range = ifRange == null || ifRange.equals(etag)
+                ? ByteRange.parse(request.getHeader(HttpHeaders.RANGE), length)
+                : ByteRange.whole(length);
+        if (range == null) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            return;
+        }
+        long start = range.start();
+        long end = range.end();
+        if (range.partial()) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        long count = end - start + 1;
+        MediaType type = safeType(document.getFileType());
+        boolean renderInline = inline && !MediaType.APPLICATION_OCTET_STREAM.equals(type);
+        response.setContentType(type.toString());
+        response.setContentLengthLong(count);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                (renderInline ? ContentDisposition.inline() : ContentDisposition.attachment())
+                        .filename(document.getFileName(), StandardCharsets.UTF_8)
+                        .build().toString());
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        // Browsers refuse to render PDFs in a sandboxed document; every other type gets one
+        if (!(renderInline && MediaType.APPLICATION_PDF.equalsTypeAndSubtype(type))) {
+            response.setHeader("Content-Security-Policy", "sandbox");
+        }
+
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // The connector writes the file straight from the page cache after we return
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * The stored type if it is on the inline allow-list, otherwise application/octet-stream.
+     */
+    private static MediaType safeType(String fileType) {
+        if (fileType == null || fileType.isBlank()) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        try {
+            MediaType type = MediaType.parseMediaType(fileType);
+            for (MediaType allowed : INLINE_TYPES) {
+                if (allowed.equalsTypeAndSubtype(type)) {
+                    return type;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            log.debug("Unparseable stored content type '{}'", fileType);
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    private static boolean matchesAny(String header, String etag) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ==================== RANGES ====================
+
+    /**
+     * Inclusive byte range to send; {@code partial} is false when the whole file is sent.
+     */
+    record ByteRange(long start, long end, boolean partial) {
+
+        static ByteRange whole(long length) {
+            return new ByteRange(0, length - 1, false);
+        }
+
+        /**
+         * Resolve a {@code Range} header against a file of {@code length} bytes. Headers that
+         * are absent, malformed, ask for several ranges or end before they start are ignored
+         * (RFC 7233 §2.1), giving the whole file.
+         *
+         * @return the range, or null if it is not satisfiable: it starts at or past the end
+         *         of the file, or asks for an empty suffix
+         */
+        static ByteRange parse(String header, long length) {
+            Matcher matcher = header == null ? null : SINGLE_RANGE.matcher(header.trim());
+            if (matcher == null || !matcher.matches()) {
+                return whole(length);
+            }
+            String first = matcher.group(1);
+            String last = matcher.group(2);
+            if (first.isEmpty()) {
+                if (last.isEmpty()) {
+                    return whole(length);
+                }
+                // Suffix range: the last N bytes
+                long suffix = parseCapped(last);
+                if (suffix == 0 || length == 0) {
+                    return null;
+                }
+                return new ByteRange(Math.max(0, length - suffix), length - 1, true);
+            }
+            long start = parseCapped(first);
+            long requestedEnd = last.isEmpty() ? Long.MAX_VALUE : parseCapped(last);
+            if (requestedEnd < start) {
+                return whole(length);
+            }
+            if (start >= length) {
+                return null;
+            }
+            return new ByteRange(start, Math.min(requestedEnd, length - 1), true);
+        }
+
+        // Positions too large for a long are past the end of any file
+        private static long parseCapped(String digits) {
+            try {
+                return Long.parseLong(digits);
+            } catch (NumberFormatException e) {
+                return Long.MAX_VALUE;
+            }
+        }
+    }
+}
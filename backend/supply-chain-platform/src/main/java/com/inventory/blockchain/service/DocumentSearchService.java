@@ -0,0 +1,119 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.entity.Document;
+import com.inventory.blockchain.repository.DocumentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Full-text search over documents.
+ *
+ * Each row carries a weighted {@code search_vector} (name A, tags B, category C,
+ * description D) kept current by a trigger and indexed with GIN. The column, trigger and
+ * index live outside the JPA mapping and are created here on startup, then rows written
+ * before they existed are backfilled in id order by a background thread. Until it has
+ * finished, those rows do not match searches.
+ */
+@Service
+public class DocumentSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentSearchService.class);
+
+    private static final int BACKFILL_BATCH_SIZE = 5_000;
+
+    private final DocumentRepository documentRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public DocumentSearchService(DocumentRepository documentRepository, JdbcTemplate jdbcTemplate) {
+        this.documentRepository = documentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Ranked matches for a web-style query ({@code "quoted phrase"}, {@code or}, {@code -excluded}),
+     * best first. Category and status are optional filters.
+     */
+    public Slice<Document> search(String query, String category, String status, Pageable pageable) {
+        return documentRepository.fullTextSearch(query.trim(), blankToNull(category), blankToNull(status), pageable);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    // ==================== INDEX MAINTENANCE ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareIndex() {
+        try {
+            jdbcTemplate.execute("ALTER TABLE documents ADD COLUMN IF NOT EXISTS search_vector tsvector");
+            // Declared IMMUTABLE so the trigger and the backfill share one definition
+            jdbcTemplate.execute("""
+                    CREATE OR REPLACE FUNCTION documents_search_vector(
+                        p_name text, p_description text, p_tags text[], p_category text)
+                    RETURNS tsvector LANGUAGE sql IMMUTABLE AS $$
+                        SELECT setweight(to_tsvector('english', coalesce(p_name, '')), 'A')
+                            || setweight(to_tsvector('english', coalesce(array_to_string(p_tags, ' '), '')), 'B')
+                            || setweight(to_tsvector('english', coalesce(replace(p_category, '_', ' '), '')), 'C')
+                            || setweight(to_tsvector('english', coalesce(p_description, '')), 'D')
+                    $$
+                    """);
+            jdbcTemplate.execute("""
+                    CREATE OR REPLACE FUNCTION documents_search_vector_trigger() RETURNS trigger
+                    LANGUAGE plpgsql AS $$
+                    BEGIN
+                        NEW.search_vector := documents_search_vector(NEW.name, NEW.description, NEW.tags, NEW.category);
+                        RETURN NEW;
+                    END
+                    $$
+                    """);
+            jdbcTemplate.execute("DROP TRIGGER IF EXISTS trg_documents_search_vector ON documents");
+            jdbcTemplate.execute("""
+                    CREATE TRIGGER trg_documents_search_vector
+                    BEFORE INSERT OR UPDATE OF name, description, tags, category ON documents
+                    FOR EACH ROW EXECUTE FUNCTION documents_search_vector_trigger()
+                    """);
+            jdbcTemplate.execute(
+                    "CREATE INDEX IF NOT EXISTS idx_documents_search_vector ON documents USING gin (search_vector)");
+        } catch (RuntimeException e) {
+            log.error("Could not set up document full-text search: {}", e.getMessage());
+            return;
+        }
+        Thread thread = new Thread(this::backfill, "document-search-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void backfill() {
+        long total = 0;
+        long lastId = 0;
+        try {
+            while (true) {
+                // Walk the primary key in ranges so no batch has to scan for unfilled rows
+                Long batchEnd = jdbcTemplate.queryForObject(
+                        "SELECT MAX(id) FROM (SELECT id FROM documents WHERE id > ? ORDER BY id LIMIT ?) batch",
+                        Long.class, lastId, BACKFILL_BATCH_SIZE);
+                if (batchEnd == null) {
+                    break;
+                }
+                // Short batches keep row locks and WAL bursts small on the live table
+                total += jdbcTemplate.update("""
+                        UPDATE documents SET search_vector = documents_search_vector(name, description, tags, category)
+                        WHERE id > ? AND id <= ? AND search_vector IS NULL
+                        """, lastId, batchEnd);
+                lastId = batchEnd;
+            }
+        } catch (RuntimeException e) {
+            log.error("Search vector backfill stopped after id {}: {}", lastId, e.getMessage());
+        }
+        if (total > 0) {
+            log.info("Backfilled search vectors for {} documents", total);
+        }
+    }
+}
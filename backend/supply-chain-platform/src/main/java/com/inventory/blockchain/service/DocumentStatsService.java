@@ -0,0 +1,105 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.entity.Document;
+import com.inventory.blockchain.entity.DocumentStat;
+import com.inventory.blockchain.repository.DocumentRepository;
+import com.inventory.blockchain.repository.DocumentStatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Document counts and sizes per category and status.
+ *
+ * Every document write goes through {@link #save}, which adjusts the affected
+ * {@code document_stats} buckets in the same transaction. Reads only touch that small
+ * table. The buckets are rebuilt from the documents table on startup and periodically
+ * to repair writes made outside this service.
+ */
+@Service
+public class DocumentStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentStatsService.class);
+
+    private static final String UNKNOWN_STATUS = "UNKNOWN";
+
+    private final DocumentRepository documentRepository;
+    private final DocumentStatRepository statRepository;
+    private final TransactionTemplate reconcileTransaction;
+
+    public DocumentStatsService(DocumentRepository documentRepository, DocumentStatRepository statRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.documentRepository = documentRepository;
+        this.statRepository = statRepository;
+        this.reconcileTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    public List<DocumentStat> getStats() {
+        return statRepository.findAll();
+    }
+
+    // ==================== UPDATES ====================
+
+    /**
+     * What a document counts towards; take it before changing a loaded document.
+     */
+    public record Snapshot(String category, String status, long bytes) {
+        public static Snapshot of(Document doc) {
+            return new Snapshot(doc.getCategory(),
+                    doc.getStatus() != null ? doc.getStatus() : UNKNOWN_STATUS,
+                    doc.getFileSize() != null ? doc.getFileSize() : 0L);
+        }
+    }
+
+    /**
+     * Save a new document and count it.
+     */
+    @Transactional
+    public Document save(Document doc) {
+        return save(doc, null);
+    }
+
+    /**
+     * Save a document and move it from the {@code before} bucket to its current one.
+     */
+    @Transactional
+    public Document save(Document doc, Snapshot before) {
+        Document saved = documentRepository.save(doc);
+        Snapshot after = Snapshot.of(saved);
+        if (before == null) {
+            statRepository.addToBucket(after.category(), after.status(), 1, after.bytes());
+        } else if (!before.equals(after)) {
+            statRepository.addToBucket(before.category(), before.status(), -1, -before.bytes());
+            statRepository.addToBucket(after.category(), after.status(), 1, after.bytes());
+        }
+        return saved;
+    }
+
+    // ==================== RECONCILIATION ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${documents.stats-reconcile-interval:PT1H}",
+               initialDelayString = "${documents.stats-reconcile-interval:PT1H}")
+    public void reconcile() {
+        // Bucket updates wait for the lock, so none lands between the recount and its commit
+        Integer corrected = reconcileTransaction.execute(status -> {
+            statRepository.lockBuckets();
+            return statRepository.reconcileAll();
+        });
+        if (corrected != null && corrected > 0) {
+            log.info("Reconciled document stats: {} buckets corrected", corrected);
+        }
+    }
+}
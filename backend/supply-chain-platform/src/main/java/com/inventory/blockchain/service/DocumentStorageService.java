@@ -0,0 +1,129 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.config.DocumentStorageProperties;
+import com.inventory.blockchain.dto.StoredContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed file store for document uploads.
+ *
+ * A file lives at {@code <root>/<h0h1>/<h2h3>/<sha256>}. Uploads are streamed through a
+ * per-thread direct buffer into a temp file while the digest is computed, then renamed into
+ * place; if the content is already stored the temp file is discarded, so identical
+ * uploads take disk space once.
+ */
+@Service
+public class DocumentStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentStorageService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    // Direct buffers are costly to allocate and only freed by GC, so each request thread
+    // keeps one for its uploads; the pool of request threads bounds the total
+    private static final ThreadLocal<ByteBuffer> BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    private final Path root;
+    private final Path staging;
+
+    public DocumentStorageService(DocumentStorageProperties properties) {
+        this.root = properties.getStorageRoot().toAbsolutePath().normalize();
+        this.staging = root.resolve("tmp");
+    }
+
+    /**
+     * Stream {@code content} into the store. The stream is read once and not closed.
+     */
+    public StoredContent store(InputStream content) throws IOException {
+        Files.createDirectories(staging);
+        Path temp = Files.createTempFile(staging, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            ReadableByteChannel in = Channels.newChannel(content);
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = BUFFER.get().clear();
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        size += out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                // The document row will point at this file, so it must be on disk first
+                out.force(false);
+            }
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Path target = pathFor(sha256);
+            if (Files.exists(target)) {
+                Files.delete(temp);
+                log.debug("Upload deduplicated: sha256={}, size={}", sha256, size);
+                return new StoredContent(sha256, size, true);
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Same content uploaded concurrently
+                Files.delete(temp);
+                return new StoredContent(sha256, size, true);
+            }
+            log.info("Stored upload: sha256={}, size={}", sha256, size);
+            return new StoredContent(sha256, size, false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Location of stored content; throws for anything that is not a SHA-256 hex string.
+     */
+    public Path pathFor(String sha256) {
+        if (sha256 == null || !SHA256_HEX.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Invalid content hash: " + sha256);
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    /**
+     * Location relative to the store root, as recorded on the document.
+     */
+    public String relativePath(String sha256) {
+        return root.relativize(pathFor(sha256)).toString();
+    }
+
+    public boolean exists(String sha256) {
+        return Files.isRegularFile(pathFor(sha256));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.inventory.blockchain.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.blockchain.config.TransferProperties;
+import com.inventory.blockchain.exception.IdempotencyKeyReuseException;
+import com.inventory.blockchain.exception.ServiceBusyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived store of Idempotency-Key → response for retried POSTs.
+ *
+ * The first request with a key runs the operation; retries with the same key and body
+ * get the stored response (or wait a bounded time for the in-flight one, then get 503),
+ * and reusing a key with a different body is rejected. Server errors are not stored so the client can retry them.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final ObjectMapper objectMapper;
+    private final TransferProperties properties;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public IdempotencyService(ObjectMapper objectMapper, TransferProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * Run {@code operation} at most once per (scope, key) within the TTL.
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request,
+                                         Supplier<ResponseEntity<T>> operation) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+
+        String storeKey = scope + ":" + key;
+        String fingerprint = fingerprint(request);
+        Entry fresh = new Entry(fingerprint);
+
+        Entry existing = entries.putIfAbsent(storeKey, fresh);
+        if (existing != null && existing.isExpired()) {
+            // Expired but not yet purged: take over the slot
+            existing = entries.replace(storeKey, existing, fresh) ? null : entries.putIfAbsent(storeKey, fresh);
+        }
+
+        if (existing != null) {
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw new IdempotencyKeyReuseException(key);
+            }
+            log.info("Replaying response for {}={} (scope={})", HEADER, key, scope);
+            return replay(existing);
+        }
+
+        try {
+            ResponseEntity<T> response = operation.get();
+            if (response.getStatusCode().is5xxServerError()) {
+                entries.remove(storeKey, fresh);
+            } else {
+                fresh.expiresAt = System.currentTimeMillis() + properties.getIdempotencyTtl().toMillis();
+            }
+            fresh.result.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            // Errors are not remembered; waiting duplicates see the same failure, later retries run again
+            entries.remove(storeKey, fresh);
+            fresh.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(Entry entry) {
+        ResponseEntity<?> stored;
+        try {
+            stored = entry.result.get(properties.getIdempotencyWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceBusyException("A request with this " + HEADER + " is still in progress; retry later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return (ResponseEntity<T>) ResponseEntity.status(stored.getStatusCode())
+                .headers(stored.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(stored.getBody());
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        int before = entries.size();
+        entries.values().removeIf(Entry::isExpired);
+        int removed = before - entries.size();
+        if (removed > 0) {
+            log.debug("Purged {} expired idempotency entries", removed);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request body cannot be serialized", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // ==================== INNER TYPES ====================
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<ResponseEntity<?>> result = new CompletableFuture<>();
+        // Long.MAX_VALUE while in flight; set once the response is stored
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.dto.BulkInventoryResponse;
+import com.inventory.blockchain.dto.BulkRowResult;
+import com.inventory.blockchain.dto.InventoryAdjustRow;
+import com.inventory.blockchain.dto.InventoryUpsertRow;
+import com.inventory.blockchain.dto.StockLevel;
+import com.inventory.blockchain.repository.InventoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk inventory writes for WMS integrations (cycle counts, stock adjustments).
+ *
+ * Rows are validated up front against the column constraints, written with JDBC
+ * batches inside a single transaction, and reported back one result per input row.
+ * A (location, SKU) may appear only once per upsert: the batch is rewritten into
+ * multi-row inserts, and Postgres rejects one that updates the same row twice.
+ */
+@Service
+public class InventoryBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryBulkService.class);
+
+    public static final int MAX_ROWS = 250_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    // Column limits on inventory
+    private static final int MAX_LOCATION_LENGTH = 100;
+    private static final int MAX_SKU_LENGTH = 50;
+    private static final int MAX_PRODUCT_NAME_LENGTH = 200;
+    private static final int MAX_CATEGORY_LENGTH = 100;
+    private static final int MAX_UNIT_LENGTH = 20;
+    private static final int PRICE_PRECISION = 10;
+    private static final int PRICE_SCALE = 2;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO inventory (location, sku, product_name, category, quantity, min_stock, unit, price, last_updated)
+            VALUES (?, ?, COALESCE(CAST(? AS varchar), ?), ?, ?, COALESCE(CAST(? AS integer), 10),
+                    COALESCE(CAST(? AS varchar), 'units'), COALESCE(CAST(? AS numeric), 0), CURRENT_TIMESTAMP)
+            ON CONFLICT (location, sku) DO UPDATE SET
+                quantity = EXCLUDED.quantity,
+                product_name = COALESCE(CAST(? AS varchar), inventory.product_name),
+                category = COALESCE(CAST(? AS varchar), inventory.category),
+                min_stock = COALESCE(CAST(? AS integer), inventory.min_stock),
+                unit = COALESCE(CAST(? AS varchar), inventory.unit),
+                price = COALESCE(CAST(? AS numeric), inventory.price),
+                last_updated = CURRENT_TIMESTAMP
+            """;
+
+    private static final String ADJUST_SQL = """
+            UPDATE inventory
+            SET quantity = quantity + ?, last_updated = CURRENT_TIMESTAMP
+            WHERE location = ? AND sku = ? AND quantity + CAST(? AS bigint) BETWEEN 0 AND 2147483647
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InventoryRepository inventoryRepository;
+    private final LowStockMonitor lowStockMonitor;
+
+    public InventoryBulkService(JdbcTemplate jdbcTemplate,
+                                InventoryRepository inventoryRepository,
+                                LowStockMonitor lowStockMonitor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.inventoryRepository = inventoryRepository;
+        this.lowStockMonitor = lowStockMonitor;
+    }
+
+    // ==================== UPSERT ====================
+
+    /**
+     * Set absolute quantities, creating rows that do not exist yet.
+     * Optional attributes left null keep their current value on existing rows.
+     */
+    @Transactional
+    public BulkInventoryResponse upsert(List<InventoryUpsertRow> rows, boolean allOrNothing) {
+        checkSize(rows);
+        log.info("Bulk upsert: rows={}, allOrNothing={}", rows.size(), allOrNothing);
+
+        BulkRowResult[] results = new BulkRowResult[rows.size()];
+        List<Integer> accepted = new ArrayList<>(rows.size());
+        Map<LowStockMonitor.StockKey, Integer> firstRowByKey = new HashMap<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            InventoryUpsertRow row = rows.get(i);
+            String error = validateKey(row == null ? null : row.location(), row == null ? null : row.sku());
+            if (error == null) {
+                error = validateUpsert(row);
+            }
+            if (error == null) {
+                Integer first = firstRowByKey.putIfAbsent(new LowStockMonitor.StockKey(row.location(), row.sku()), i);
+                if (first != null) {
+                    error = "Duplicate location and SKU (first given in row " + first + ")";
+                }
+            }
+            if (error != null) {
+                results[i] = rejected(i, row == null ? null : row.location(), row == null ? null : row.sku(), error);
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        for (List<Integer> chunk : chunks(accepted)) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int n) throws SQLException {
+                    InventoryUpsertRow row = rows.get(chunk.get(n));
+                    ps.setString(1, row.location());
+                    ps.setString(2, row.sku());
+                    setNullableString(ps, 3, row.productName());
+                    ps.setString(4, row.sku());
+                    setNullableString(ps, 5, row.category());
+                    ps.setInt(6, row.quantity());
+                    setNullableInt(ps, 7, row.minStock());
+                    setNullableString(ps, 8, row.unit());
+                    ps.setBigDecimal(9, row.price());
+                    setNullableString(ps, 10, row.productName());
+                    setNullableString(ps, 11, row.category());
+                    setNullableInt(ps, 12, row.minStock());
+                    setNullableString(ps, 13, row.unit());
+                    ps.setBigDecimal(14, row.price());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            });
+            for (int index : chunk) {
+                InventoryUpsertRow row = rows.get(index);
+                results[index] = new BulkRowResult(index, row.location(), row.sku(), BulkRowResult.APPLIED, null);
+            }
+        }
+
+        return finish(results, allOrNothing);
+    }
+
+    // ==================== ADJUST ====================
+
+    /**
+     * Apply quantity deltas to existing rows. A row is skipped if it does not exist
+     * or if the delta would take its quantity below zero.
+     */
+    @Transactional
+    public BulkInventoryResponse adjust(List<InventoryAdjustRow> rows, boolean allOrNothing) {
+        checkSize(rows);
+        log.info("Bulk adjust: rows={}, allOrNothing={}", rows.size(), allOrNothing);
+
+        BulkRowResult[] results = new BulkRowResult[rows.size()];
+        List<Integer> accepted = new ArrayList<>(rows.size());
+
+        for (int i = 0; i < rows.size(); i++) {
+            InventoryAdjustRow row = rows.get(i);
+            String error = validateKey(row == null ? null : row.location(), row == null ? null : row.sku());
+            if (error == null && row.delta() == null) {
+                error = "Delta is required";
+            }
+            if (error != null) {
+                results[i] = rejected(i, row == null ? null : row.location(), row == null ? null : row.sku(), error);
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        List<Integer> missed = new ArrayList<>();
+        for (List<Integer> chunk : chunks(accepted)) {
+            int[] counts = jdbcTemplate.batchUpdate(ADJUST_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int n) throws SQLException {
+                    InventoryAdjustRow row = rows.get(chunk.get(n));
+                    ps.setInt(1, row.delta());
+                    ps.setString(2, row.location());
+                    ps.setString(3, row.sku());
+                    ps.setInt(4, row.delta());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            });
+            for (int n = 0; n < chunk.size(); n++) {
+                int index = chunk.get(n);
+                if (counts[n] > 0 || counts[n] == Statement.SUCCESS_NO_INFO) {
+                    InventoryAdjustRow row = rows.get(index);
+                    results[index] = new BulkRowResult(index, row.location(), row.sku(), BulkRowResult.APPLIED, null);
+                } else {
+                    missed.add(index);
+                }
+            }
+        }
+
+        explainMissedAdjustments(rows, missed, results);
+        return finish(results, allOrNothing);
+    }
+
+    /**
+     * Tell "row does not exist" apart from "not enough stock" with one lookup per chunk.
+     */
+    private void explainMissedAdjustments(List<InventoryAdjustRow> rows, List<Integer> missed, BulkRowResult[] results) {
+        for (List<Integer> chunk : chunks(missed)) {
+            Set<String> skus = new HashSet<>();
+            Set<String> locations = new HashSet<>();
+            for (int index : chunk) {
+                skus.add(rows.get(index).sku());
+                locations.add(rows.get(index).location());
+            }
+            Set<LowStockMonitor.StockKey> existing = new HashSet<>();
+            for (StockLevel level : inventoryRepository.findStockLevels(skus, locations)) {
+                existing.add(new LowStockMonitor.StockKey(level.location(), level.sku()));
+            }
+            for (int index : chunk) {
+                InventoryAdjustRow row = rows.get(index);
+                boolean exists = existing.contains(new LowStockMonitor.StockKey(row.location(), row.sku()));
+                results[index] = exists
+                        ? new BulkRowResult(index, row.location(), row.sku(), BulkRowResult.INSUFFICIENT_STOCK,
+                                "Delta would make quantity negative or out of range")
+                        : new BulkRowResult(index, row.location(), row.sku(), BulkRowResult.NOT_FOUND,
+                                "No inventory row for location and SKU");
+            }
+        }
+    }
+
+    // ==================== HELPERS ====================
+
+    private BulkInventoryResponse finish(BulkRowResult[] results, boolean allOrNothing) {
+        List<BulkRowResult> resultList = Arrays.asList(results);
+        int applied = (int) resultList.stream().filter(BulkRowResult::isApplied).count();
+        int failed = results.length - applied;
+
+        boolean rolledBack = allOrNothing && failed > 0;
+        if (rolledBack) {
+            log.warn("Bulk operation rolled back: {} of {} rows failed", failed, results.length);
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        } else {
+            List<LowStockMonitor.StockKey> touched = resultList.stream()
+                    .filter(BulkRowResult::isApplied)
+                    .map(r -> new LowStockMonitor.StockKey(r.location(), r.sku()))
+                    .toList();
+            lowStockMonitor.recordStockChanges(touched);
+        }
+
+        log.info("Bulk operation finished: total={}, applied={}, failed={}", results.length, applied, failed);
+        return new BulkInventoryResponse(results.length, rolledBack ? 0 : applied, failed, rolledBack, resultList);
+    }
+
+    private void checkSize(List<?> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("At least one row is required");
+        }
+        if (rows.size() > MAX_ROWS) {
+            throw new IllegalArgumentException("Too many rows: " + rows.size() + " (max " + MAX_ROWS + ")");
+        }
+    }
+
+    private String validateKey(String location, String sku) {
+        if (location == null || location.isBlank()) {
+            return "Location is required";
+        }
+        if (location.length() > MAX_LOCATION_LENGTH) {
+            return "Location must be at most " + MAX_LOCATION_LENGTH + " characters";
+        }
+        if (sku == null || sku.isBlank()) {
+            return "SKU is required";
+        }
+        if (sku.length() > MAX_SKU_LENGTH) {
+            return "SKU must be at most " + MAX_SKU_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private String validateUpsert(InventoryUpsertRow row) {
+        if (row.quantity() == null || row.quantity() < 0) {
+            return "Quantity must be zero or greater";
+        }
+        if (row.productName() != null && row.productName().length() > MAX_PRODUCT_NAME_LENGTH) {
+            return "Product name must be at most " + MAX_PRODUCT_NAME_LENGTH + " characters";
+        }
+        if (row.category() != null && row.category().length() > MAX_CATEGORY_LENGTH) {
+            return "Category must be at most " + MAX_CATEGORY_LENGTH + " characters";
+        }
+        if (row.unit() != null && row.unit().length() > MAX_UNIT_LENGTH) {
+            return "Unit must be at most " + MAX_UNIT_LENGTH + " characters";
+        }
+        if (row.minStock() != null && row.minStock() < 0) {
+            return "Min stock must be zero or greater";
+        }
+        if (row.price() != null) {
+            if (row.price().signum() < 0) {
+                return "Price must be zero or greater";
+            }
+            // numeric(10,2) after the database rounds to cents
+            if (row.price().setScale(PRICE_SCALE, RoundingMode.HALF_UP).precision() > PRICE_PRECISION) {
+                return "Price must be less than 100000000";
+            }
+        }
+        return null;
+    }
+
+    private BulkRowResult rejected(int index, String location, String sku, String message) {
+        return new BulkRowResult(index, location, sku, BulkRowResult.REJECTED, message);
+    }
+
+    private List<List<Integer>> chunks(List<Integer> indexes) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int start = 0; start < indexes.size(); start += BATCH_SIZE) {
+            chunks.add(indexes.subList(start, Math.min(start + BATCH_SIZE, indexes.size())));
+        }
+        return chunks;
+    }
+
+    private static void setNullableString(PreparedStatement ps, int index, String value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.VARCHAR);
+        } else {
+            ps.setString(index, value);
+        }
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+}
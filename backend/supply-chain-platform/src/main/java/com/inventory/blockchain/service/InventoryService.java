@@ -17,9 +17,11 @@ public class InventoryService {
     private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
 
     private final InventoryRepository inventoryRepository;
+    private final LowStockMonitor lowStockMonitor;
 
-    public InventoryService(InventoryRepository inventoryRepository) {
+    public InventoryService(InventoryRepository inventoryRepository, LowStockMonitor lowStockMonitor) {
         this.inventoryRepository = inventoryRepository;
+        this.lowStockMonitor = lowStockMonitor;
     }
 
     // ==================== READ OPERATIONS ====================
@@ -39,6 +41,16 @@ public class InventoryService {
         return inventoryRepository.findByLocationAndSku(location, sku);
     }
 
+    @Transactional(readOnly = true)
+    public List<Inventory> getInventoryByCategory(String category) {
+        return inventoryRepository.findByCategoryOrderByProductNameAsc(category);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Inventory> searchInventory(String search) {
+        return inventoryRepository.searchByProductName(search);
+    }
+
     @Transactional(readOnly = true)
     public List<Inventory> getLowStockItems() {
         return inventoryRepository.findLowStockItems();
@@ -112,6 +124,7 @@ public class InventoryService {
             throw new InsufficientStockException(location, sku, amount, available);
         }
         
+        lowStockMonitor.recordStockChange(location, sku);
         log.info("Stock deducted successfully: location={}, sku={}, amount={}", location, sku, amount);
     }
 
@@ -148,6 +161,7 @@ public class InventoryService {
         } else {
             log.info("Stock added successfully: location={}, sku={}, amount={}", location, sku, amount);
         }
+        lowStockMonitor.recordStockChange(location, sku);
     }
 
     /**
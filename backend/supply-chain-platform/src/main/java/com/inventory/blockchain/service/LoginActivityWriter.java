@@ -0,0 +1,103 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.dto.ActivityEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes last-login timestamps in batches off the request path.
+ *
+ * Logins are queued in memory and flushed every second as one batched UPDATE per distinct
+ * user; the LOGIN activity row goes through {@link ActivityLogWriter}. Entries still queued
+ * when the process dies are lost, which only affects the displayed last login.
+ */
+@Service
+public class LoginActivityWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginActivityWriter.class);
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_PENDING = 50_000;
+
+    private static final String LAST_LOGIN_SQL =
+            "UPDATE users SET last_login = ? WHERE id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ActivityLogWriter activityLogWriter;
+
+    private final Queue<LoginEvent> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    public LoginActivityWriter(JdbcTemplate jdbcTemplate, ActivityLogWriter activityLogWriter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.activityLogWriter = activityLogWriter;
+    }
+
+    public void recordLogin(Long userId, String ipAddress, LocalDateTime at) {
+        activityLogWriter.append(new ActivityEvent(userId, "LOGIN", "USER", userId.toString(), null, ipAddress, at));
+        if (pendingCount.incrementAndGet() > MAX_PENDING) {
+            pendingCount.decrementAndGet();
+            log.warn("Login queue full, dropping last-login update for userId={}", userId);
+            return;
+        }
+        pending.add(new LoginEvent(userId, at));
+    }
+
+    @Scheduled(fixedDelay = 1_000)
+    public void flush() {
+        List<LoginEvent> batch;
+        while (!(batch = drain()).isEmpty()) {
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                log.error("Failed to update last login for {} logins: {}", batch.size(), e.getMessage(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private List<LoginEvent> drain() {
+        List<LoginEvent> batch = new ArrayList<>(Math.min(BATCH_SIZE, pendingCount.get()));
+        LoginEvent event;
+        while (batch.size() < BATCH_SIZE && (event = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(event);
+        }
+        return batch;
+    }
+
+    private void write(List<LoginEvent> batch) {
+        Map<Long, LocalDateTime> latest = new HashMap<>();
+        for (LoginEvent event : batch) {
+            latest.merge(event.userId(), event.at(), (a, b) -> a.isAfter(b) ? a : b);
+        }
+        jdbcTemplate.batchUpdate(LAST_LOGIN_SQL, latest.entrySet(), latest.size(), (ps, entry) -> {
+            Timestamp at = Timestamp.valueOf(entry.getValue());
+            ps.setTimestamp(1, at);
+            ps.setLong(2, entry.getKey());
+            ps.setTimestamp(3, at);
+        });
+        log.debug("Updated last login for {} users", latest.size());
+    }
+
+    private record LoginEvent(Long userId, LocalDateTime at) {
+    }
+}
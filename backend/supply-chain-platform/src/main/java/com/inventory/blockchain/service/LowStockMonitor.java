@@ -0,0 +1,159 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.dto.StockLevel;
+import com.inventory.blockchain.entity.Inventory;
+import com.inventory.blockchain.repository.InventoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which inventory rows are currently at or below their minimum stock.
+ *
+ * The full low-stock scan runs once at startup to seed the set. After that only
+ * rows touched by a stock change are re-evaluated, and a low-stock notification is
+ * sent when a row crosses into the low state, not on every further deduction.
+ */
+@Service
+public class LowStockMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockMonitor.class);
+
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
+    private final InventoryRepository inventoryRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate alertTransaction;
+
+    private final Set<StockKey> lowStock = ConcurrentHashMap.newKeySet();
+
+    public LowStockMonitor(InventoryRepository inventoryRepository,
+                           NotificationService notificationService,
+                           PlatformTransactionManager transactionManager) {
+        this.inventoryRepository = inventoryRepository;
+        this.notificationService = notificationService;
+        this.alertTransaction = new TransactionTemplate(transactionManager);
+        this.alertTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        List<Inventory> items = inventoryRepository.findLowStockItems();
+        lowStock.clear();
+        for (Inventory item : items) {
+            lowStock.add(new StockKey(item.getLocation(), item.getSku()));
+        }
+        log.info("Low-stock monitor initialized with {} items below threshold", lowStock.size());
+    }
+
+    // ==================== QUERIES ====================
+
+    public boolean isLowStock(String location, String sku) {
+        return lowStock.contains(new StockKey(location, sku));
+    }
+
+    public Set<StockKey> getLowStockKeys() {
+        return Set.copyOf(lowStock);
+    }
+
+    // ==================== CHANGE TRACKING ====================
+
+    /**
+     * Re-evaluate a single row after its quantity changed.
+     */
+    public void recordStockChange(String location, String sku) {
+        inventoryRepository.findStockLevel(location, sku)
+                .ifPresent(level -> apply(List.of(level)));
+    }
+
+    /**
+     * Re-evaluate a set of rows after a multi-row stock change, loading them in chunks.
+     */
+    public void recordStockChanges(Collection<StockKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<StockKey> pending = new ArrayList<>(new HashSet<>(keys));
+        for (int start = 0; start < pending.size(); start += LOOKUP_CHUNK_SIZE) {
+            List<StockKey> chunk = pending.subList(start, Math.min(start + LOOKUP_CHUNK_SIZE, pending.size()));
+            Set<StockKey> wanted = new HashSet<>(chunk);
+            Set<String> skus = new HashSet<>();
+            Set<String> locations = new HashSet<>();
+            for (StockKey key : chunk) {
+                skus.add(key.sku());
+                locations.add(key.location());
+            }
+            List<StockLevel> rows = inventoryRepository.findStockLevels(skus, locations).stream()
+                    .filter(level -> wanted.contains(new StockKey(level.location(), level.sku())))
+                    .toList();
+            apply(rows);
+        }
+    }
+
+    private void apply(List<StockLevel> rows) {
+        List<StockLevel> crossedLow = new ArrayList<>();
+        List<StockKey> recovered = new ArrayList<>();
+
+        for (StockLevel level : rows) {
+            StockKey key = new StockKey(level.location(), level.sku());
+            boolean tracked = lowStock.contains(key);
+            if (level.isLowStock() && !tracked) {
+                crossedLow.add(level);
+            } else if (!level.isLowStock() && tracked) {
+                recovered.add(key);
+            }
+        }
+
+        if (crossedLow.isEmpty() && recovered.isEmpty()) {
+            return;
+        }
+
+        // Only flip state once the stock change is committed, so a rolled back
+        // deduction neither raises an alert nor marks the row as low.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(crossedLow, recovered);
+                }
+            });
+        } else {
+            publish(crossedLow, recovered);
+        }
+    }
+
+    private void publish(List<StockLevel> crossedLow, List<StockKey> recovered) {
+        for (StockKey key : recovered) {
+            if (lowStock.remove(key)) {
+                log.debug("Stock recovered above threshold: location={}, sku={}", key.location(), key.sku());
+            }
+        }
+        for (StockLevel level : crossedLow) {
+            if (lowStock.add(new StockKey(level.location(), level.sku()))) {
+                log.info("Stock crossed low threshold: location={}, sku={}, quantity={}, minStock={}",
+                        level.location(), level.sku(), level.quantity(), level.minStock());
+                // Runs after the stock change committed, so alerts get their own transaction
+                alertTransaction.executeWithoutResult(status -> notificationService.notifyLowStock(
+                        level.sku(), level.productName(), level.quantity(), level.location()));
+            }
+        }
+    }
+
+    // ==================== INNER TYPES ====================
+
+    public record StockKey(String location, String sku) {}
+}
@@ -0,0 +1,180 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.config.NotificationProperties;
+import com.inventory.blockchain.dto.NotificationBroadcast;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces bursts of broadcast notifications before they are fanned out.
+ *
+ * Broadcasts are grouped by (type, reference type). The first broadcast of a group is
+ * delivered at once and opens a window of {@code notifications.digest-window}; broadcasts of
+ * the same group inside the window are held, and when it closes a lone held broadcast is
+ * delivered unchanged and anything more becomes a single digest carrying the count and all
+ * referenced ids. An isolated notification is therefore never delayed. Recipients are resolved per broadcast, so this is the same grouping as
+ * (user, type, reference type) for every user's inbox.
+ */
+@Service
+public class NotificationDigestService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDigestService.class);
+
+    private static final int PREVIEW_MESSAGES = 3;
+
+    private static final Map<String, String> DIGEST_TITLES = Map.of(
+            "TRANSFER", "transfer updates",
+            "ORDER", "purchase order updates",
+            "INVENTORY", "low stock alerts",
+            "ALERT", "alerts",
+            "SYSTEM", "system notifications"
+    );
+
+    private static final List<String> PRIORITIES = List.of("LOW", "NORMAL", "HIGH", "URGENT");
+
+    private final NotificationFanoutService fanoutService;
+    private final NotificationProperties properties;
+
+    private final Map<DigestKey, PendingDigest> pending = new ConcurrentHashMap<>();
+
+    public NotificationDigestService(NotificationFanoutService fanoutService,
+                                     NotificationProperties properties) {
+        this.fanoutService = fanoutService;
+        this.properties = properties;
+    }
+
+    /**
+     * Add a broadcast to its group once the caller's transaction commits.
+     */
+    public void publish(NotificationBroadcast broadcast) {
+        if (properties.getDigestWindow().isZero()) {
+            fanoutService.publish(broadcast);
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(broadcast);
+                }
+            });
+        } else {
+            enqueue(broadcast);
+        }
+    }
+
+    private void enqueue(NotificationBroadcast broadcast) {
+        DigestKey key = new DigestKey(broadcast.type(), broadcast.referenceType());
+        boolean[] opened = new boolean[1];
+        pending.compute(key, (k, digest) -> {
+            if (digest == null) {
+                // Leading edge: this one goes out now, followers wait for the window
+                opened[0] = true;
+                return new PendingDigest(System.nanoTime());
+            }
+            digest.broadcasts.add(broadcast);
+            return digest;
+        });
+        if (opened[0]) {
+            fanoutService.publish(broadcast);
+        }
+    }
+
+    // ==================== FLUSHING ====================
+
+    @Scheduled(fixedDelay = 1_000)
+    public void flushExpired() {
+        long windowNanos = properties.getDigestWindow().toNanos();
+        long now = System.nanoTime();
+        for (Map.Entry<DigestKey, PendingDigest> entry : pending.entrySet()) {
+            // remove(key, value) takes the same lock as enqueue(), so the list is complete once removed
+            if (now - entry.getValue().openedAt >= windowNanos && pending.remove(entry.getKey(), entry.getValue())) {
+                deliver(entry.getValue().broadcasts);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        for (Map.Entry<DigestKey, PendingDigest> entry : pending.entrySet()) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                deliver(entry.getValue().broadcasts);
+            }
+        }
+    }
+
+    private void deliver(List<NotificationBroadcast> broadcasts) {
+        if (broadcasts.isEmpty()) {
+            // Nothing followed the leading broadcast
+            return;
+        }
+        if (broadcasts.size() == 1) {
+            fanoutService.publish(broadcasts.get(0));
+            return;
+        }
+        NotificationBroadcast digest = digest(broadcasts);
+        log.debug("Coalesced {} {} notifications into one digest", broadcasts.size(), digest.type());
+        fanoutService.publish(digest);
+    }
+
+    private NotificationBroadcast digest(List<NotificationBroadcast> broadcasts) {
+        NotificationBroadcast latest = broadcasts.get(broadcasts.size() - 1);
+        int count = broadcasts.size();
+
+        String title = String.format("%d %s", count, DIGEST_TITLES.getOrDefault(latest.type(), "notifications"));
+
+        String message = broadcasts.stream()
+                .limit(PREVIEW_MESSAGES)
+                .map(NotificationBroadcast::message)
+                .collect(Collectors.joining("; "));
+        if (count > PREVIEW_MESSAGES) {
+            message += String.format(" and %d more", count - PREVIEW_MESSAGES);
+        }
+
+        String priority = broadcasts.stream()
+                .map(NotificationBroadcast::priority)
+                .max(Comparator.comparingInt(PRIORITIES::indexOf))
+                .orElse(latest.priority());
+
+        Set<String> referenceIds = new LinkedHashSet<>();
+        for (NotificationBroadcast broadcast : broadcasts) {
+            if (broadcast.referenceIds() != null) {
+                referenceIds.addAll(List.of(broadcast.referenceIds().split(",")));
+            } else if (broadcast.referenceId() != null) {
+                referenceIds.add(broadcast.referenceId());
+            }
+        }
+
+        return new NotificationBroadcast(latest.type(), title, message, latest.icon(), priority,
+                latest.referenceId(), latest.referenceType(), String.join(",", referenceIds), count,
+                latest.createdAt());
+    }
+
+    // ==================== INNER TYPES ====================
+
+    private record DigestKey(String type, String referenceType) {
+    }
+
+    private static final class PendingDigest {
+        private final long openedAt;
+        private final List<NotificationBroadcast> broadcasts = new ArrayList<>();
+
+        private PendingDigest(long openedAt) {
+            this.openedAt = openedAt;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.dto.NotificationBroadcast;
+import com.inventory.blockchain.dto.NotificationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers broadcast notifications off the request thread.
+ *
+ * A broadcast is queued once the caller's transaction commits, then written for all
+ * recipients with a single INSERT ... SELECT that applies each user's
+ * {@code NotificationPreference} in the database.
+ */
+@Service
+public class NotificationFanoutService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationFanoutService.class);
+
+    // Notification type -> notification_preferences column that opts a user out of it
+    private static final Map<String, String> PREFERENCE_COLUMNS = Map.of(
+            "TRANSFER", "transfer_updates",
+            "INVENTORY", "inventory_alerts",
+            "ORDER", "order_updates",
+            "SYSTEM", "system_alerts",
+            "ALERT", "system_alerts"
+    );
+
+    // Inserts the rows and bumps each recipient's unread counter in the same statement
+    private static final String INSERT_SQL = """
+            WITH inserted AS (
+                INSERT INTO notifications (user_id, type, title, message, icon, priority,
+                                           reference_id, reference_type, reference_ids, digest_count,
+                                           is_read, created_at)
+                SELECT u.id, ?, ?, ?, ?, ?, ?, ?, ?, ?, false, ?
+                FROM users u
+                LEFT JOIN notification_preferences p ON p.user_id = u.id
+                WHERE COALESCE(u.is_active, true) AND COALESCE(p.%s, true)
+                RETURNING id, user_id
+            ), counted AS (
+                INSERT INTO notification_counters (user_id, unread_count, updated_at)
+                SELECT user_id, COUNT(*), CURRENT_TIMESTAMP FROM inserted GROUP BY user_id
+                ORDER BY user_id -- same lock order as counter reconciliation
+                ON CONFLICT (user_id) DO UPDATE SET
+                    unread_count = notification_counters.unread_count + EXCLUDED.unread_count,
+                    updated_at = CURRENT_TIMESTAMP
+            )
+            SELECT id, user_id FROM inserted
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final NotificationStreamService streamService;
+    private final UnreadCounterService unreadCounterService;
+
+    public NotificationFanoutService(JdbcTemplate jdbcTemplate,
+                                     @Qualifier("notificationFanoutExecutor") ThreadPoolTaskExecutor executor,
+                                     NotificationStreamService streamService,
+                                     UnreadCounterService unreadCounterService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.executor = executor;
+        this.streamService = streamService;
+        this.unreadCounterService = unreadCounterService;
+    }
+
+    /**
+     * Queue a broadcast. Inside a transaction it is only queued after commit, so a
+     * rolled back change never notifies anyone.
+     */
+    public void publish(NotificationBroadcast broadcast) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(broadcast);
+                }
+            });
+        } else {
+            submit(broadcast);
+        }
+    }
+
+    private void submit(NotificationBroadcast broadcast) {
+        executor.execute(() -> deliver(broadcast));
+    }
+
+    private void deliver(NotificationBroadcast broadcast) {
+        String preferenceColumn = PREFERENCE_COLUMNS.getOrDefault(broadcast.type(), "system_alerts");
+        try {
+            List<long[]> recipients = jdbcTemplate.query(String.format(INSERT_SQL, preferenceColumn),
+                    (rs, rowNum) -> new long[] { rs.getLong("id"), rs.getLong("user_id") },
+                    broadcast.type(),
+                    broadcast.title(),
+                    broadcast.message(),
+                    broadcast.icon(),
+                    broadcast.priority(),
+                    broadcast.referenceId(),
+                    broadcast.referenceType(),
+                    broadcast.referenceIds(),
+                    broadcast.digestCount(),
+                    Timestamp.from(broadcast.createdAt().toInstant()));
+            Map<Long, Long> increments = new HashMap<>();
+            for (long[] row : recipients) {
+                increments.merge(row[1], 1L, Long::sum);
+            }
+            unreadCounterService.applyCommittedIncrements(increments);
+            Map<Long, NotificationEvent> events = new HashMap<>();
+            for (long[] row : recipients) {
+                events.put(row[1], NotificationEvent.from(row[0], broadcast));
+            }
+            streamService.publishNotifications(events);
+            log.debug("Delivered {} notification '{}' to {} users", broadcast.type(), broadcast.title(), recipients.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to deliver {} notification '{}': {}", broadcast.type(), broadcast.title(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.config.NotificationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Applies the notification retention policy.
+ *
+ * On a partitioned table (see {@code db/notifications-partitioning.sql}) upcoming monthly
+ * partitions are created ahead of time and expired months are dropped or archived as
+ * whole partitions. On an unpartitioned table expired rows are deleted in batches.
+ */
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    private static final String TABLE = "notifications";
+    private static final String ARCHIVE_SCHEMA = "archive";
+    private static final int DELETE_BATCH_SIZE = 10_000;
+
+    private final TimePartitionManager partitionManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final UnreadCounterService unreadCounterService;
+    private final NotificationProperties properties;
+
+    public NotificationRetentionService(TimePartitionManager partitionManager,
+                                        JdbcTemplate jdbcTemplate,
+                                        UnreadCounterService unreadCounterService,
+                                        NotificationProperties properties) {
+        this.partitionManager = partitionManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.unreadCounterService = unreadCounterService;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createUpcomingPartitions() {
+        if (partitionManager.isPartitioned(TABLE)) {
+            partitionManager.ensureMonthlyPartitions(TABLE, properties.getPartitionsAhead());
+        }
+    }
+
+    @Scheduled(cron = "${notifications.retention-cron:0 30 3 * * *}")
+    public void applyRetention() {
+        // Keep the current month plus the configured number of full months before it
+        YearMonth cutoff = YearMonth.now(ZoneOffset.UTC).minusMonths(properties.getRetentionMonths());
+        log.info("Applying notification retention: keeping {} and later, mode={}", cutoff, properties.getRetentionMode());
+
+        long removed;
+        if (partitionManager.isPartitioned(TABLE)) {
+            partitionManager.ensureMonthlyPartitions(TABLE, properties.getPartitionsAhead());
+            removed = expirePartitions(cutoff);
+        } else {
+            removed = deleteInBatches(cutoff);
+        }
+
+        if (removed > 0) {
+            // Dropped rows may have been unread
+            unreadCounterService.reconcile();
+        }
+    }
+
+    private long expirePartitions(YearMonth cutoff) {
+        long count = 0;
+        for (String partition : partitionManager.partitionsBefore(TABLE, cutoff)) {
+            if (properties.getRetentionMode() == NotificationProperties.RetentionMode.ARCHIVE) {
+                partitionManager.archivePartition(TABLE, partition, ARCHIVE_SCHEMA);
+            } else {
+                partitionManager.dropPartition(partition);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private long deleteInBatches(YearMonth cutoff) {
+        if (properties.getRetentionMode() == NotificationProperties.RetentionMode.ARCHIVE) {
+            log.warn("Notification archiving requires the partitioned table; skipping retention");
+            return 0;
+        }
+        Timestamp before = Timestamp.from(cutoff.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC));
+        long total = 0;
+        int deleted;
+        do {
+            // Short batches keep locks and WAL bursts small on the live table
+            deleted = jdbcTemplate.update("""
+                    DELETE FROM notifications WHERE id IN (
+                        SELECT id FROM notifications WHERE created_at < ? LIMIT ?
+                    )
+                    """, before, DELETE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == DELETE_BATCH_SIZE);
+        log.info("Deleted {} notifications created before {}", total, cutoff);
+        return total;
+    }
+}
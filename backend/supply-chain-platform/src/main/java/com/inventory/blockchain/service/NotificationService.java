@@ -1,10 +1,16 @@
 package com.inventory.blockchain.service;
 
+import com.inventory.blockchain.dto.NotificationBroadcast;
+import com.inventory.blockchain.dto.NotificationEvent;
 import com.inventory.blockchain.entity.*;
 import com.inventory.blockchain.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
 
 @Service
 public class NotificationService {
@@ -12,11 +18,84 @@ public class NotificationService {
     private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
 
     private final NotificationRepository notificationRepository;
-    private final UserRepository userRepository;
-
-    public NotificationService(NotificationRepository notificationRepository, UserRepository userRepository) {
+    private final NotificationDigestService digestService;
+    private final NotificationStreamService streamService;
+    private final UnreadCounterService unreadCounterService;
+
+    public NotificationService(NotificationRepository notificationRepository,
+                               NotificationDigestService digestService,
+                               NotificationStreamService streamService,
+                               UnreadCounterService unreadCounterService) {
         this.notificationRepository = notificationRepository;
-        this.userRepository = userRepository;
+        this.digestService = digestService;
+        this.streamService = streamService;
+        this.unreadCounterService = unreadCounterService;
+    }
+
+    public long getUnreadCount(Long userId) {
+        return unreadCounterService.getUnreadCount(userId);
+    }
+
+    // ==================== SINGLE NOTIFICATIONS ====================
+
+    /**
+     * Store a notification for one user and push it to their open streams.
+     */
+    @Transactional
+    public Notification createNotification(Notification notification) {
+        Notification saved = notificationRepository.save(notification);
+        if (saved.getUserId() != null) {
+            if (!Boolean.TRUE.equals(saved.getIsRead())) {
+                unreadCounterService.add(saved.getUserId(), 1);
+            }
+            streamService.publishNotification(saved.getUserId(), NotificationEvent.from(saved));
+        }
+        return saved;
+    }
+
+    @Transactional
+    public Optional<Notification> markAsRead(Long id) {
+        return notificationRepository.findById(id).map(n -> {
+            // Only a row that was still unread changes the count
+            if (notificationRepository.markAsRead(id) > 0) {
+                n.setIsRead(true);
+                n.setReadAt(OffsetDateTime.now());
+                if (n.getUserId() != null) {
+                    unreadCounterService.add(n.getUserId(), -1);
+                    streamService.publishUnreadDelta(n.getUserId(), -1);
+                }
+            }
+            return n;
+        });
+    }
+
+    @Transactional
+    public int markAllAsRead(Long userId) {
+        int updated = notificationRepository.markAllAsReadByUserId(userId);
+        unreadCounterService.reset(userId, 0);
+        streamService.publishUnreadCount(userId, 0);
+        return updated;
+    }
+
+    @Transactional
+    public boolean deleteNotification(Long id) {
+        return notificationRepository.findById(id)
+            .map(n -> {
+                notificationRepository.delete(n);
+                if (!Boolean.TRUE.equals(n.getIsRead()) && n.getUserId() != null) {
+                    unreadCounterService.add(n.getUserId(), -1);
+                    streamService.publishUnreadDelta(n.getUserId(), -1);
+                }
+                return true;
+            })
+            .orElse(false);
+    }
+
+    @Transactional
+    public void clearAllNotifications(Long userId) {
+        notificationRepository.deleteByUserId(userId);
+        unreadCounterService.reset(userId, 0);
+        streamService.publishUnreadCount(userId, 0);
     }
 
     // ==================== TRANSFER NOTIFICATIONS ====================
@@ -129,7 +208,7 @@ public class NotificationService {
         notification.setMessage("You have successfully logged in.");
         notification.setIcon("👋");
         notification.setPriority("LOW");
-        notificationRepository.save(notification);
+        createNotification(notification);
     }
 
     public void notifySupplierAdded(Supplier supplier) {
@@ -149,20 +228,10 @@ public class NotificationService {
     private void createNotificationForAllAdmins(String type, String title, String message, 
             String icon, String priority, String referenceId, String referenceType) {
         
-        // Get all admin users (or you could notify all users)
-        userRepository.findAll().forEach(user -> {
-            // Check if user wants this type of notification (simplified - notify all for now)
-            Notification notification = new Notification();
-            notification.setUser(user);
-            notification.setType(type);
-            notification.setTitle(title);
-            notification.setMessage(message);
-            notification.setIcon(icon);
-            notification.setPriority(priority);
-            notification.setReferenceId(referenceId);
-            notification.setReferenceType(referenceType);
-            notificationRepository.save(notification);
-        });
+        // Bursts are merged into digests, then recipients and their preferences are
+        // resolved by the fan-out worker, off the request path
+        digestService.publish(new NotificationBroadcast(
+            type, title, message, icon, priority, referenceId, referenceType, OffsetDateTime.now()));
     }
 
     private String getStatusIcon(String status) {
@@ -0,0 +1,436 @@
+package com.inventory.blockchain.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.blockchain.config.NotificationProperties;
+import com.inventory.blockchain.dto.NotificationEvent;
+import com.inventory.blockchain.repository.NotificationRepository;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Notification bus feeding per-user Server-Sent Events streams.
+ *
+ * Two event types are sent: {@code notification} (id = notification id) and
+ * {@code unread} with either an absolute {@code unreadCount} or a {@code delta}.
+ * Changes are published with Postgres NOTIFY and every instance sends them to its own
+ * streams from a LISTEN connection, so a user sees changes made on any instance. NOTIFY
+ * is transactional: inside a transaction nothing is sent until commit, or at all on rollback.
+ * A reconnecting client passes Last-Event-ID; missed notifications are replayed from a
+ * small per-user buffer, or from the database when the buffer does not reach back far enough.
+ */
+@Service
+public class NotificationStreamService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    public static final String EVENT_NOTIFICATION = "notification";
+    public static final String EVENT_UNREAD = "unread";
+
+    private static final int MAX_DB_REPLAY = 100;
+
+    static final String CHANNEL = "notification_stream";
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, payload) FROM unnest(?::text[]) AS payload";
+
+    // Postgres rejects NOTIFY payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_BYTES = 7_900;
+
+    private static final int LISTEN_POLL_MILLIS = 1_000;
+    private static final long RECONNECT_DELAY_MILLIS = 5_000;
+
+    private final NotificationRepository notificationRepository;
+    private final UnreadCounterService unreadCounterService;
+    private final NotificationProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final Map<Long, ReplayBuffer> buffers = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private volatile Thread listenerThread;
+
+    public NotificationStreamService(NotificationRepository notificationRepository,
+                                     UnreadCounterService unreadCounterService,
+                                     NotificationProperties properties,
+                                     JdbcTemplate jdbcTemplate,
+                                     DataSource dataSource,
+                                     ObjectMapper objectMapper) {
+        this.notificationRepository = notificationRepository;
+        this.unreadCounterService = unreadCounterService;
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+    }
+
+    // ==================== SUBSCRIPTIONS ====================
+
+    /**
+     * Open a stream for a user, replaying anything after {@code lastEventId} and then
+     * sending the current unread count.
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        // Buffer first, so nothing published from here on can fall between buffer and replay
+        ReplayBuffer buffer = buffers.computeIfAbsent(userId,
+                id -> new ReplayBuffer(notificationRepository.findMaxId(), properties.getReplayBufferSize()));
+
+        Set<SseEmitter> userEmitters = emitters.computeIfAbsent(userId, id -> new CopyOnWriteArraySet<>());
+        userEmitters.add(emitter);
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+
+        try {
+            if (lastEventId != null) {
+                for (NotificationEvent event : missedSince(userId, lastEventId, buffer)) {
+                    emitter.send(notificationEvent(event));
+                }
+            }
+            long unread = unreadCounterService.getUnreadCount(userId);
+            emitter.send(SseEmitter.event().name(EVENT_UNREAD).data(Map.of("unreadCount", unread)));
+        } catch (IOException e) {
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+
+        log.debug("Notification stream opened: userId={}, lastEventId={}, openStreams={}",
+                userId, lastEventId, userEmitters.size());
+        return emitter;
+    }
+
+    private List<NotificationEvent> missedSince(Long userId, long lastEventId, ReplayBuffer buffer) {
+        Map<Long, NotificationEvent> missed = new LinkedHashMap<>();
+        if (!buffer.covers(lastEventId)) {
+            notificationRepository.findByUserIdAfter(userId, lastEventId, PageRequest.of(0, MAX_DB_REPLAY))
+                    .forEach(n -> missed.put(n.getId(), NotificationEvent.from(n)));
+        }
+        for (NotificationEvent event : buffer.since(lastEventId)) {
+            missed.putIfAbsent(event.id(), event);
+        }
+        List<NotificationEvent> ordered = new ArrayList<>(missed.values());
+        ordered.sort(Comparator.comparing(NotificationEvent::id));
+        return ordered;
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        Set<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters != null) {
+            userEmitters.remove(emitter);
+        }
+    }
+
+    public boolean isConnected(Long userId) {
+        Set<SseEmitter> userEmitters = emitters.get(userId);
+        return userEmitters != null && !userEmitters.isEmpty();
+    }
+
+    // ==================== PUBLISHING ====================
+
+    /**
+     * Push a newly stored notification and a +1 unread delta. Inside a transaction the
+     * push is deferred until commit.
+     */
+    public void publishNotification(Long userId, NotificationEvent event) {
+        publish(List.of(StreamMessage.notification(instanceId, userId, event)));
+    }
+
+    /**
+     * Same as {@link #publishNotification} for many users in one round trip, as written
+     * by the broadcast fan-out.
+     */
+    public void publishNotifications(Map<Long, NotificationEvent> eventsByUser) {
+        publish(eventsByUser.entrySet().stream()
+                .map(e -> StreamMessage.notification(instanceId, e.getKey(), e.getValue()))
+                .toList());
+    }
+
+    /**
+     * Push a change in the number of unread notifications (negative when read or deleted).
+     */
+    public void publishUnreadDelta(Long userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        publish(List.of(new StreamMessage(instanceId, userId, null, null, delta, null)));
+    }
+
+    /**
+     * Push an absolute unread count, e.g. after bulk changes where a delta is not known.
+     */
+    public void publishUnreadCount(Long userId, long unreadCount) {
+        publish(List.of(new StreamMessage(instanceId, userId, null, null, null, unreadCount)));
+    }
+
+    // Runs on the caller's transaction connection, if any, so Postgres holds it until commit
+    private void publish(List<StreamMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        String[] payloads = messages.stream().map(this::payload).toArray(String[]::new);
+        jdbcTemplate.query(NOTIFY_SQL, rs -> { }, CHANNEL, payloads);
+    }
+
+    private String payload(StreamMessage message) {
+        try {
+            String json = objectMapper.writeValueAsString(message);
+            if (message.notification() == null || json.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES) {
+                return json;
+            }
+            return objectMapper.writeValueAsString(message.withoutNotification());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize notification stream message", e);
+        }
+    }
+
+    // ==================== LOCAL DELIVERY ====================
+
+    private void receive(String payload) {
+        try {
+            StreamMessage message = objectMapper.readValue(payload, StreamMessage.class);
+            Long userId = message.userId();
+            if (!instanceId.equals(message.origin())) {
+                // The stored count changed on another instance; reload it on the next read
+                unreadCounterService.evict(userId);
+            }
+            if (message.notificationId() != null) {
+                deliverNotification(userId, message);
+            } else if (message.delta() != null) {
+                send(userId, SseEmitter.event().name(EVENT_UNREAD).data(Map.of("delta", message.delta())));
+            } else if (message.unreadCount() != null) {
+                send(userId, SseEmitter.event().name(EVENT_UNREAD).data(Map.of("unreadCount", message.unreadCount())));
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Dropped notification stream message {}: {}", payload, e.getMessage());
+        }
+    }
+
+    private void deliverNotification(Long userId, StreamMessage message) {
+        NotificationEvent event = message.notification();
+        if (event == null) {
+            // Too large to send inline
+            if (!buffers.containsKey(userId) && !isConnected(userId)) {
+                return;
+            }
+            event = notificationRepository.findById(message.notificationId()).map(NotificationEvent::from).orElse(null);
+            if (event == null) {
+                return;
+            }
+        }
+        NotificationEvent delivered = event;
+        // Waits for a buffer being created by subscribe(), so it cannot miss this event
+        buffers.computeIfPresent(userId, (id, buffer) -> {
+            buffer.add(delivered);
+            return buffer;
+        });
+        send(userId, notificationEvent(delivered));
+        if (!Boolean.TRUE.equals(delivered.isRead())) {
+            send(userId, SseEmitter.event().name(EVENT_UNREAD).data(Map.of("delta", 1)));
+        }
+    }
+
+    private SseEmitter.SseEventBuilder notificationEvent(NotificationEvent event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.id()))
+                .name(EVENT_NOTIFICATION)
+                .data(event);
+    }
+
+    private void send(Long userId, SseEmitter.SseEventBuilder event) {
+        Set<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : userEmitters) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container will also fire onError/onCompletion
+                remove(userId, emitter);
+            }
+        }
+    }
+
+    /**
+     * Comment-only heartbeat so proxies keep idle streams open and dead ones are detected.
+     */
+    @Scheduled(fixedDelay = 25_000)
+    public void heartbeat() {
+        for (Map.Entry<Long, Set<SseEmitter>> entry : emitters.entrySet()) {
+            send(entry.getKey(), SseEmitter.event().comment("ping"));
+        }
+        emitters.values().removeIf(Set::isEmpty);
+    }
+
+    // ==================== LISTENER ====================
+
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnect) {
+                    resetStreams();
+                }
+                log.info("Listening for notification stream events on '{}'", CHANNEL);
+                while (running) {
+                    PGNotification[] received = pgConnection.getNotifications(LISTEN_POLL_MILLIS);
+                    if (received != null) {
+                        for (PGNotification notification : received) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Notification stream listener failed, retrying in {} ms: {}", RECONNECT_DELAY_MILLIS, e.getMessage());
+                reconnect = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Events sent while the listener was down never reached this instance. Drop the replay
+     * buffers and cached counts and close the open streams; clients reconnect with
+     * Last-Event-ID and are replayed from the database.
+     */
+    private void resetStreams() {
+        buffers.clear();
+        unreadCounterService.evictAll();
+        for (Set<SseEmitter> userEmitters : emitters.values()) {
+            userEmitters.forEach(SseEmitter::complete);
+        }
+        emitters.clear();
+    }
+
+    // ==================== LIFECYCLE ====================
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::listen, "notification-stream-listener");
+        thread.setDaemon(true);
+        listenerThread = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = listenerThread;
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join(LISTEN_POLL_MILLIS * 5L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Listen before the web server accepts streams, and keep listening until it has stopped.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    // ==================== INNER TYPES ====================
+
+    /**
+     * One stream change as sent over NOTIFY. {@code notification} is left out (and loaded
+     * by id on delivery) when it would not fit in a NOTIFY payload.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record StreamMessage(String origin, Long userId, Long notificationId, NotificationEvent notification,
+                         Long delta, Long unreadCount) {
+
+        static StreamMessage notification(String origin, Long userId, NotificationEvent event) {
+            return new StreamMessage(origin, userId, event.id(), event, null, null);
+        }
+
+        StreamMessage withoutNotification() {
+            return new StreamMessage(origin, userId, notificationId, null, delta, unreadCount);
+        }
+    }
+
+    /**
+     * Last few notifications for one user. Every notification with an id above
+     * {@code completeAfter} that was published since the buffer was created is either
+     * still here or has been evicted (which moves {@code completeAfter} up).
+     */
+    private static final class ReplayBuffer {
+        private final ArrayDeque<NotificationEvent> events = new ArrayDeque<>();
+        private final int capacity;
+        private long completeAfter;
+
+        private ReplayBuffer(long completeAfter, int capacity) {
+            this.completeAfter = completeAfter;
+            this.capacity = capacity;
+        }
+
+        private synchronized void add(NotificationEvent event) {
+            if (events.size() >= capacity) {
+                NotificationEvent evicted = events.removeFirst();
+                completeAfter = Math.max(completeAfter, evicted.id());
+            }
+            events.addLast(event);
+        }
+
+        private synchronized boolean covers(long lastEventId) {
+            return lastEventId >= completeAfter;
+        }
+
+        private synchronized List<NotificationEvent> since(long lastEventId) {
+            return events.stream().filter(e -> e.id() > lastEventId).toList();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.config.AuthProperties;
+import com.inventory.blockchain.exception.ServiceBusyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * BCrypt hashing and verification on the bounded {@code passwordHashingExecutor}.
+ *
+ * New hashes use {@code auth.bcrypt-cost}; {@link #needsRehash} tells whether a stored hash
+ * was made with a lower cost so callers can upgrade it after a successful login.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final AuthProperties properties;
+
+    public PasswordHashingService(AuthProperties properties,
+                                  @Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor executor) {
+        this.encoder = new BCryptPasswordEncoder(properties.getBcryptCost());
+        this.executor = executor;
+        this.properties = properties;
+    }
+
+    public String encode(String rawPassword) {
+        return await(() -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String passwordHash) {
+        if (rawPassword == null || passwordHash == null) {
+            return false;
+        }
+        return await(() -> encoder.matches(rawPassword, passwordHash));
+    }
+
+    /**
+     * Hash in the background, e.g. to upgrade a stored hash without delaying the response.
+     * Completes exceptionally when the pool is saturated.
+     */
+    public CompletableFuture<String> encodeAsync(String rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> encoder.encode(rawPassword), executor);
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public boolean needsRehash(String passwordHash) {
+        return passwordHash != null && encoder.upgradeEncoding(passwordHash);
+    }
+
+    private <T> T await(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (TaskRejectedException e) {
+            log.warn("Password hashing pool saturated: active={}, queued={}",
+                    executor.getActiveCount(), executor.getQueueSize());
+            throw new ServiceBusyException("Too many concurrent sign-ins, please retry shortly");
+        }
+        try {
+            return future.get(properties.getHashingTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceBusyException("Password check timed out, please retry shortly");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.entity.Permission;
+import com.inventory.blockchain.repository.PermissionRepository;
+import com.inventory.blockchain.repository.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory role → permission mapping used for authorization checks and role responses.
+ *
+ * Permission codes are interned to small integer bits and each role holds a {@link BitSet},
+ * so a check is a single bit test. Bit positions are internal to one snapshot and never leave
+ * it. The whole mapping is an immutable snapshot built from two queries; role changes bump
+ * the version after commit and the next read rebuilds it.
+ */
+@Service
+public class PermissionCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PermissionCache.class);
+
+    private final RoleRepository roleRepository;
+    private final PermissionRepository permissionRepository;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public PermissionCache(RoleRepository roleRepository, PermissionRepository permissionRepository) {
+        this.roleRepository = roleRepository;
+        this.permissionRepository = permissionRepository;
+    }
+
+    // ==================== LOOKUPS ====================
+
+    /**
+     * Whether a role grants a permission code; false for an unknown role or code.
+     */
+    public boolean hasPermission(Long roleId, String permissionCode) {
+        if (roleId == null || permissionCode == null) {
+            return false;
+        }
+        Snapshot current = current();
+        Integer bit = current.bitByCode.get(permissionCode);
+        BitSet granted = current.bitsByRole.get(roleId);
+        return bit != null && granted != null && granted.get(bit);
+    }
+
+    /**
+     * Permission codes of a role, sorted; empty for an unknown role.
+     */
+    public Set<String> permissionCodes(Long roleId) {
+        if (roleId == null) {
+            return Set.of();
+        }
+        return current().codesByRole.getOrDefault(roleId, Set.of());
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    // ==================== INVALIDATION ====================
+
+    /**
+     * Drop the snapshot once the caller's transaction commits, so the rebuild sees the change.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict();
+                }
+            });
+        } else {
+            evict();
+        }
+    }
+
+    private void evict() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    // ==================== LOADING ====================
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && current.version == version.get()) {
+            return current;
+        }
+        return reload();
+    }
+
+    private synchronized Snapshot reload() {
+        long loadingVersion = version.get();
+        Snapshot current = snapshot;
+        if (current != null && current.version == loadingVersion) {
+            return current;
+        }
+
+        List<Permission> permissions = permissionRepository.findAll(Sort.by("id"));
+        Map<Long, Integer> bitById = new HashMap<>();
+        Map<String, Integer> bitByCode = new HashMap<>();
+        String[] codeByBit = new String[permissions.size()];
+        for (int bit = 0; bit < permissions.size(); bit++) {
+            Permission permission = permissions.get(bit);
+            bitById.put(permission.getId(), bit);
+            bitByCode.put(permission.getCode(), bit);
+            codeByBit[bit] = permission.getCode();
+        }
+
+        Map<Long, BitSet> bitsByRole = new HashMap<>();
+        roleRepository.findAllIds().forEach(roleId -> bitsByRole.put(roleId, new BitSet(codeByBit.length)));
+        for (Object[] row : roleRepository.findRolePermissionIds()) {
+            Integer bit = bitById.get((Long) row[1]);
+            if (bit != null) {
+                bitsByRole.computeIfAbsent((Long) row[0], id -> new BitSet(codeByBit.length)).set(bit);
+            }
+        }
+
+        Map<Long, Set<String>> codesByRole = new HashMap<>();
+        bitsByRole.forEach((roleId, bits) -> {
+            Set<String> codes = new TreeSet<>();
+            bits.stream().forEach(bit -> codes.add(codeByBit[bit]));
+            codesByRole.put(roleId, Collections.unmodifiableSet(codes));
+        });
+
+        Snapshot loaded = new Snapshot(loadingVersion, Map.copyOf(bitByCode), Map.copyOf(bitsByRole),
+                Map.copyOf(codesByRole));
+        // An invalidation during the load means the rows read may already be stale; serve but don't keep them
+        if (version.get() == loadingVersion) {
+            snapshot = loaded;
+        }
+        log.debug("Loaded permission cache: version={}, roles={}, permissions={}",
+                loadingVersion, bitsByRole.size(), codeByBit.length);
+        return loaded;
+    }
+
+    // ==================== INNER TYPES ====================
+
+    private record Snapshot(
+            long version,
+            Map<String, Integer> bitByCode,
+            Map<Long, BitSet> bitsByRole,
+            Map<Long, Set<String>> codesByRole
+    ) {
+    }
+}
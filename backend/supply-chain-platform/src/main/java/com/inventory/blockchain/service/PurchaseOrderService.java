@@ -0,0 +1,136 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.entity.PurchaseOrder;
+import com.inventory.blockchain.entity.PurchaseOrderItem;
+import com.inventory.blockchain.repository.PurchaseOrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Purchase order status changes. The order row is locked for the change, so concurrent or
+ * retried requests apply it once, and orders only move forward through
+ * {@link #LIFECYCLE} (or to CANCELLED) so a delivery is never recorded twice.
+ */
+@Service
+public class PurchaseOrderService {
+
+    private static final Logger log = LoggerFactory.getLogger(PurchaseOrderService.class);
+
+    public static final String STATUS_DRAFT = "DRAFT";
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_CONFIRMED = "CONFIRMED";
+    public static final String STATUS_SHIPPED = "SHIPPED";
+    public static final String STATUS_DELIVERED = "DELIVERED";
+    public static final String STATUS_CANCELLED = "CANCELLED";
+
+    // Forward order of the non-cancelled statuses; steps may be skipped but not undone
+    private static final List<String> LIFECYCLE = List.of(
+            STATUS_DRAFT, STATUS_PENDING, STATUS_CONFIRMED, STATUS_SHIPPED, STATUS_DELIVERED);
+
+    private static final int DEFAULT_LEAD_TIME_DAYS = 7;
+
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final SupplierPerformanceService performanceService;
+
+    public PurchaseOrderService(PurchaseOrderRepository purchaseOrderRepository,
+                                SupplierPerformanceService performanceService) {
+        this.purchaseOrderRepository = purchaseOrderRepository;
+        this.performanceService = performanceService;
+    }
+
+    /**
+     * Move an order to a new status. {@code received} (SKU to quantity) is only used on
+     * delivery; see {@link #receiveItems}.
+     *
+     * @return the updated order, or empty if it does not exist
+     * @throws IllegalArgumentException for an unknown status
+     * @throws IllegalStateException    for a transition that is not allowed
+     */
+    @Transactional
+    public Optional<PurchaseOrder> changeStatus(Long id, String newStatus, Map<?, ?> received) {
+        if (!STATUS_CANCELLED.equals(newStatus) && !LIFECYCLE.contains(newStatus)) {
+            throw new IllegalArgumentException("Invalid status: " + newStatus +
+                    ". Valid statuses are: " + LIFECYCLE + " and " + STATUS_CANCELLED);
+        }
+
+        // Locked until commit: a concurrent change waits here and then sees the new status
+        Optional<PurchaseOrder> found = purchaseOrderRepository.findByIdForUpdate(id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        PurchaseOrder order = found.get();
+        String currentStatus = order.getStatus();
+        validateTransition(currentStatus, newStatus);
+
+        SupplierPerformanceService.Snapshot before = SupplierPerformanceService.Snapshot.of(order);
+        order.setStatus(newStatus);
+
+        if (STATUS_DRAFT.equals(currentStatus)
+                && (STATUS_PENDING.equals(newStatus) || STATUS_CONFIRMED.equals(newStatus))) {
+            submit(order);
+        }
+
+        if (STATUS_DELIVERED.equals(newStatus)) {
+            order.setActualDelivery(LocalDate.now());
+            receiveItems(order, received);
+        }
+
+        PurchaseOrder saved = performanceService.save(order, before);
+        log.info("Purchase order status updated: id={}, oldStatus={}, newStatus={}", id, currentStatus, newStatus);
+        return Optional.of(saved);
+    }
+
+    private void validateTransition(String currentStatus, String newStatus) {
+        int from = LIFECYCLE.indexOf(currentStatus);
+        boolean terminal = STATUS_CANCELLED.equals(currentStatus) || STATUS_DELIVERED.equals(currentStatus);
+        boolean valid = !terminal && (STATUS_CANCELLED.equals(newStatus) || LIFECYCLE.indexOf(newStatus) > from);
+        if (!valid) {
+            throw new IllegalStateException(
+                    "Invalid status transition from " + currentStatus + " to " + newStatus);
+        }
+    }
+
+    /**
+     * Sending the order to the supplier starts its lead time. A draft may have sat for days,
+     * so its expected delivery is moved to today plus the lead time it was drafted with
+     * (or the supplier's lead time if it had none).
+     */
+    private void submit(PurchaseOrder order) {
+        order.setOrderDate(OffsetDateTime.now());
+        LocalDate today = LocalDate.now();
+        long leadTimeDays;
+        if (order.getExpectedDelivery() != null && order.getCreatedAt() != null) {
+            leadTimeDays = Math.max(0, ChronoUnit.DAYS.between(order.getCreatedAt().toLocalDate(), order.getExpectedDelivery()));
+        } else {
+            Integer supplierLeadTime = order.getSupplier().getLeadTimeDays();
+            leadTimeDays = supplierLeadTime != null ? supplierLeadTime : DEFAULT_LEAD_TIME_DAYS;
+        }
+        order.setExpectedDelivery(today.plusDays(leadTimeDays));
+    }
+
+    /**
+     * Record received quantities on delivery. {@code received} maps SKU to quantity and,
+     * when given, is the whole receipt: lines it leaves out were not received. Without
+     * it every line is taken as received in full.
+     */
+    private void receiveItems(PurchaseOrder order, Map<?, ?> received) {
+        for (PurchaseOrderItem item : order.getItems()) {
+            if (received == null) {
+                item.setReceivedQty(item.getQuantity());
+            } else if (received.get(item.getSku()) instanceof Number qty) {
+                item.setReceivedQty(Math.max(0, qty.intValue()));
+            } else {
+                item.setReceivedQty(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.config.ReorderProperties;
+import com.inventory.blockchain.dto.ReorderRunResult;
+import com.inventory.blockchain.dto.StockLevel;
+import com.inventory.blockchain.dto.SupplierOffer;
+import com.inventory.blockchain.entity.PurchaseOrder;
+import com.inventory.blockchain.entity.PurchaseOrderItem;
+import com.inventory.blockchain.entity.Supplier;
+import com.inventory.blockchain.repository.InventoryRepository;
+import com.inventory.blockchain.repository.PurchaseOrderRepository;
+import com.inventory.blockchain.repository.SupplierRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Builds draft purchase orders for low stock.
+ *
+ * The candidates are the rows {@link LowStockMonitor} already tracks, so a run never scans
+ * the inventory table. Each SKU is sourced from {@link SourcingIndex#best}: the cheapest
+ * preferred active supplier, otherwise the cheapest one. Quantities top stock up to
+ * {@code minStock * targetMultiplier}, minus what open orders to the location still
+ * bring, and respect the supplier's minimum order quantity.
+ *
+ * Locations are planned in parallel. Each location gets one transaction holding its row
+ * in {@code reorder_locks}, so two instances never order the same stock twice. Inside it,
+ * one draft order is created per supplier, shipping to the location.
+ */
+@Service
+public class ReorderService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReorderService.class);
+
+    // The row is created on first use; an insert racing another waits for it to commit
+    private static final String CREATE_LOCK_SQL =
+            "INSERT INTO reorder_locks (location) VALUES (?) ON CONFLICT DO NOTHING";
+    private static final String TRY_LOCK_SQL =
+            "SELECT location FROM reorder_locks WHERE location = ? FOR UPDATE SKIP LOCKED";
+    private static final List<String> OPEN_STATUSES = List.of("DRAFT", "PENDING", "CONFIRMED", "SHIPPED");
+
+    private final LowStockMonitor lowStockMonitor;
+    private final InventoryRepository inventoryRepository;
+    private final SupplierRepository supplierRepository;
+    private final SourcingIndex sourcingIndex;
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final CodeSequenceService codeSequenceService;
+    private final NotificationService notificationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ThreadPoolTaskExecutor reorderExecutor;
+    private final TransactionTemplate locationTransaction;
+    private final ReorderProperties properties;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ReorderService(LowStockMonitor lowStockMonitor,
+                          InventoryRepository inventoryRepository,
+                          SupplierRepository supplierRepository,
+                          SourcingIndex sourcingIndex,
+                          PurchaseOrderRepository purchaseOrderRepository,
+                          CodeSequenceService codeSequenceService,
+                          NotificationService notificationService,
+                          JdbcTemplate jdbcTemplate,
+                          ThreadPoolTaskExecutor reorderExecutor,
+                          PlatformTransactionManager transactionManager,
+                          ReorderProperties properties) {
+        this.lowStockMonitor = lowStockMonitor;
+        this.inventoryRepository = inventoryRepository;
+        this.supplierRepository = supplierRepository;
+        this.sourcingIndex = sourcingIndex;
+        this.purchaseOrderRepository = purchaseOrderRepository;
+        this.codeSequenceService = codeSequenceService;
+        this.notificationService = notificationService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.reorderExecutor = reorderExecutor;
+        this.locationTransaction = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${reorder.cron:0 0 5 * * *}")
+    public void scheduledRun() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        ReorderRunResult result = run();
+        log.info("Scheduled reorder run: {} orders, {} lines, {} unsourced SKUs",
+                result.ordersCreated(), result.linesCreated(), result.unsourcedSkus().size());
+    }
+
+    /**
+     * Plan every location with low stock and create the draft orders.
+     */
+    public ReorderRunResult run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A reorder run is already in progress");
+        }
+        try {
+            Map<String, Set<String>> skusByLocation = new TreeMap<>();
+            Set<String> allSkus = new TreeSet<>();
+            Set<LowStockMonitor.StockKey> lowStock = lowStockMonitor.getLowStockKeys();
+            for (LowStockMonitor.StockKey key : lowStock) {
+                skusByLocation.computeIfAbsent(key.location(), l -> new TreeSet<>()).add(key.sku());
+                allSkus.add(key.sku());
+            }
+            if (allSkus.isEmpty()) {
+                return new ReorderRunResult(0, 0, 0, 0, List.of(), List.of(), List.of());
+            }
+
+            Map<String, SupplierOffer> offers = sourcingIndex.best(allSkus);
+
+            List<CompletableFuture<LocationPlan>> plans = new ArrayList<>();
+            for (Map.Entry<String, Set<String>> entry : skusByLocation.entrySet()) {
+                plans.add(CompletableFuture.supplyAsync(
+                        () -> planLocation(entry.getKey(), entry.getValue(), offers), reorderExecutor));
+            }
+
+            List<String> poNumbers = new ArrayList<>();
+            Set<String> unsourced = new TreeSet<>();
+            List<String> skipped = new ArrayList<>();
+            int lines = 0;
+            for (CompletableFuture<LocationPlan> future : plans) {
+                LocationPlan plan = future.join();
+                poNumbers.addAll(plan.poNumbers());
+                unsourced.addAll(plan.unsourcedSkus());
+                lines += plan.lines();
+                if (plan.skipped()) {
+                    skipped.add(plan.location());
+                }
+            }
+            return new ReorderRunResult(lowStock.size(), skusByLocation.size() - skipped.size(),
+                    poNumbers.size(), lines, poNumbers, List.copyOf(unsourced), skipped);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // ==================== PLANNING ====================
+
+    private LocationPlan planLocation(String location, Set<String> skus, Map<String, SupplierOffer> offers) {
+        try {
+            return locationTransaction.execute(status -> {
+                jdbcTemplate.update(CREATE_LOCK_SQL, location);
+                if (jdbcTemplate.queryForList(TRY_LOCK_SQL, String.class, location).isEmpty()) {
+                    log.info("Skipping reorder for {}: planned by another instance", location);
+                    return LocationPlan.skipped(location);
+                }
+                return createOrders(location, skus, offers);
+            });
+        } catch (RuntimeException e) {
+            log.error("Reorder planning failed for {}: {}", location, e.getMessage(), e);
+            return LocationPlan.skipped(location);
+        }
+    }
+
+    private LocationPlan createOrders(String location, Set<String> skus, Map<String, SupplierOffer> offers) {
+        // Re-read inside the lock: stock or open orders may have changed since the snapshot
+        List<StockLevel> levels = inventoryRepository.findStockLevels(skus, List.of(location)).stream()
+                .filter(level -> location.equals(level.location()) && level.isLowStock())
+                .toList();
+        Map<String, Long> onOrder = new HashMap<>();
+        for (Object[] row : purchaseOrderRepository.sumOpenQuantityBySku(location, skus, OPEN_STATUSES)) {
+            onOrder.put((String) row[0], ((Number) row[1]).longValue());
+        }
+
+        Map<Long, List<PurchaseOrderItem>> itemsBySupplier = new LinkedHashMap<>();
+        Map<Long, SupplierOffer> supplierOffers = new HashMap<>();
+        Set<String> unsourced = new TreeSet<>();
+        for (StockLevel level : levels) {
+            long target = new BigDecimal(level.minStock()).multiply(properties.getTargetMultiplier())
+                    .setScale(0, RoundingMode.CEILING).longValue();
+            long needed = target - level.quantity() - onOrder.getOrDefault(level.sku(), 0L);
+            if (needed <= 0) {
+                continue;
+            }
+            SupplierOffer offer = offers.get(level.sku());
+            if (offer == null) {
+                unsourced.add(level.sku());
+                continue;
+            }
+            int quantity = (int) Math.max(needed, offer.minOrderQty());
+            itemsBySupplier.computeIfAbsent(offer.supplierId(), id -> new ArrayList<>())
+                    .add(new PurchaseOrderItem(level.sku(), quantity, offer.unitCost()));
+            supplierOffers.putIfAbsent(offer.supplierId(), offer);
+        }
+        if (itemsBySupplier.isEmpty()) {
+            return new LocationPlan(location, List.of(), 0, unsourced, false);
+        }
+
+        Map<Long, Supplier> suppliers = new HashMap<>();
+        supplierRepository.findAllById(itemsBySupplier.keySet()).forEach(s -> suppliers.put(s.getId(), s));
+
+        List<PurchaseOrder> orders = new ArrayList<>();
+        int lines = 0;
+        for (Map.Entry<Long, List<PurchaseOrderItem>> entry : itemsBySupplier.entrySet()) {
+            Supplier supplier = suppliers.get(entry.getKey());
+            if (supplier == null) {
+                // Removed since the sourcing index last saw it
+                entry.getValue().forEach(item -> unsourced.add(item.getSku()));
+                continue;
+            }
+            PurchaseOrder order = new PurchaseOrder();
+            order.setPoNumber(codeSequenceService.nextCode(CodeSequenceService.CodeType.PURCHASE_ORDER));
+            order.setSupplier(supplier);
+            order.setStatus("DRAFT");
+            order.setShippingAddress(location);
+            order.setDestinationLocation(location);
+            order.setExpectedDelivery(LocalDate.now().plusDays(supplierOffers.get(entry.getKey()).leadTimeDays()));
+            order.setNotes("Generated by the reorder engine for low stock at " + location);
+            entry.getValue().forEach(order::addItem);
+            order.setTax(order.getSubtotal().multiply(properties.getTaxRate()).setScale(2, RoundingMode.HALF_UP));
+            order.recalculateTotals();
+            orders.add(order);
+            lines += entry.getValue().size();
+        }
+        List<PurchaseOrder> saved = purchaseOrderRepository.saveAll(orders);
+        log.info("Reorder for {}: {} draft orders, {} lines", location, saved.size(), lines);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                saved.forEach(notificationService::notifyOrderCreated);
+            }
+        });
+        return new LocationPlan(location, saved.stream().map(PurchaseOrder::getPoNumber).toList(), lines, unsourced, false);
+    }
+
+    // ==================== INNER TYPES ====================
+
+    private record LocationPlan(String location, List<String> poNumbers, int lines, Set<String> unsourcedSkus, boolean skipped) {
+        private static LocationPlan skipped(String location) {
+            return new LocationPlan(location, List.of(), 0, Set.of(), true);
+        }
+    }
+}
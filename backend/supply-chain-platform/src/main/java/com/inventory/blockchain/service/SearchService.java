@@ -0,0 +1,165 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.dto.SearchSuggestion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Typeahead search over products, suppliers and documents.
+ *
+ * Matching is a case-insensitive substring test backed by pg_trgm GIN indexes on the
+ * lower-cased columns, so it does not scan the tables. One- and two-character input is
+ * matched as a prefix only, which the trigram index can still serve. Results are the top
+ * {@code limit} per type: prefix matches first, then by trigram similarity.
+ */
+@Service
+public class SearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    public static final String TYPE_PRODUCT = "PRODUCT";
+    public static final String TYPE_SUPPLIER = "SUPPLIER";
+    public static final String TYPE_DOCUMENT = "DOCUMENT";
+
+    public static final int MAX_LIMIT = 50;
+    private static final int MIN_SUBSTRING_LENGTH = 3;
+
+    private static final List<String> TRIGRAM_INDEXES = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_inventory_product_name_trgm ON inventory USING gin (lower(product_name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_inventory_sku_trgm ON inventory USING gin (lower(sku) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_suppliers_name_trgm ON suppliers USING gin (lower(name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_suppliers_code_trgm ON suppliers USING gin (lower(supplier_code) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_documents_name_trgm ON documents USING gin (lower(name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_documents_code_trgm ON documents USING gin (lower(document_code) gin_trgm_ops)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public SearchService(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareIndexes() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            TRIGRAM_INDEXES.forEach(jdbcTemplate::execute);
+        } catch (RuntimeException e) {
+            log.error("Could not create trigram search indexes: {}", e.getMessage());
+        }
+    }
+
+    // ==================== SEARCH ====================
+
+    /**
+     * Products grouped by SKU across locations, matched on product name or SKU.
+     */
+    public List<SearchSuggestion> searchProducts(String query, int limit) {
+        MapSqlParameterSource params = params(query, limit);
+        if (params == null) {
+            return List.of();
+        }
+        return namedJdbcTemplate.query("""
+                SELECT sku, MIN(product_name) AS product_name, SUM(quantity) AS quantity, COUNT(*) AS locations,
+                       MAX(CASE WHEN lower(sku) LIKE :prefix OR lower(product_name) LIKE :prefix THEN 1 ELSE 0 END
+                           + GREATEST(similarity(lower(product_name), :query), similarity(lower(sku), :query))) AS score
+                FROM inventory
+                WHERE lower(product_name) LIKE :pattern OR lower(sku) LIKE :pattern
+                GROUP BY sku
+                ORDER BY score DESC, sku
+                LIMIT :limit
+                """, params, (rs, i) -> new SearchSuggestion(
+                        TYPE_PRODUCT,
+                        rs.getString("sku"),
+                        rs.getString("sku"),
+                        rs.getString("product_name"),
+                        rs.getLong("quantity") + " units at " + rs.getInt("locations") + " location(s)",
+                        rs.getDouble("score")));
+    }
+
+    public List<SearchSuggestion> searchSuppliers(String query, int limit) {
+        MapSqlParameterSource params = params(query, limit);
+        if (params == null) {
+            return List.of();
+        }
+        return namedJdbcTemplate.query("""
+                SELECT id, supplier_code, name, city, country,
+                       CASE WHEN lower(supplier_code) LIKE :prefix OR lower(name) LIKE :prefix THEN 1 ELSE 0 END
+                           + GREATEST(similarity(lower(name), :query), similarity(lower(supplier_code), :query)) AS score
+                FROM suppliers
+                WHERE lower(name) LIKE :pattern OR lower(supplier_code) LIKE :pattern
+                ORDER BY score DESC, name
+                LIMIT :limit
+                """, params, (rs, i) -> new SearchSuggestion(
+                        TYPE_SUPPLIER,
+                        String.valueOf(rs.getLong("id")),
+                        rs.getString("supplier_code"),
+                        rs.getString("name"),
+                        location(rs.getString("city"), rs.getString("country")),
+                        rs.getDouble("score")));
+    }
+
+    public List<SearchSuggestion> searchDocuments(String query, int limit) {
+        MapSqlParameterSource params = params(query, limit);
+        if (params == null) {
+            return List.of();
+        }
+        return namedJdbcTemplate.query("""
+                SELECT id, document_code, name, category,
+                       CASE WHEN lower(document_code) LIKE :prefix OR lower(name) LIKE :prefix THEN 1 ELSE 0 END
+                           + GREATEST(similarity(lower(name), :query), similarity(lower(document_code), :query)) AS score
+                FROM documents
+                WHERE (lower(name) LIKE :pattern OR lower(document_code) LIKE :pattern)
+                  AND status <> 'DELETED'
+                ORDER BY score DESC, name
+                LIMIT :limit
+                """, params, (rs, i) -> new SearchSuggestion(
+                        TYPE_DOCUMENT,
+                        String.valueOf(rs.getLong("id")),
+                        rs.getString("document_code"),
+                        rs.getString("name"),
+                        rs.getString("category"),
+                        rs.getDouble("score")));
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    /**
+     * @return query parameters, or null when the input is too short to search
+     */
+    private static MapSqlParameterSource params(String query, int limit) {
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        String escaped = escapeLike(normalized);
+        String prefix = escaped + "%";
+        String pattern = normalized.length() < MIN_SUBSTRING_LENGTH ? prefix : "%" + escaped + "%";
+        return new MapSqlParameterSource()
+                .addValue("query", normalized)
+                .addValue("prefix", prefix)
+                .addValue("pattern", pattern)
+                .addValue("limit", Math.min(Math.max(limit, 1), MAX_LIMIT));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static String location(String city, String country) {
+        if (city == null) {
+            return country;
+        }
+        return country == null ? city : city + ", " + country;
+    }
+}
@@ -0,0 +1,190 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.dto.SupplierOffer;
+import com.inventory.blockchain.repository.SupplierProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory map from SKU to the offers of active suppliers, cheapest first.
+ *
+ * Loaded in one projection query at startup and rebuilt hourly to pick up changes made
+ * outside the application. Supplier and supplier-product changes refresh only the
+ * affected SKUs after commit. Reads never touch the database; writers are serialized
+ * and replace a SKU's offer array as a whole, so readers always see a consistent one.
+ */
+@Service
+public class SourcingIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SourcingIndex.class);
+
+    private static final SupplierOffer[] NO_OFFERS = new SupplierOffer[0];
+
+    static final Comparator<SupplierOffer> BY_COST = Comparator.comparing(SupplierOffer::unitCost)
+            .thenComparing(SupplierOffer::leadTimeDays)
+            .thenComparing(SupplierOffer::supplierId);
+
+    private final SupplierProductRepository supplierProductRepository;
+
+    private final Map<String, SupplierOffer[]> offersBySku = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> skusBySupplier = new ConcurrentHashMap<>();
+
+    public SourcingIndex(SupplierProductRepository supplierProductRepository) {
+        this.supplierProductRepository = supplierProductRepository;
+    }
+
+    // ==================== READS ====================
+
+    /**
+     * Offers for a SKU, cheapest first (ties broken by shorter lead time).
+     */
+    public List<SupplierOffer> offers(String sku) {
+        return List.of(offersBySku.getOrDefault(sku, NO_OFFERS));
+    }
+
+    public Optional<SupplierOffer> cheapest(String sku) {
+        SupplierOffer[] offers = offersBySku.get(sku);
+        return offers == null || offers.length == 0 ? Optional.empty() : Optional.of(offers[0]);
+    }
+
+    /**
+     * The offer to order from: the cheapest preferred one, otherwise the cheapest overall.
+     */
+    public Optional<SupplierOffer> best(String sku) {
+        SupplierOffer[] offers = offersBySku.get(sku);
+        if (offers == null || offers.length == 0) {
+            return Optional.empty();
+        }
+        for (SupplierOffer offer : offers) {
+            if (offer.preferred()) {
+                return Optional.of(offer);
+            }
+        }
+        return Optional.of(offers[0]);
+    }
+
+    /**
+     * Best offer per SKU; SKUs nobody offers are left out.
+     */
+    public Map<String, SupplierOffer> best(Collection<String> skus) {
+        Map<String, SupplierOffer> result = new HashMap<>();
+        for (String sku : skus) {
+            best(sku).ifPresent(offer -> result.put(sku, offer));
+        }
+        return result;
+    }
+
+    public int size() {
+        return offersBySku.size();
+    }
+
+    // ==================== MAINTENANCE ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelay = 3_600_000, initialDelay = 3_600_000)
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        Map<String, List<SupplierOffer>> grouped = new HashMap<>();
+        for (SupplierOffer offer : supplierProductRepository.findAllActiveOffers()) {
+            grouped.computeIfAbsent(offer.sku(), sku -> new ArrayList<>()).add(offer);
+        }
+        Map<Long, Set<String>> bySupplier = new HashMap<>();
+        grouped.forEach((sku, offers) -> {
+            offersBySku.put(sku, sorted(offers));
+            offers.forEach(o -> bySupplier.computeIfAbsent(o.supplierId(), id -> ConcurrentHashMap.newKeySet()).add(sku));
+        });
+        offersBySku.keySet().retainAll(grouped.keySet());
+        skusBySupplier.keySet().retainAll(bySupplier.keySet());
+        skusBySupplier.putAll(bySupplier);
+        log.info("Sourcing index loaded: {} SKUs from {} suppliers in {} ms",
+                offersBySku.size(), skusBySupplier.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Reload a SKU's offers after one of its supplier products changed.
+     */
+    public void refreshSku(String sku) {
+        afterCommit(() -> refresh(Set.of(sku)));
+    }
+
+    /**
+     * Reload every SKU a supplier offers (or offered), e.g. after a status or lead time change.
+     */
+    public void refreshSupplier(Long supplierId) {
+        afterCommit(() -> {
+            Set<String> skus = new HashSet<>(skusBySupplier.getOrDefault(supplierId, Set.of()));
+            skus.addAll(supplierProductRepository.findSkusBySupplierId(supplierId));
+            refresh(skus);
+        });
+    }
+
+    private synchronized void refresh(Set<String> skus) {
+        if (skus.isEmpty()) {
+            return;
+        }
+        Map<String, List<SupplierOffer>> grouped = new HashMap<>();
+        for (SupplierOffer offer : supplierProductRepository.findActiveOffersBySkuIn(skus)) {
+            grouped.computeIfAbsent(offer.sku(), sku -> new ArrayList<>()).add(offer);
+        }
+        for (String sku : skus) {
+            SupplierOffer[] previous = offersBySku.get(sku);
+            if (previous != null) {
+                for (SupplierOffer offer : previous) {
+                    Set<String> supplierSkus = skusBySupplier.get(offer.supplierId());
+                    if (supplierSkus != null) {
+                        supplierSkus.remove(sku);
+                    }
+                }
+            }
+            List<SupplierOffer> offers = grouped.get(sku);
+            if (offers == null) {
+                offersBySku.remove(sku);
+                continue;
+            }
+            offersBySku.put(sku, sorted(offers));
+            offers.forEach(o -> skusBySupplier.computeIfAbsent(o.supplierId(), id -> ConcurrentHashMap.newKeySet()).add(sku));
+        }
+        log.debug("Sourcing index refreshed for {} SKUs", skus.size());
+    }
+
+    private static SupplierOffer[] sorted(List<SupplierOffer> offers) {
+        SupplierOffer[] array = offers.toArray(NO_OFFERS);
+        Arrays.sort(array, BY_COST);
+        return array;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
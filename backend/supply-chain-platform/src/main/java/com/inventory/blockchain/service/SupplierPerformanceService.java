@@ -0,0 +1,179 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.dto.SupplierPerformanceMetrics;
+import com.inventory.blockchain.entity.PurchaseOrder;
+import com.inventory.blockchain.entity.PurchaseOrderItem;
+import com.inventory.blockchain.repository.PurchaseOrderRepository;
+import com.inventory.blockchain.repository.SupplierPerformanceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Supplier on-time rate, lead time, fill rate and confirmation time, measured from
+ * purchase orders.
+ *
+ * Purchase order status changes go through {@link #save}, which adds the order to its
+ * supplier's quarter in {@code supplier_performance} in the same transaction: once when
+ * it is confirmed and once when it is delivered. Reads sum a few quarterly rows per
+ * supplier instead of scanning order history.
+ */
+@Service
+public class SupplierPerformanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(SupplierPerformanceService.class);
+
+    public static final int DEFAULT_QUARTERS = 4;
+    public static final int MAX_QUARTERS = 20;
+
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final SupplierPerformanceRepository performanceRepository;
+
+    public SupplierPerformanceService(PurchaseOrderRepository purchaseOrderRepository,
+                                      SupplierPerformanceRepository performanceRepository) {
+        this.purchaseOrderRepository = purchaseOrderRepository;
+        this.performanceRepository = performanceRepository;
+    }
+
+    // ==================== UPDATES ====================
+
+    /**
+     * What an order looked like before a change; take it before changing a loaded order.
+     */
+    public record Snapshot(String status, OffsetDateTime orderDate) {
+        public static Snapshot of(PurchaseOrder order) {
+            return new Snapshot(order.getStatus(), order.getOrderDate());
+        }
+    }
+
+    /**
+     * Save an order and record the confirmation or delivery its status change represents.
+     */
+    @Transactional
+    public PurchaseOrder save(PurchaseOrder order, Snapshot before) {
+        PurchaseOrder saved = purchaseOrderRepository.save(order);
+        String status = saved.getStatus();
+        if (Objects.equals(before.status(), status) || saved.getSupplier() == null) {
+            return saved;
+        }
+        Long supplierId = saved.getSupplier().getId();
+
+        if ("CONFIRMED".equals(status) && "PENDING".equals(before.status()) && before.orderDate() != null) {
+            OffsetDateTime now = OffsetDateTime.now();
+            long hours = Math.max(0, Duration.between(before.orderDate(), now).toHours());
+            performanceRepository.addConfirmation(supplierId, quarterStart(now.toLocalDate()), hours);
+        }
+
+        if ("DELIVERED".equals(status) && saved.getActualDelivery() != null) {
+            recordDelivery(supplierId, saved);
+        }
+        return saved;
+    }
+
+    private void recordDelivery(Long supplierId, PurchaseOrder order) {
+        LocalDate delivered = order.getActualDelivery();
+        LocalDate expected = order.getExpectedDelivery();
+        int promised = expected != null ? 1 : 0;
+        int onTime = expected != null && !delivered.isAfter(expected) ? 1 : 0;
+
+        int leadTimeSamples = 0;
+        long leadTimeDays = 0;
+        if (order.getOrderDate() != null) {
+            leadTimeSamples = 1;
+            leadTimeDays = Math.max(0, ChronoUnit.DAYS.between(order.getOrderDate().toLocalDate(), delivered));
+        }
+
+        long ordered = 0;
+        long received = 0;
+        for (PurchaseOrderItem item : order.getItems()) {
+            int qty = item.getQuantity() != null ? item.getQuantity() : 0;
+            int got = item.getReceivedQty() != null ? item.getReceivedQty() : 0;
+            ordered += qty;
+            // Over-delivery does not make up for a short line elsewhere
+            received += Math.min(got, qty);
+        }
+
+        performanceRepository.addDelivery(supplierId, quarterStart(delivered), promised, onTime,
+                leadTimeSamples, leadTimeDays, ordered, received);
+    }
+
+    // ==================== READS ====================
+
+    public Optional<SupplierPerformanceMetrics> getMetrics(Long supplierId, int quarters) {
+        return performanceRepository.sumSince(since(quarters), supplierId).stream()
+                .findFirst()
+                .map(row -> SupplierPerformanceMetrics.of((Long) row[0], (String) row[1], totals(row)));
+    }
+
+    /**
+     * Every supplier with recorded activity, best score first.
+     */
+    public List<SupplierPerformanceMetrics> getAllMetrics(int quarters) {
+        return performanceRepository.sumSince(since(quarters), null).stream()
+                .map(row -> SupplierPerformanceMetrics.of((Long) row[0], (String) row[1], totals(row)))
+                .sorted(Comparator.comparing(SupplierPerformanceMetrics::score,
+                        Comparator.nullsLast(Comparator.reverseOrder())))
+                .toList();
+    }
+
+    /**
+     * All suppliers pooled together, weighted by order and quantity volume.
+     */
+    public SupplierPerformanceMetrics getOverallMetrics(int quarters) {
+        SupplierPerformanceMetrics.Totals total = performanceRepository.sumSince(since(quarters), null).stream()
+                .map(SupplierPerformanceService::totals)
+                .reduce(SupplierPerformanceMetrics.Totals.EMPTY, SupplierPerformanceMetrics.Totals::plus);
+        return SupplierPerformanceMetrics.of(null, null, total);
+    }
+
+    private static SupplierPerformanceMetrics.Totals totals(Object[] row) {
+        return new SupplierPerformanceMetrics.Totals(
+                toLong(row[2]), toLong(row[3]), toLong(row[4]), toLong(row[5]), toLong(row[6]),
+                toLong(row[7]), toLong(row[8]), toLong(row[9]), toLong(row[10]), toLong(row[11]));
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    // The current quarter plus the (quarters - 1) before it
+    private static LocalDate since(int quarters) {
+        int q = Math.max(1, Math.min(quarters, MAX_QUARTERS));
+        return quarterStart(LocalDate.now()).minusMonths(3L * (q - 1));
+    }
+
+    static LocalDate quarterStart(LocalDate date) {
+        int firstMonth = (date.getMonthValue() - 1) / 3 * 3 + 1;
+        return LocalDate.of(date.getYear(), firstMonth, 1);
+    }
+
+    // ==================== BACKFILL ====================
+
+    /**
+     * Seed the table from already delivered orders the first time it is empty.
+     * Confirmation times were not recorded before, so those start from zero.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (performanceRepository.count() > 0) {
+            return;
+        }
+        int rows = performanceRepository.backfillDeliveries();
+        if (rows > 0) {
+            log.info("Backfilled supplier performance: {} supplier quarters", rows);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.inventory.blockchain.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintenance of tables that are RANGE-partitioned by month on a timestamp column.
+ *
+ * Partitions follow the naming convention {@code <table>_pYYYYMM} used by the
+ * migration scripts under {@code db/}; other partitions (e.g. the DEFAULT one)
+ * are never touched. Months are UTC months, like the retention cutoffs.
+ */
+@Service
+public class TimePartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(TimePartitionManager.class);
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TimePartitionManager(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isPartitioned(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_class WHERE relname = ? AND relkind = 'p'",
+                Integer.class, checkIdentifier(table));
+        return count != null && count > 0;
+    }
+
+    /**
+     * Create the partitions for the current month and the next {@code monthsAhead} months.
+     *
+     * @return number of partitions created
+     */
+    public int ensureMonthlyPartitions(String table, int monthsAhead) {
+        checkIdentifier(table);
+        int created = 0;
+        YearMonth month = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= monthsAhead; i++, month = month.plusMonths(1)) {
+            String partition = partitionName(table, month);
+            if (exists(partition)) {
+                continue;
+            }
+            try {
+                // Explicit UTC bounds; a bare date would be read in the session time zone
+                jdbcTemplate.execute(String.format(
+                        "CREATE TABLE %s PARTITION OF %s FOR VALUES FROM ('%s 00:00:00+00') TO ('%s 00:00:00+00')",
+                        partition, table, month.atDay(1), month.plusMonths(1).atDay(1)));
+                created++;
+                log.info("Created partition {}", partition);
+            } catch (RuntimeException e) {
+                // Typically rows for this month already landed in the DEFAULT partition
+                log.error("Could not create partition {}: {}", partition, e.getMessage());
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Monthly partitions whose whole range lies before {@code cutoff}, oldest first.
+     */
+    public List<String> partitionsBefore(String table, YearMonth cutoff) {
+        checkIdentifier(table);
+        Pattern monthly = Pattern.compile(Pattern.quote(table) + "_p(\\d{6})");
+        List<String> expired = new ArrayList<>();
+        for (String partition : jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = ?
+                ORDER BY c.relname
+                """, String.class, table)) {
+            Matcher matcher = monthly.matcher(partition);
+            if (matcher.matches() && YearMonth.parse(matcher.group(1), SUFFIX).isBefore(cutoff)) {
+                expired.add(partition);
+            }
+        }
+        return expired;
+    }
+
+    public void dropPartition(String partition) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + checkIdentifier(partition));
+        log.info("Dropped partition {}", partition);
+    }
+
+    /**
+     * Detach a partition and move it to {@code archiveSchema}, keeping its rows queryable
+     * outside the live table.
+     */
+    public void archivePartition(String table, String partition, String archiveSchema) {
+        checkIdentifier(table);
+        checkIdentifier(partition);
+        checkIdentifier(archiveSchema);
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+        jdbcTemplate.execute(String.format("ALTER TABLE %s DETACH PARTITION %s", table, partition));
+        jdbcTemplate.execute(String.format("ALTER TABLE %s SET SCHEMA %s", partition, archiveSchema));
+        log.info("Archived partition {} to schema {}", partition, archiveSchema);
+    }
+
+    public static String partitionName(String table, YearMonth month) {
+        return table + "_p" + month.format(SUFFIX);
+    }
+
+    private boolean exists(String relation) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_class WHERE relname = ?", Integer.class, relation);
+        return count != null && count > 0;
+    }
+
+    private static String checkIdentifier(String name) {
+        if (name == null || !IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid SQL identifier: " + name);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,226 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.config.AuthProperties;
+import com.inventory.blockchain.dto.AuthenticatedUser;
+import com.inventory.blockchain.entity.SessionRevocation;
+import com.inventory.blockchain.entity.User;
+import com.inventory.blockchain.exception.InvalidTokenException;
+import com.inventory.blockchain.repository.SessionRevocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stateless session tokens signed with HMAC-SHA256.
+ *
+ * A token is {@code base64url(payload).base64url(signature)} where the payload carries the
+ * user id, role id, token id, issue and expiry times and the username, so a request is
+ * authenticated without a database lookup. Grants are not embedded: they are looked up by
+ * role in {@code PermissionCache}, so role edits apply to existing sessions at once.
+ *
+ * Logout and account changes are recorded in {@code session_revocations}, shared by every
+ * instance, and mirrored into memory: immediately on the instance that revoked, and on the
+ * others within {@code auth.revocation-sync-interval}. Entries are only kept until the
+ * affected tokens would have expired anyway.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    // v2 dropped the permission bits; v1 tokens are rejected and their holders log in again
+    private static final String VERSION = "v2";
+    private static final int FIELD_COUNT = 7;
+
+    // Re-read this much before the last sync, so rows committed late are not missed
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final AuthProperties properties;
+    private final SessionRevocationRepository revocationRepository;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    // tokenId -> expiry of the revoked token
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    // userId -> tokens issued before this instant are rejected
+    private final Map<Long, Instant> revokedBefore = new ConcurrentHashMap<>();
+    // Start of the last successful sync; null until the first one
+    private volatile Instant lastSync;
+
+    public TokenService(AuthProperties properties, SessionRevocationRepository revocationRepository) {
+        this.properties = properties;
+        this.revocationRepository = revocationRepository;
+        this.key = new SecretKeySpec(secret(properties), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    private static byte[] secret(AuthProperties properties) {
+        String configured = properties.getTokenSecret();
+        if (configured != null && !configured.isBlank()) {
+            return configured.getBytes(StandardCharsets.UTF_8);
+        }
+        log.warn("auth.token-secret is not set; using a random key, sessions will not survive a restart");
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    // ==================== ISSUING ====================
+
+    public String issue(User user) {
+        Instant issuedAt = Instant.now();
+        Instant expiresAt = issuedAt.plus(properties.getTokenTtl());
+        String payload = String.join(":",
+                VERSION,
+                String.valueOf(user.getId()),
+                user.getRole() != null ? String.valueOf(user.getRole().getId()) : "",
+                UUID.randomUUID().toString(),
+                String.valueOf(issuedAt.toEpochMilli()),
+                String.valueOf(expiresAt.getEpochSecond()),
+                user.getUsername());
+        String encoded = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return encoded + "." + ENCODER.encodeToString(sign(encoded));
+    }
+
+    // ==================== VERIFYING ====================
+
+    /**
+     * Check signature, expiry and revocation without touching the database.
+     *
+     * @throws InvalidTokenException if the token is malformed, forged, expired or revoked
+     */
+    public AuthenticatedUser verify(String token) {
+        int dot = token != null ? token.indexOf('.') : -1;
+        if (dot <= 0) {
+            throw new InvalidTokenException("Malformed session token");
+        }
+        String encoded = token.substring(0, dot);
+        byte[] signature;
+        String[] fields;
+        try {
+            signature = DECODER.decode(token.substring(dot + 1));
+            fields = new String(DECODER.decode(encoded), StandardCharsets.UTF_8).split(":", FIELD_COUNT);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed session token");
+        }
+        if (!MessageDigest.isEqual(sign(encoded), signature)) {
+            throw new InvalidTokenException("Invalid session token signature");
+        }
+        if (fields.length != FIELD_COUNT || !VERSION.equals(fields[0])) {
+            throw new InvalidTokenException("Unsupported session token");
+        }
+
+        AuthenticatedUser user = new AuthenticatedUser(
+                Long.valueOf(fields[1]),
+                fields[6],
+                fields[2].isEmpty() ? null : Long.valueOf(fields[2]),
+                fields[3],
+                Instant.ofEpochMilli(Long.parseLong(fields[4])),
+                Instant.ofEpochSecond(Long.parseLong(fields[5])));
+
+        if (!Instant.now().isBefore(user.expiresAt())) {
+            throw new InvalidTokenException("Session token expired");
+        }
+        if (revokedTokens.containsKey(user.tokenId())) {
+            throw new InvalidTokenException("Session token revoked");
+        }
+        Instant notBefore = revokedBefore.get(user.userId());
+        if (notBefore != null && !user.issuedAt().isAfter(notBefore)) {
+            throw new InvalidTokenException("Session token revoked");
+        }
+        return user;
+    }
+
+    private byte[] sign(String encodedPayload) {
+        return macs.get().doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // ==================== REVOCATION ====================
+
+    /**
+     * Revoke one session, e.g. on logout.
+     */
+    public void revoke(AuthenticatedUser user) {
+        if (user.tokenId() != null) {
+            revocationRepository.save(new SessionRevocation(user.tokenId(), user.userId(),
+                    OffsetDateTime.now(ZoneOffset.UTC), toUtc(user.expiresAt())));
+            revokedTokens.put(user.tokenId(), user.expiresAt());
+        }
+    }
+
+    /**
+     * Revoke every session of a user issued up to now, e.g. after a password change,
+     * role change or deactivation.
+     */
+    public void revokeAll(Long userId) {
+        Instant now = Instant.now();
+        revocationRepository.save(new SessionRevocation(null, userId,
+                toUtc(now), toUtc(now.plus(properties.getTokenTtl()))));
+        revokedBefore.merge(userId, now, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    /**
+     * Load the revocations other instances recorded since the last sync.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${auth.revocation-sync-interval:PT5S}")
+    public void syncRevocations() {
+        Instant started = Instant.now();
+        Instant since = lastSync != null
+                ? lastSync.minus(SYNC_OVERLAP)
+                : started.minus(properties.getTokenTtl());
+        for (SessionRevocation revocation : revocationRepository.findActiveSince(toUtc(since), toUtc(started))) {
+            if (revocation.getTokenId() != null) {
+                revokedTokens.put(revocation.getTokenId(), revocation.getExpiresAt().toInstant());
+            } else {
+                revokedBefore.merge(revocation.getUserId(), revocation.getRevokedAt().toInstant(),
+                        (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+        lastSync = started;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        Instant oldestLive = now.minus(properties.getTokenTtl());
+        revokedBefore.values().removeIf(notBefore -> notBefore.isBefore(oldestLive));
+        revocationRepository.deleteExpired(toUtc(now));
+    }
+
+    private static OffsetDateTime toUtc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
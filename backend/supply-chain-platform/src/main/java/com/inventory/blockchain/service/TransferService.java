@@ -4,21 +4,28 @@ import com.inventory.blockchain.dto.TransferItem;
 import com.inventory.blockchain.dto.TransferRequest;
 import com.inventory.blockchain.dto.TransferResponse;
 import com.inventory.blockchain.entity.Transfer;
+import com.inventory.blockchain.entity.TransferLineItem;
 import com.inventory.blockchain.exception.BlockchainTransactionException;
 import com.inventory.blockchain.exception.InsufficientStockException;
 import com.inventory.blockchain.exception.TransferAlreadyExistsException;
 import com.inventory.blockchain.exception.TransferNotFoundException;
 import com.inventory.blockchain.repository.InventoryRepository;
+import com.inventory.blockchain.repository.TransferLineItemRepository;
 import com.inventory.blockchain.repository.TransferRepository;
 import com.inventory.blockchain.util.ItemsHashUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -40,20 +47,40 @@ public class TransferService {
             STATUS_DELIVERED, STATUS_CANCELLED, STATUS_FAILED
     );
 
+    // Column lengths on transfers and transfer_items
+    private static final int MAX_TRANSFER_ID_LENGTH = 100;
+    private static final int MAX_LOCATION_LENGTH = 255;
+    private static final int MAX_SKU_LENGTH = 50;
+
+    // PostgreSQL unique_violation
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    // Statuses in which the source stock has already been deducted
+    private static final Set<String> STOCK_DEDUCTED_STATUSES = Set.of(STATUS_CONFIRMED, STATUS_IN_TRANSIT);
+
     private final TransferRepository transferRepository;
+    private final TransferLineItemRepository lineItemRepository;
     private final InventoryRepository inventoryRepository;
     private final BlockchainService blockchainService;
     private final ItemsHashUtil itemsHashUtil;
+    private final LowStockMonitor lowStockMonitor;
+    private final NotificationService notificationService;
 
     public TransferService(
             TransferRepository transferRepository,
+            TransferLineItemRepository lineItemRepository,
             InventoryRepository inventoryRepository,
             BlockchainService blockchainService,
-            ItemsHashUtil itemsHashUtil) {
+            ItemsHashUtil itemsHashUtil,
+            LowStockMonitor lowStockMonitor,
+            NotificationService notificationService) {
         this.transferRepository = transferRepository;
+        this.lineItemRepository = lineItemRepository;
         this.inventoryRepository = inventoryRepository;
         this.blockchainService = blockchainService;
         this.itemsHashUtil = itemsHashUtil;
+        this.lowStockMonitor = lowStockMonitor;
+        this.notificationService = notificationService;
     }
 
     @Transactional(readOnly = true)
@@ -94,7 +121,8 @@ public class TransferService {
                 fromLocation,
                 request.toLocation(),
                 itemsHash,
-                contractAddress
+                contractAddress,
+                request.items()
         );
 
         try {
@@ -107,13 +135,7 @@ public class TransferService {
                     itemsHashBytes
             );
 
-            // ============================================
-            // DEDUCT INVENTORY - Only after blockchain confirms
-            // ============================================
-            log.info("Blockchain confirmed, deducting inventory for transfer: {}", transferId);
-            deductInventoryForTransfer(fromLocation, request.items());
-            log.info("Inventory deducted for transfer: {}", transferId);
-
+            // Confirming deducts the stored line items, as for a confirm through changeStatus
             transfer = updateTransferWithReceipt(transferId, receipt);
 
             log.info("Transfer created successfully: transferId={}, txHash={}, blockNumber={}",
@@ -127,13 +149,117 @@ public class TransferService {
         }
     }
 
+    /**
+     * Record a transfer request without submitting it on-chain. Stock is deducted
+     * when the transfer is confirmed through {@link #changeStatus}.
+     */
+    @Transactional
+    public Transfer registerTransfer(String transferId, String fromLocation, String toLocation, List<TransferItem> items) {
+        log.info("Registering transfer: transferId={}, from={}, to={}", transferId, fromLocation, toLocation);
+
+        requireText("transferId", transferId, MAX_TRANSFER_ID_LENGTH);
+        requireText("fromLocation", fromLocation, MAX_LOCATION_LENGTH);
+        requireText("toLocation", toLocation, MAX_LOCATION_LENGTH);
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Items list cannot be empty");
+        }
+        for (TransferItem item : items) {
+            if (item.sku() == null || item.sku().isBlank() || item.qty() == null || item.qty() < 1) {
+                throw new IllegalArgumentException("Each item needs a SKU and a quantity of at least 1");
+            }
+            if (item.sku().length() > MAX_SKU_LENGTH) {
+                throw new IllegalArgumentException("SKU must be at most " + MAX_SKU_LENGTH + " characters");
+            }
+        }
+        if (transferRepository.existsByTransferId(transferId)) {
+            throw new TransferAlreadyExistsException(transferId);
+        }
+
+        Transfer transfer = new Transfer(
+                transferId,
+                fromLocation,
+                toLocation,
+                itemsHashUtil.computeItemsHash(items),
+                STATUS_REQUESTED,
+                null
+        );
+        Transfer saved;
+        try {
+            saved = transferRepository.saveAndFlush(transfer);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent request for the same ID; anything else is not a conflict
+            if (isUniqueViolation(e)) {
+                throw new TransferAlreadyExistsException(transferId);
+            }
+            throw e;
+        }
+        saveLineItems(saved, items);
+
+        notificationService.notifyTransferCreated(saved);
+        return saved;
+    }
+
+    private static void requireText(String field, String value, int maxLength) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " must be at most " + maxLength + " characters");
+        }
+    }
+
+    // The only unique key on transfers besides the primary key is transfer_id
+    private static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Transactional(readOnly = true)
+    public List<TransferItem> getTransferItems(String transferId) {
+        Transfer transfer = transferRepository.findByTransferId(transferId)
+                .orElseThrow(() -> new TransferNotFoundException(transferId));
+        return lineItemRepository.findByTransferId(transfer.getId()).stream()
+                .map(line -> new TransferItem(line.getSku(), line.getQty()))
+                .toList();
+    }
+
+    /**
+     * Delete a transfer that has not been confirmed yet, together with its line items
+     */
+    @Transactional
+    public void deleteTransfer(String transferId) {
+        Transfer transfer = transferRepository.findByTransferId(transferId)
+                .orElseThrow(() -> new TransferNotFoundException(transferId));
+        if (!STATUS_REQUESTED.equals(transfer.getStatus())) {
+            throw new IllegalStateException("Cannot delete transfer that is not in REQUESTED status");
+        }
+        lineItemRepository.deleteByTransferId(transfer.getId());
+        transferRepository.delete(transfer);
+    }
+
+    private void saveLineItems(Transfer transfer, List<TransferItem> items) {
+        List<TransferLineItem> lines = new ArrayList<>(items.size());
+        for (TransferItem item : items) {
+            lines.add(new TransferLineItem(transfer, item.sku(), item.qty()));
+        }
+        lineItemRepository.saveAll(lines);
+    }
+
     /**
      * Validate that all items have sufficient stock at source location
      */
     private void validateInventoryForTransfer(String fromLocation, List<TransferItem> items) {
+        Map<String, Integer> requested = new LinkedHashMap<>();
         for (TransferItem item : items) {
-            String sku = item.sku();
-            int requestedQty = item.qty();
+            requested.merge(item.sku(), item.qty(), Integer::sum);
+        }
+        for (Map.Entry<String, Integer> entry : requested.entrySet()) {
+            String sku = entry.getKey();
+            int requestedQty = entry.getValue();
 
             int availableQty = inventoryRepository.getQuantity(fromLocation, sku).orElse(0);
 
@@ -149,58 +275,51 @@ public class TransferService {
     }
 
     /**
-     * Deduct inventory from source location after blockchain confirmation
+     * Deduct the stored line items from the source location in one statement
      */
-    private void deductInventoryForTransfer(String fromLocation, List<TransferItem> items) {
-        for (TransferItem item : items) {
-            int updated = inventoryRepository.deductStock(fromLocation, item.sku(), item.qty());
-            if (updated == 0) {
-                // This shouldn't happen if validation passed, but just in case
-                int available = inventoryRepository.getQuantity(fromLocation, item.sku()).orElse(0);
-                throw new InsufficientStockException(fromLocation, item.sku(), item.qty(), available);
-            }
-            log.debug("Deducted {} of {} from {}", item.qty(), item.sku(), fromLocation);
+    private void deductStoredItems(Transfer transfer) {
+        // Lines for the same SKU are checked against stock as one sum
+        List<Object[]> shortfalls = lineItemRepository.findShortfalls(transfer.getId(), transfer.getFromLocation());
+        if (!shortfalls.isEmpty()) {
+            Object[] first = shortfalls.get(0);
+            throw new InsufficientStockException(transfer.getFromLocation(), (String) first[0],
+                    ((Number) first[1]).intValue(), ((Number) first[2]).intValue());
         }
+
+        long expected = lineItemRepository.countDistinctSkus(transfer.getId());
+        int updated = lineItemRepository.deductItems(transfer.getId(), transfer.getFromLocation());
+        if (updated != expected) {
+            // Stock was taken between the check and the update; throwing rolls the partial deduction back
+            throw new IllegalStateException("Stock changed while confirming transfer " + transfer.getTransferId());
+        }
+        log.debug("Deducted {} SKUs from {} for transfer {}", updated, transfer.getFromLocation(), transfer.getTransferId());
+        lowStockMonitor.recordStockChanges(storedStockKeys(transfer.getFromLocation(), transfer));
     }
 
     /**
      * Add inventory to destination location when delivered
      */
-    private void addInventoryForDelivery(String toLocation, String fromLocation, List<TransferItem> items) {
-        for (TransferItem item : items) {
-            int updated = inventoryRepository.addStock(toLocation, item.sku(), item.qty());
-            
-            if (updated == 0) {
-                // Item doesn't exist at destination - create it
-                log.info("Creating new inventory entry at {}: sku={}", toLocation, item.sku());
-                inventoryRepository.findByLocationAndSku(fromLocation, item.sku())
-                        .ifPresent(sourceInventory -> {
-                            com.inventory.blockchain.entity.Inventory newInventory = 
-                                    new com.inventory.blockchain.entity.Inventory(
-                                            toLocation,
-                                            item.sku(),
-                                            sourceInventory.getProductName(),
-                                            sourceInventory.getCategory(),
-                                            item.qty(),
-                                            sourceInventory.getMinStock(),
-                                            sourceInventory.getUnit(),
-                                            sourceInventory.getPrice()
-                                    );
-                            inventoryRepository.save(newInventory);
-                        });
-            }
-            log.debug("Added {} of {} to {}", item.qty(), item.sku(), toLocation);
-        }
+    private void addInventoryForDelivery(Transfer transfer) {
+        int credited = lineItemRepository.creditItems(
+                transfer.getId(), transfer.getToLocation(), transfer.getFromLocation());
+        log.debug("Credited {} SKUs to {} for transfer {}", credited, transfer.getToLocation(), transfer.getTransferId());
+        lowStockMonitor.recordStockChanges(storedStockKeys(transfer.getToLocation(), transfer));
     }
 
     /**
      * Rollback inventory if transfer is cancelled
      */
-    private void rollbackInventory(String fromLocation, List<TransferItem> items) {
-        for (TransferItem item : items) {
-            inventoryRepository.addStock(fromLocation, item.sku(), item.qty());
-            log.debug("Rolled back {} of {} to {}", item.qty(), item.sku(), fromLocation);
-        }
+    private void rollbackInventory(Transfer transfer) {
+        int restored = lineItemRepository.creditItems(
+                transfer.getId(), transfer.getFromLocation(), transfer.getFromLocation());
+        log.debug("Restored {} SKUs to {} for transfer {}", restored, transfer.getFromLocation(), transfer.getTransferId());
+        lowStockMonitor.recordStockChanges(storedStockKeys(transfer.getFromLocation(), transfer));
+    }
+
+    private List<LowStockMonitor.StockKey> storedStockKeys(String location, Transfer transfer) {
+        return lineItemRepository.findByTransferId(transfer.getId()).stream()
+                .map(line -> new LowStockMonitor.StockKey(location, line.getSku()))
+                .toList();
     }
 
     @Transactional(readOnly = true)
@@ -215,14 +334,25 @@ public class TransferService {
 
     @Transactional
     public TransferResponse updateStatus(String transferId, String newStatus) {
+        return buildResponse(changeStatus(transferId, newStatus));
+    }
+
+    /**
+     * Move a transfer to a new status and apply its stock effects from the stored line items:
+     * confirming deducts the source, delivering credits the destination, and cancelling
+     * after confirmation restores the source.
+     */
+    @Transactional
+    public Transfer changeStatus(String transferId, String newStatus) {
         log.info("Updating transfer status: transferId={}, newStatus={}", transferId, newStatus);
 
-        if (!VALID_STATUSES.contains(newStatus)) {
+        if (newStatus == null || !VALID_STATUSES.contains(newStatus)) {
             throw new IllegalArgumentException("Invalid status: " + newStatus +
                     ". Valid statuses are: " + VALID_STATUSES);
         }
 
-        Transfer transfer = transferRepository.findByTransferId(transferId)
+        // Locked until commit: a concurrent or retried change waits here and then sees the new status
+        Transfer transfer = transferRepository.findByTransferIdForUpdate(transferId)
                 .orElseThrow(() -> new TransferNotFoundException(transferId));
 
         String currentStatus = transfer.getStatus();
@@ -230,10 +360,13 @@ public class TransferService {
         // Validate status transition
         validateStatusTransition(currentStatus, newStatus);
 
-        // Handle inventory changes based on status
-        // Note: We need the items to handle inventory, but they're stored as hash
-        // For now, we'll skip inventory updates on status change
-        // TODO: Store items in transfer or separate table for full tracking
+        if (STATUS_CONFIRMED.equals(newStatus)) {
+            deductStoredItems(transfer);
+        } else if (STATUS_DELIVERED.equals(newStatus)) {
+            addInventoryForDelivery(transfer);
+        } else if (STATUS_CANCELLED.equals(newStatus) && STOCK_DEDUCTED_STATUSES.contains(currentStatus)) {
+            rollbackInventory(transfer);
+        }
 
         transfer.setStatus(newStatus);
         Transfer updated = transferRepository.save(transfer);
@@ -241,7 +374,8 @@ public class TransferService {
         log.info("Transfer status updated: transferId={}, oldStatus={}, newStatus={}",
                 transferId, currentStatus, newStatus);
 
-        return buildResponse(updated);
+        notificationService.notifyTransferStatusChanged(updated, currentStatus, newStatus);
+        return updated;
     }
 
     private void validateStatusTransition(String currentStatus, String newStatus) {
@@ -270,7 +404,8 @@ public class TransferService {
             String fromLocation,
             String toLocation,
             String itemsHash,
-            String contractAddress) {
+            String contractAddress,
+            List<TransferItem> items) {
 
         log.debug("Creating initial transfer record: transferId={}", transferId);
 
@@ -284,7 +419,8 @@ public class TransferService {
         );
 
         Transfer saved = transferRepository.save(transfer);
-        log.debug("Initial transfer record saved: id={}", saved.getId());
+        saveLineItems(saved, items);
+        log.debug("Initial transfer record saved: id={}, lines={}", saved.getId(), items.size());
 
         return saved;
     }
@@ -293,12 +429,16 @@ public class TransferService {
     public Transfer updateTransferWithReceipt(String transferId, TransactionReceipt receipt) {
         log.debug("Updating transfer with receipt: transferId={}", transferId);
 
-        Transfer transfer = transferRepository.findByTransferId(transferId)
+        Transfer transfer = transferRepository.findByTransferIdForUpdate(transferId)
                 .orElseThrow(() -> new TransferNotFoundException(transferId));
 
         transfer.setTxHash(receipt.getTransactionHash());
         transfer.setBlockNumber(receipt.getBlockNumber().longValue());
-        transfer.setStatus(STATUS_CONFIRMED);
+        // Skip the deduction if the transfer was already confirmed through changeStatus
+        if (STATUS_REQUESTED.equals(transfer.getStatus())) {
+            deductStoredItems(transfer);
+            transfer.setStatus(STATUS_CONFIRMED);
+        }
 
         Transfer updated = transferRepository.save(transfer);
         log.debug("Transfer updated with receipt: txHash={}, blockNumber={}",
@@ -0,0 +1,160 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.repository.NotificationCounterRepository;
+import com.inventory.blockchain.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unread notification counts per user.
+ *
+ * The persisted {@code notification_counters} row is the source of truth and is updated
+ * in the same transaction as the notification change. A per-user {@link AtomicLong}
+ * caches it for O(1) badge reads and is only adjusted after commit; users not yet in the
+ * cache are loaded on first read. A periodic job recomputes all counters from the
+ * notifications table to repair any drift, one range of users per transaction.
+ */
+@Service
+public class UnreadCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(UnreadCounterService.class);
+
+    // Users per reconciliation transaction; their counters stay locked while it runs
+    static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final NotificationCounterRepository counterRepository;
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate reconcileTransaction;
+
+    private final Map<Long, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    public UnreadCounterService(NotificationCounterRepository counterRepository,
+                                NotificationRepository notificationRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.counterRepository = counterRepository;
+        this.notificationRepository = notificationRepository;
+        this.reconcileTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    // ==================== READS ====================
+
+    public long getUnreadCount(Long userId) {
+        AtomicLong counter = counters.get(userId);
+        if (counter != null) {
+            return counter.get();
+        }
+        // Loaded outside the map lock; a change racing the first load is repaired by reconcile()
+        long loaded = load(userId);
+        return counters.computeIfAbsent(userId, id -> new AtomicLong(loaded)).get();
+    }
+
+    private long load(Long userId) {
+        return counterRepository.findUnreadCount(userId)
+                .orElseGet(() -> {
+                    // First read for this user: seed the counter row once from the table
+                    long unread = notificationRepository.countUnreadByUserId(userId);
+                    counterRepository.setCount(userId, unread);
+                    return unread;
+                });
+    }
+
+    // ==================== UPDATES ====================
+
+    /**
+     * Add {@code delta} unread notifications for a user (negative when read or deleted).
+     */
+    @Transactional
+    public void add(Long userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        counterRepository.addToCount(userId, delta);
+        afterCommit(() -> counters.computeIfPresent(userId, (id, counter) -> {
+            counter.updateAndGet(value -> Math.max(0, value + delta));
+            return counter;
+        }));
+    }
+
+    /**
+     * Set a user's count outright, e.g. after marking everything read.
+     */
+    @Transactional
+    public void reset(Long userId, long count) {
+        counterRepository.setCount(userId, count);
+        afterCommit(() -> counters.computeIfPresent(userId, (id, counter) -> {
+            counter.set(count);
+            return counter;
+        }));
+    }
+
+    /**
+     * Apply increments whose database rows were already written by the caller
+     * (fan-out updates the counters in the same statement as the insert).
+     */
+    public void applyCommittedIncrements(Map<Long, Long> deltas) {
+        deltas.forEach((userId, delta) -> counters.computeIfPresent(userId, (id, counter) -> {
+            counter.addAndGet(delta);
+            return counter;
+        }));
+    }
+
+    /**
+     * Forget a user's cached count so the next read loads the stored one, e.g. after
+     * another instance changed it.
+     */
+    public void evict(Long userId) {
+        counters.remove(userId);
+    }
+
+    public void evictAll() {
+        counters.clear();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // ==================== RECONCILIATION ====================
+
+    @Scheduled(fixedDelayString = "${notifications.counter-reconcile-interval:PT1H}",
+               initialDelayString = "${notifications.counter-reconcile-interval:PT1H}")
+    public void reconcile() {
+        long maxUserId = counterRepository.findMaxUserId();
+        int corrected = 0;
+        for (long from = 0; from <= maxUserId; from += RECONCILE_BATCH_SIZE) {
+            long fromId = from;
+            long toId = from + RECONCILE_BATCH_SIZE - 1;
+            Integer batch = reconcileTransaction.execute(status -> {
+                counterRepository.createMissing(fromId, toId);
+                counterRepository.lockRange(fromId, toId);
+                return counterRepository.recountRange(fromId, toId);
+            });
+            corrected += batch != null ? batch : 0;
+        }
+        // Reload lazily from the corrected rows
+        counters.clear();
+        if (corrected > 0) {
+            log.info("Reconciled unread counters: {} users corrected", corrected);
+        }
+    }
+}
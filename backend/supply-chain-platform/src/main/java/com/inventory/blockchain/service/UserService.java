@@ -5,7 +5,6 @@ import com.inventory.blockchain.entity.*;
 import com.inventory.blockchain.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,23 +17,38 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
+    private static final int MAX_ACTIVITY_PAGE_SIZE = 1000;
     
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
     private final ActivityLogRepository activityLogRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PermissionCache permissionCache;
+    private final TokenService tokenService;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginActivityWriter loginActivityWriter;
+    private final ActivityLogWriter activityLogWriter;
 
     public UserService(
             UserRepository userRepository,
             RoleRepository roleRepository,
             PermissionRepository permissionRepository,
-            ActivityLogRepository activityLogRepository) {
+            ActivityLogRepository activityLogRepository,
+            PermissionCache permissionCache,
+            TokenService tokenService,
+            PasswordHashingService passwordHashingService,
+            LoginActivityWriter loginActivityWriter,
+            ActivityLogWriter activityLogWriter) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.permissionRepository = permissionRepository;
         this.activityLogRepository = activityLogRepository;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.permissionCache = permissionCache;
+        this.tokenService = tokenService;
+        this.passwordHashingService = passwordHashingService;
+        this.loginActivityWriter = loginActivityWriter;
+        this.activityLogWriter = activityLogWriter;
     }
 
     // ==================== USER OPERATIONS ====================
@@ -77,7 +91,7 @@ public class UserService {
         User user = new User();
         user.setUsername(request.username());
         user.setEmail(request.email());
-        user.setPasswordHash(passwordEncoder.encode(request.password()));
+        user.setPasswordHash(passwordHashingService.encode(request.password()));
         user.setFullName(request.fullName());
         user.setRole(role);
         user.setCreatedBy(createdBy);
@@ -86,7 +100,7 @@ public class UserService {
         
         // Log activity
         if (createdBy != null) {
-            activityLogRepository.save(ActivityLog.createUser(createdBy, saved));
+            activityLogWriter.append(ActivityLog.createUser(createdBy, saved));
         }
 
         log.info("User created: id={}, username={}", saved.getId(), saved.getUsername());
@@ -111,21 +125,28 @@ public class UserService {
             user.setFullName(request.fullName());
         }
 
+        boolean revokeSessions = false;
         if (request.roleId() != null) {
             Role role = roleRepository.findById(request.roleId())
                     .orElseThrow(() -> new RuntimeException("Role not found: " + request.roleId()));
+            // Tokens carry the role's permissions, so a new role needs a new login
+            revokeSessions = user.getRole() == null || !role.getId().equals(user.getRole().getId());
             user.setRole(role);
         }
 
         if (request.isActive() != null) {
+            revokeSessions |= !request.isActive();
             user.setIsActive(request.isActive());
         }
 
         User saved = userRepository.save(user);
+        if (revokeSessions) {
+            tokenService.revokeAll(saved.getId());
+        }
         
         // Log activity
         if (updatedBy != null) {
-            activityLogRepository.save(ActivityLog.updateUser(updatedBy, saved));
+            activityLogWriter.append(ActivityLog.updateUser(updatedBy, saved));
         }
 
         log.info("User updated: id={}", saved.getId());
@@ -147,10 +168,11 @@ public class UserService {
         // Soft delete - just deactivate
         user.setIsActive(false);
         userRepository.save(user);
+        tokenService.revokeAll(id);
         
         // Log activity
         if (deletedBy != null) {
-            activityLogRepository.save(ActivityLog.deleteUser(deletedBy, id));
+            activityLogWriter.append(ActivityLog.deleteUser(deletedBy, id));
         }
 
         log.info("User deactivated: id={}", id);
@@ -161,12 +183,13 @@ public class UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found: " + userId));
 
-        if (!passwordEncoder.matches(request.currentPassword(), user.getPasswordHash())) {
+        if (!passwordHashingService.matches(request.currentPassword(), user.getPasswordHash())) {
             throw new RuntimeException("Current password is incorrect");
         }
 
-        user.setPasswordHash(passwordEncoder.encode(request.newPassword()));
+        user.setPasswordHash(passwordHashingService.encode(request.newPassword()));
         userRepository.save(user);
+        tokenService.revokeAll(userId);
         
         log.info("Password changed for user: {}", userId);
     }
@@ -176,15 +199,16 @@ public class UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found: " + userId));
 
-        user.setPasswordHash(passwordEncoder.encode(newPassword));
+        user.setPasswordHash(passwordHashingService.encode(newPassword));
         userRepository.save(user);
+        tokenService.revokeAll(userId);
         
-        log.info("Password reset for user: {} by: {}", userId, resetBy.getUsername());
+        log.info("Password reset for user: {} by: {}", userId, resetBy.getId());
     }
 
     // ==================== AUTHENTICATION ====================
 
-    @Transactional
+    // Not transactional: verification waits on the hashing pool and the writes are batched
     public LoginResponse login(LoginRequest request, String ipAddress) {
         log.info("Login attempt: {}", request.username());
 
@@ -195,34 +219,48 @@ public class UserService {
             throw new RuntimeException("Account is deactivated");
         }
 
-        if (!passwordEncoder.matches(request.password(), user.getPasswordHash())) {
+        if (!passwordHashingService.matches(request.password(), user.getPasswordHash())) {
             throw new RuntimeException("Invalid username or password");
         }
 
-        // Update last login
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        if (passwordHashingService.needsRehash(user.getPasswordHash())) {
+            rehashPassword(user.getId(), user.getPasswordHash(), request.password());
+        }
 
-        // Log activity
-        activityLogRepository.save(ActivityLog.login(user, ipAddress));
+        // Update last login and log activity (written asynchronously in batches)
+        loginActivityWriter.recordLogin(user.getId(), ipAddress, LocalDateTime.now());
 
         // Get permissions
-        List<String> permissions = user.getRole().getPermissions().stream()
-                .map(Permission::getCode)
-                .collect(Collectors.toList());
+        Long roleId = user.getRole().getId();
+        List<String> permissions = List.copyOf(permissionCache.permissionCodes(roleId));
 
         log.info("Login successful: {}", request.username());
         
         return new LoginResponse(
                 toUserResponse(user),
-                generateToken(user), // Simple token for now
+                tokenService.issue(user),
                 permissions
         );
     }
 
-    private String generateToken(User user) {
-        // Simple token - in production use JWT
-        return "token_" + user.getId() + "_" + System.currentTimeMillis();
+    private void rehashPassword(Long userId, String oldHash, String rawPassword) {
+        passwordHashingService.encodeAsync(rawPassword).whenComplete((newHash, error) -> {
+            if (error != null) {
+                log.debug("Skipped password rehash for user {}: {}", userId, error.getMessage());
+                return;
+            }
+            // Conditional on the old hash so a concurrent password change wins
+            if (userRepository.replacePasswordHash(userId, oldHash, newHash) > 0) {
+                log.info("Rehashed password for user {} with the current work factor", userId);
+            }
+        });
+    }
+
+    public void logout(AuthenticatedUser currentUser) {
+        tokenService.revoke(currentUser);
+        activityLogWriter.append(new ActivityEvent(currentUser.userId(), "LOGOUT", "USER",
+                currentUser.userId().toString(), null, null, LocalDateTime.now()));
+        log.info("Logout: userId={}", currentUser.userId());
     }
 
     // ==================== ROLE OPERATIONS ====================
@@ -257,6 +295,7 @@ public class UserService {
         }
 
         Role saved = roleRepository.save(role);
+        permissionCache.invalidate();
         log.info("Role created: id={}, name={}", saved.getId(), saved.getName());
         
         return toRoleResponse(saved);
@@ -266,7 +305,7 @@ public class UserService {
     public RoleResponse updateRole(Long id, UpdateRoleRequest request) {
         log.info("Updating role: {}", id);
 
-        Role role = roleRepository.findById(id)
+        Role role = roleRepository.findByIdWithPermissions(id)
                 .orElseThrow(() -> new RuntimeException("Role not found: " + id));
 
         if (role.getIsSystemRole()) {
@@ -283,6 +322,7 @@ public class UserService {
         }
 
         Role saved = roleRepository.save(role);
+        permissionCache.invalidate();
         log.info("Role updated: id={}", saved.getId());
         
         return toRoleResponse(saved);
@@ -303,6 +343,7 @@ public class UserService {
         }
 
         roleRepository.delete(role);
+        permissionCache.invalidate();
         log.info("Role deleted: id={}", id);
     }
 
@@ -332,8 +373,9 @@ public class UserService {
     }
 
     @Transactional(readOnly = true)
-    public List<ActivityLogResponse> getUserActivity(Long userId) {
-        return activityLogRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+    public List<ActivityLogResponse> getUserActivity(Long userId, int limit) {
+        return activityLogRepository.findByUserIdOrderByCreatedAtDesc(
+                userId, org.springframework.data.domain.PageRequest.of(0, Math.max(1, Math.min(limit, MAX_ACTIVITY_PAGE_SIZE)))).stream()
                 .map(this::toActivityLogResponse)
                 .collect(Collectors.toList());
     }
@@ -346,7 +388,7 @@ public class UserService {
                 user.getUsername(),
                 user.getEmail(),
                 user.getFullName(),
-                user.getRole() != null ? toRoleResponse(user.getRole()) : null,
+                user.getRole() != null ? toCachedRoleResponse(user.getRole()) : null,
                 user.getIsActive(),
                 user.getCreatedAt(),
                 user.getLastLogin()
@@ -367,6 +409,17 @@ public class UserService {
         );
     }
 
+    // Permission codes from the cache, so mapping users never touches role_permissions
+    private RoleResponse toCachedRoleResponse(Role role) {
+        return new RoleResponse(
+                role.getId(),
+                role.getName(),
+                role.getDescription(),
+                role.getIsSystemRole(),
+                permissionCache.permissionCodes(role.getId())
+        );
+    }
+
     private PermissionResponse toPermissionResponse(Permission permission) {
         return new PermissionResponse(
                 permission.getId(),
@@ -0,0 +1,96 @@
+package com.inventory.blockchain.util;
+
+import com.inventory.blockchain.config.TransferProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.Locale;
+
+/**
+ * Generates time-ordered, collision-free transfer IDs.
+ *
+ * Each ID packs 41 bits of milliseconds since {@link #EPOCH_MILLIS}, a 10-bit node id
+ * and a 12-bit per-millisecond sequence into a long, rendered as
+ * "TRF-" + fixed-width base36. IDs from one node are strictly increasing, also when
+ * the wall clock steps backwards. Nodes with different node ids never overlap, so
+ * {@code transfers.node-id} must be set per instance when running more than one; the
+ * host-name fallback can give two replicas the same id.
+ */
+@Component
+public class TransferIdGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferIdGenerator.class);
+
+    public static final String PREFIX = "TRF-";
+
+    // 2024-01-01T00:00:00Z; 41 bits of milliseconds last until 2093
+    private static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Long.MAX_VALUE in base36 is 13 characters; pad so IDs sort lexicographically
+    private static final int ENCODED_LENGTH = 13;
+
+    private final long nodeId;
+    private long lastTimestamp = -1L;
+    private long sequence = 0L;
+
+    public TransferIdGenerator(TransferProperties properties) {
+        this.nodeId = resolveNodeId(properties.getNodeId());
+        log.info("Transfer ID generator initialized with nodeId={}", nodeId);
+    }
+
+    public synchronized String nextId() {
+        long timestamp = Math.max(currentTime(), lastTimestamp);
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                // Sequence exhausted for this millisecond; borrow the next one
+                timestamp = lastTimestamp + 1;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastTimestamp = timestamp;
+
+        long id = (timestamp << (NODE_BITS + SEQUENCE_BITS))
+                | (nodeId << SEQUENCE_BITS)
+                | sequence;
+        return PREFIX + pad(Long.toString(id, 36).toUpperCase(Locale.ROOT));
+    }
+
+    private long currentTime() {
+        return System.currentTimeMillis() - EPOCH_MILLIS;
+    }
+
+    private static String pad(String encoded) {
+        return "0".repeat(Math.max(0, ENCODED_LENGTH - encoded.length())) + encoded;
+    }
+
+    private static long resolveNodeId(Integer configured) {
+        if (configured != null && configured >= 0) {
+            if (configured > MAX_NODE_ID) {
+                throw new IllegalStateException("transfers.node-id must be between 0 and " + MAX_NODE_ID);
+            }
+            return configured;
+        }
+        // Not configured: derive from the host name. Fine for one instance, but two
+        // host names can hash to the same id, and then their IDs can collide.
+        try {
+            String host = InetAddress.getLocalHost().getHostName();
+            long derived = (host.hashCode() & 0x7fffffff) % (MAX_NODE_ID + 1);
+            log.warn("transfers.node-id is not set; using {} derived from host name '{}'. "
+                    + "Set a distinct node id per instance when running more than one.", derived, host);
+            return derived;
+        } catch (Exception e) {
+            log.warn("Could not resolve host name for transfer node id, using 0: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+-- ============================================================================
+-- Convert activity_logs to a monthly RANGE-partitioned table on created_at.
+--
+-- One-off migration, run manually (psql -f) during a maintenance window with
+-- the backend stopped. Safe to re-run: it does nothing once the table is
+-- partitioned. Afterwards the backend creates upcoming monthly partitions on
+-- startup and daily (see ActivityLogMaintenanceService).
+-- ============================================================================
+
+-- Month boundaries are UTC, like the partitions the backend creates later
+SET TIME ZONE 'UTC';
+
+DO $$
+DECLARE
+    month_start date;
+    last_month  date;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE relname = 'activity_logs' AND relkind = 'p') THEN
+        RAISE NOTICE 'activity_logs is already partitioned';
+        RETURN;
+    END IF;
+
+    ALTER TABLE activity_logs RENAME TO activity_logs_unpartitioned;
+
+    -- Partitioned tables need the partition key in the primary key, and ids
+    -- come from a plain sequence default rather than an identity column
+    CREATE SEQUENCE IF NOT EXISTS activity_logs_pk_seq AS bigint;
+    PERFORM setval('activity_logs_pk_seq', COALESCE((SELECT MAX(id) FROM activity_logs_unpartitioned), 0) + 1, false);
+
+    CREATE TABLE activity_logs (
+        id          bigint       NOT NULL DEFAULT nextval('activity_logs_pk_seq'),
+        user_id     bigint       REFERENCES users (id),
+        action      varchar(50)  NOT NULL,
+        entity_type varchar(50),
+        entity_id   varchar(100),
+        details     jsonb,
+        ip_address  varchar(45),
+        created_at  timestamp(6) NOT NULL DEFAULT now(),
+        PRIMARY KEY (id, created_at)
+    ) PARTITION BY RANGE (created_at);
+
+    ALTER SEQUENCE activity_logs_pk_seq OWNED BY activity_logs.id;
+
+    -- Rows arrive in time order, so a BRIN index covers range scans at a fraction of a btree's size
+    CREATE INDEX idx_activity_logs_created_brin ON activity_logs USING brin (created_at);
+    CREATE INDEX idx_activity_logs_action_created ON activity_logs (action, created_at);
+    CREATE INDEX idx_activity_logs_user_created ON activity_logs (user_id, created_at);
+    CREATE INDEX idx_activity_logs_entity_created ON activity_logs (entity_type, created_at);
+
+    -- Catch-all for rows outside the pre-created months
+    CREATE TABLE activity_logs_default PARTITION OF activity_logs DEFAULT;
+
+    -- One partition per month from the oldest row up to two months ahead
+    month_start := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM activity_logs_unpartitioned), now()))::date;
+    last_month  := (date_trunc('month', now()) + interval '2 months')::date;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF activity_logs FOR VALUES FROM (%L) TO (%L)',
+            'activity_logs_p' || to_char(month_start, 'YYYYMM'),
+            month_start,
+            (month_start + interval '1 month')::date);
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+
+    INSERT INTO activity_logs (id, user_id, action, entity_type, entity_id, details,
+                               ip_address, created_at)
+    SELECT id, user_id, action, entity_type, entity_id, details,
+           ip_address, COALESCE(created_at, now())
+    FROM activity_logs_unpartitioned;
+
+    DROP TABLE activity_logs_unpartitioned;
+END $$;
@@ -0,0 +1,82 @@
+-- ============================================================================
+-- Convert notifications to a monthly RANGE-partitioned table on created_at.
+--
+-- One-off migration, run manually (psql -f) during a maintenance window with
+-- the backend stopped. Safe to re-run: it does nothing once the table is
+-- partitioned. Afterwards the backend's retention job creates upcoming monthly
+-- partitions and drops or archives expired ones.
+-- ============================================================================
+
+-- Month boundaries are UTC, like the partitions the backend creates later
+SET TIME ZONE 'UTC';
+
+DO $$
+DECLARE
+    month_start date;
+    last_month  date;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE relname = 'notifications' AND relkind = 'p') THEN
+        RAISE NOTICE 'notifications is already partitioned';
+        RETURN;
+    END IF;
+
+    ALTER TABLE notifications RENAME TO notifications_unpartitioned;
+
+    -- Partitioned tables need the partition key in the primary key, and ids
+    -- come from a plain sequence default rather than an identity column
+    CREATE SEQUENCE IF NOT EXISTS notifications_pk_seq AS bigint;
+    PERFORM setval('notifications_pk_seq', COALESCE((SELECT MAX(id) FROM notifications_unpartitioned), 0) + 1, false);
+
+    CREATE TABLE notifications (
+        id             bigint       NOT NULL DEFAULT nextval('notifications_pk_seq'),
+        user_id        bigint       REFERENCES users (id),
+        type           varchar(50)  NOT NULL,
+        title          varchar(255) NOT NULL,
+        message        text,
+        icon           varchar(10),
+        link           varchar(255),
+        reference_id   varchar(100),
+        reference_type varchar(50),
+        reference_ids  text,
+        digest_count   integer,
+        priority       varchar(20),
+        is_read        boolean,
+        read_at        timestamp(6) with time zone,
+        created_at     timestamp(6) with time zone NOT NULL DEFAULT now(),
+        PRIMARY KEY (id, created_at)
+    ) PARTITION BY RANGE (created_at);
+
+    ALTER SEQUENCE notifications_pk_seq OWNED BY notifications.id;
+
+    CREATE INDEX idx_notifications_user_unread  ON notifications (user_id, is_read);
+    CREATE INDEX idx_notifications_user_created ON notifications (user_id, created_at);
+
+    -- Catch-all for rows outside the pre-created months
+    CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+    -- One partition per month from the oldest row up to two months ahead
+    month_start := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM notifications_unpartitioned), now()))::date;
+    last_month  := (date_trunc('month', now()) + interval '2 months')::date;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+            'notifications_p' || to_char(month_start, 'YYYYMM'),
+            month_start,
+            (month_start + interval '1 month')::date);
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+
+    -- Digest columns are missing if the script runs before the application added them
+    ALTER TABLE notifications_unpartitioned ADD COLUMN IF NOT EXISTS reference_ids text;
+    ALTER TABLE notifications_unpartitioned ADD COLUMN IF NOT EXISTS digest_count integer;
+
+    INSERT INTO notifications (id, user_id, type, title, message, icon, link, reference_id,
+                               reference_type, reference_ids, digest_count, priority, is_read,
+                               read_at, created_at)
+    SELECT id, user_id, type, title, message, icon, link, reference_id,
+           reference_type, reference_ids, digest_count, priority, is_read,
+           read_at, COALESCE(created_at, now())
+    FROM notifications_unpartitioned;
+
+    DROP TABLE notifications_unpartitioned;
+END $$;
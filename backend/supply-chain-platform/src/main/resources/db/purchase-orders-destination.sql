@@ -0,0 +1,16 @@
+-- ============================================================================
+-- Fill purchase_orders.destination_location for orders created before it existed.
+--
+-- One-off migration, run manually (psql -f) after the backend has started once
+-- and added the column. Safe to re-run: it only touches rows without a
+-- destination. Orders whose shipping address is not an inventory location keep
+-- none and are not counted as stock on order.
+-- ============================================================================
+
+ALTER TABLE purchase_orders ADD COLUMN IF NOT EXISTS destination_location varchar(100);
+
+UPDATE purchase_orders po
+SET destination_location = loc.location
+FROM (SELECT DISTINCT location FROM inventory) loc
+WHERE po.destination_location IS NULL
+  AND loc.location = btrim(po.shipping_address);
@@ -0,0 +1,90 @@
+package com.inventory.blockchain.dto;
+
+import com.inventory.blockchain.dto.SupplierPerformanceMetrics.Totals;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SupplierPerformanceMetricsTest {
+
+    /**
+     * Totals for delivered orders with the given lead times, all promised and on time.
+     */
+    private static Totals leadTimes(long... days) {
+        long sum = 0;
+        long sqSum = 0;
+        for (long d : days) {
+            sum += d;
+            sqSum += d * d;
+        }
+        return new Totals(days.length, days.length, days.length, days.length, sum, sqSum, 0, 0, 0, 0);
+    }
+
+    @Test
+    void leadTimeVarianceIsThePopulationVarianceOfTheSamples() {
+        SupplierPerformanceMetrics metrics = SupplierPerformanceMetrics.of(1L, "Acme", leadTimes(2, 4, 4, 4, 5, 5, 7, 9));
+
+        assertThat(metrics.avgLeadTimeDays()).isEqualTo(5.0);
+        assertThat(metrics.leadTimeVariance()).isEqualTo(4.0);
+    }
+
+    @Test
+    void identicalLeadTimesHaveZeroVariance() {
+        SupplierPerformanceMetrics metrics = SupplierPerformanceMetrics.of(1L, "Acme", leadTimes(30, 30, 30));
+
+        assertThat(metrics.leadTimeVariance()).isEqualTo(0.0);
+    }
+
+    @Test
+    void quartersSummedTogetherGiveTheVarianceOfAllSamples() {
+        Totals merged = leadTimes(2, 4, 4, 4).plus(leadTimes(5, 5, 7, 9));
+
+        assertThat(SupplierPerformanceMetrics.of(1L, "Acme", merged).leadTimeVariance()).isEqualTo(4.0);
+    }
+
+    @Test
+    void supplierWithoutHistoryHasNoRatesOrScore() {
+        SupplierPerformanceMetrics metrics = SupplierPerformanceMetrics.of(1L, "Acme", Totals.EMPTY);
+
+        assertThat(metrics.onTimeRate()).isNull();
+        assertThat(metrics.fillRate()).isNull();
+        assertThat(metrics.avgLeadTimeDays()).isNull();
+        assertThat(metrics.leadTimeVariance()).isNull();
+        assertThat(metrics.avgResponseDays()).isNull();
+        assertThat(metrics.score()).isNull();
+    }
+
+    @Test
+    void scoreWeighsOnTimeRateAndFillRate() {
+        // 4 of 5 on time, 90 of 100 units received
+        Totals totals = new Totals(5, 5, 4, 0, 0, 0, 100, 90, 0, 0);
+
+        SupplierPerformanceMetrics metrics = SupplierPerformanceMetrics.of(1L, "Acme", totals);
+
+        assertThat(metrics.onTimeRate()).isEqualTo(80.0);
+        assertThat(metrics.fillRate()).isEqualTo(90.0);
+        assertThat(metrics.score()).isEqualTo(4.2);
+    }
+
+    @Test
+    void scoreUsesTheOnlyRateAvailable() {
+        // Received goods but no promised dates to measure punctuality against
+        Totals totals = new Totals(2, 0, 0, 0, 0, 0, 50, 40, 0, 0);
+
+        SupplierPerformanceMetrics metrics = SupplierPerformanceMetrics.of(1L, "Acme", totals);
+
+        assertThat(metrics.onTimeRate()).isNull();
+        assertThat(metrics.score()).isEqualTo(4.0);
+    }
+
+    @Test
+    void ratesAndResponseTimeAreRoundedToTwoDecimals() {
+        // 2 of 3 on time; 3 confirmations answered within 100 hours in total
+        Totals totals = new Totals(3, 3, 2, 0, 0, 0, 0, 0, 3, 100);
+
+        SupplierPerformanceMetrics metrics = SupplierPerformanceMetrics.of(1L, "Acme", totals);
+
+        assertThat(metrics.onTimeRate()).isEqualTo(66.67);
+        assertThat(metrics.avgResponseDays()).isEqualTo(1.39);
+    }
+}
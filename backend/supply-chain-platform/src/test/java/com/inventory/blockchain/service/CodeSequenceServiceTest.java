@@ -0,0 +1,105 @@
+package com.inventory.blockchain.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Block hand-out in {@link CodeSequenceService}; the sequence itself is simulated by a
+ * counter stepping by {@link CodeSequenceService#BLOCK_SIZE}, as nextval does.
+ */
+class CodeSequenceServiceTest {
+
+    private static LongSupplier sequenceFrom(long first, AtomicInteger reservations) {
+        AtomicLong value = new AtomicLong(first);
+        return () -> {
+            reservations.incrementAndGet();
+            return value.getAndAdd(CodeSequenceService.BLOCK_SIZE);
+        };
+    }
+
+    @Test
+    void firstCodeReservesABlock() {
+        AtomicInteger reservations = new AtomicInteger();
+        CodeSequenceService.Block block = new CodeSequenceService.Block();
+
+        assertThat(block.next(sequenceFrom(41, reservations))).isEqualTo(41);
+        assertThat(reservations).hasValue(1);
+    }
+
+    @Test
+    void oneReservationServesAWholeBlockThenTheNextIsReserved() {
+        AtomicInteger reservations = new AtomicInteger();
+        LongSupplier sequence = sequenceFrom(1, reservations);
+        CodeSequenceService.Block block = new CodeSequenceService.Block();
+
+        List<Long> numbers = new ArrayList<>();
+        for (int i = 0; i < CodeSequenceService.BLOCK_SIZE; i++) {
+            numbers.add(block.next(sequence));
+        }
+        assertThat(reservations).hasValue(1);
+        assertThat(numbers).first().isEqualTo(1L);
+        assertThat(numbers).last().isEqualTo((long) CodeSequenceService.BLOCK_SIZE);
+
+        assertThat(block.next(sequence)).isEqualTo(CodeSequenceService.BLOCK_SIZE + 1L);
+        assertThat(reservations).hasValue(2);
+    }
+
+    @Test
+    void blocksReservedByAnotherInstanceAreSkipped() {
+        // Another instance took 21-40, so this one's second block starts at 41
+        AtomicInteger reservations = new AtomicInteger();
+        long[] starts = {1, 41};
+        LongSupplier sequence = () -> starts[reservations.getAndIncrement()];
+        CodeSequenceService.Block block = new CodeSequenceService.Block();
+
+        for (int i = 0; i < CodeSequenceService.BLOCK_SIZE; i++) {
+            block.next(sequence);
+        }
+
+        assertThat(block.next(sequence)).isEqualTo(41);
+    }
+
+    @Test
+    void concurrentCallersNeverGetTheSameNumber() throws Exception {
+        AtomicInteger reservations = new AtomicInteger();
+        LongSupplier sequence = sequenceFrom(1, reservations);
+        CodeSequenceService.Block block = new CodeSequenceService.Block();
+        Set<Long> issued = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 1_000;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        assertThat(issued.add(block.next(sequence))).isTrue();
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // No number is lost within a block, so exactly the reserved blocks were used up
+        assertThat(issued).hasSize(threads * perThread);
+        assertThat(reservations).hasValue(threads * perThread / CodeSequenceService.BLOCK_SIZE);
+    }
+}
@@ -0,0 +1,58 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.service.DocumentContentService.ByteRange;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Range header handling, against a 100 byte file unless stated otherwise.
+ */
+class DocumentContentServiceTest {
+
+    private static final long LENGTH = 100;
+
+    @ParameterizedTest
+    @CsvSource({
+            "bytes=0-9,     0,  9",
+            "bytes=10-,    10, 99",
+            "bytes=90-200, 90, 99",
+            "bytes=-10,    90, 99",
+            "bytes=-500,    0, 99",
+            "bytes=99-99,  99, 99",
+            "bytes=0-99999999999999999999, 0, 99",
+            "' bytes=5-6 ', 5,  6"
+    })
+    void satisfiableRangeIsSentAsPartialContent(String header, long start, long end) {
+        assertThat(ByteRange.parse(header, LENGTH)).isEqualTo(new ByteRange(start, end, true));
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {
+            "bytes=5-3",        // last before first is invalid, not unsatisfiable
+            "bytes=-",
+            "bytes=0-4,10-14",  // several ranges are not supported
+            "items=0-9",
+            "bytes=a-b",
+            ""
+    })
+    void ignoredHeaderSendsTheWholeFile(String header) {
+        assertThat(ByteRange.parse(header, LENGTH)).isEqualTo(new ByteRange(0, 99, false));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"bytes=100-", "bytes=100-200", "bytes=-0", "bytes=99999999999999999999-"})
+    void rangeOutsideTheFileIsNotSatisfiable(String header) {
+        assertThat(ByteRange.parse(header, LENGTH)).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"bytes=0-", "bytes=-1"})
+    void emptyFileSatisfiesNoRange(String header) {
+        assertThat(ByteRange.parse(header, 0)).isNull();
+    }
+}
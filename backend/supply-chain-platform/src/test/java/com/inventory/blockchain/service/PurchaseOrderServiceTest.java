@@ -0,0 +1,160 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.entity.PurchaseOrder;
+import com.inventory.blockchain.entity.PurchaseOrderItem;
+import com.inventory.blockchain.entity.Supplier;
+import com.inventory.blockchain.repository.PurchaseOrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PurchaseOrderServiceTest {
+
+    @Mock private PurchaseOrderRepository purchaseOrderRepository;
+    @Mock private SupplierPerformanceService performanceService;
+
+    private PurchaseOrderService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PurchaseOrderService(purchaseOrderRepository, performanceService);
+    }
+
+    private static PurchaseOrder order(long id, String status, int supplierLeadTimeDays) {
+        Supplier supplier = new Supplier();
+        supplier.setLeadTimeDays(supplierLeadTimeDays);
+        PurchaseOrder order = new PurchaseOrder();
+        order.setId(id);
+        order.setSupplier(supplier);
+        order.setStatus(status);
+        return order;
+    }
+
+    private void lockedAndSaved(PurchaseOrder order) {
+        when(purchaseOrderRepository.findByIdForUpdate(order.getId())).thenReturn(Optional.of(order));
+        when(performanceService.save(same(order), any())).thenAnswer(returnsFirstArg());
+    }
+
+    @Test
+    void staleDraftKeepsItsLeadTimeFromTheSubmitDate() {
+        // Drafted 20 days ago with a 3 day lead time, so the planned date has passed
+        PurchaseOrder order = order(1, "DRAFT", 5);
+        order.setCreatedAt(OffsetDateTime.now().minusDays(20));
+        order.setExpectedDelivery(LocalDate.now().minusDays(17));
+        lockedAndSaved(order);
+
+        service.changeStatus(1L, "PENDING", null);
+
+        assertThat(order.getExpectedDelivery()).isEqualTo(LocalDate.now().plusDays(3));
+        assertThat(order.getOrderDate()).isNotNull();
+    }
+
+    @Test
+    void draftWithoutExpectedDeliveryUsesSupplierLeadTime() {
+        PurchaseOrder order = order(2, "DRAFT", 5);
+        lockedAndSaved(order);
+
+        service.changeStatus(2L, "CONFIRMED", null);
+
+        assertThat(order.getExpectedDelivery()).isEqualTo(LocalDate.now().plusDays(5));
+    }
+
+    @Test
+    void confirmingAPendingOrderKeepsItsSubmitDate() {
+        PurchaseOrder order = order(3, "PENDING", 5);
+        OffsetDateTime submitted = OffsetDateTime.now().minusDays(2);
+        LocalDate expected = LocalDate.now().plusDays(1);
+        order.setOrderDate(submitted);
+        order.setExpectedDelivery(expected);
+        lockedAndSaved(order);
+
+        service.changeStatus(3L, "CONFIRMED", null);
+
+        assertThat(order.getOrderDate()).isEqualTo(submitted);
+        assertThat(order.getExpectedDelivery()).isEqualTo(expected);
+    }
+
+    @Test
+    void deliveryRecordsThePartialReceipt() {
+        PurchaseOrder order = order(4, "SHIPPED", 5);
+        order.addItem(new PurchaseOrderItem("SKU-1", 10, new BigDecimal("2.50")));
+        order.addItem(new PurchaseOrderItem("SKU-2", 4, new BigDecimal("1.00")));
+        lockedAndSaved(order);
+
+        service.changeStatus(4L, "DELIVERED", Map.of("SKU-1", 8));
+
+        assertThat(order.getActualDelivery()).isEqualTo(LocalDate.now());
+        assertThat(order.getItems()).extracting(PurchaseOrderItem::getReceivedQty).containsExactly(8, 0);
+    }
+
+    @Test
+    void deliveryWithoutReceiptTakesEveryLineInFull() {
+        PurchaseOrder order = order(5, "CONFIRMED", 5);
+        order.addItem(new PurchaseOrderItem("SKU-1", 10, new BigDecimal("2.50")));
+        lockedAndSaved(order);
+
+        service.changeStatus(5L, "DELIVERED", null);
+
+        assertThat(order.getItems().get(0).getReceivedQty()).isEqualTo(10);
+    }
+
+    @Test
+    void secondDeliveryIsRejectedAndNotRecorded() {
+        PurchaseOrder order = order(6, "DELIVERED", 5);
+        when(purchaseOrderRepository.findByIdForUpdate(6L)).thenReturn(Optional.of(order));
+
+        assertThatThrownBy(() -> service.changeStatus(6L, "DELIVERED", null))
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(performanceService);
+    }
+
+    @Test
+    void deliveredOrderCannotMoveBackToShipped() {
+        PurchaseOrder order = order(7, "DELIVERED", 5);
+        when(purchaseOrderRepository.findByIdForUpdate(7L)).thenReturn(Optional.of(order));
+
+        assertThatThrownBy(() -> service.changeStatus(7L, "SHIPPED", null))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(order.getStatus()).isEqualTo("DELIVERED");
+    }
+
+    @Test
+    void cancelledOrderCannotBeReopened() {
+        PurchaseOrder order = order(8, "CANCELLED", 5);
+        when(purchaseOrderRepository.findByIdForUpdate(8L)).thenReturn(Optional.of(order));
+
+        assertThatThrownBy(() -> service.changeStatus(8L, "PENDING", null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void unknownStatusIsRejectedBeforeLocking() {
+        assertThatThrownBy(() -> service.changeStatus(9L, "LOST", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(purchaseOrderRepository);
+    }
+
+    @Test
+    void missingOrderIsEmpty() {
+        when(purchaseOrderRepository.findByIdForUpdate(10L)).thenReturn(Optional.empty());
+
+        assertThat(service.changeStatus(10L, "PENDING", null)).isEmpty();
+    }
+}
@@ -0,0 +1,193 @@
+package com.inventory.blockchain.service;
+
+import com.inventory.blockchain.entity.Transfer;
+import com.inventory.blockchain.exception.InsufficientStockException;
+import com.inventory.blockchain.repository.InventoryRepository;
+import com.inventory.blockchain.repository.TransferLineItemRepository;
+import com.inventory.blockchain.repository.TransferRepository;
+import com.inventory.blockchain.util.ItemsHashUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stock effects of transfer status changes. The repositories are mocks, so these cover
+ * which statements run for each transition, not the SQL itself.
+ */
+@ExtendWith(MockitoExtension.class)
+class TransferServiceTest {
+
+    @Mock private TransferRepository transferRepository;
+    @Mock private TransferLineItemRepository lineItemRepository;
+    @Mock private InventoryRepository inventoryRepository;
+    @Mock private BlockchainService blockchainService;
+    @Mock private ItemsHashUtil itemsHashUtil;
+    @Mock private LowStockMonitor lowStockMonitor;
+    @Mock private NotificationService notificationService;
+
+    private TransferService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TransferService(transferRepository, lineItemRepository, inventoryRepository,
+                blockchainService, itemsHashUtil, lowStockMonitor, notificationService);
+    }
+
+    private Transfer stored(long id, String status) {
+        Transfer transfer = new Transfer("TRF-" + id, "Warehouse A", "Store B", "hash", status, null);
+        transfer.setId(id);
+        when(transferRepository.findByTransferIdForUpdate(transfer.getTransferId())).thenReturn(Optional.of(transfer));
+        return transfer;
+    }
+
+    @Test
+    void confirmDeductsStoredItemsFromSource() {
+        Transfer transfer = stored(1, TransferService.STATUS_REQUESTED);
+        when(lineItemRepository.countDistinctSkus(1L)).thenReturn(2L);
+        when(lineItemRepository.deductItems(1L, "Warehouse A")).thenReturn(2);
+
+        service.changeStatus("TRF-1", TransferService.STATUS_CONFIRMED);
+
+        assertThat(transfer.getStatus()).isEqualTo(TransferService.STATUS_CONFIRMED);
+        verify(transferRepository).save(transfer);
+    }
+
+    @Test
+    void shipMovesNoStock() {
+        Transfer transfer = stored(2, TransferService.STATUS_CONFIRMED);
+
+        service.changeStatus("TRF-2", TransferService.STATUS_IN_TRANSIT);
+
+        assertThat(transfer.getStatus()).isEqualTo(TransferService.STATUS_IN_TRANSIT);
+        verifyNoInteractions(lineItemRepository);
+    }
+
+    @Test
+    void deliverCreditsDestinationAtSourceCost() {
+        stored(3, TransferService.STATUS_IN_TRANSIT);
+
+        service.changeStatus("TRF-3", TransferService.STATUS_DELIVERED);
+
+        verify(lineItemRepository).creditItems(3L, "Store B", "Warehouse A");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "REQUESTED, DELIVERED",
+            "REQUESTED, IN_TRANSIT",
+            "CONFIRMED, CONFIRMED",
+            "DELIVERED, CANCELLED",
+            "CANCELLED, CONFIRMED",
+            "FAILED, CONFIRMED"
+    })
+    void invalidTransitionIsRejectedBeforeTouchingStock(String from, String to) {
+        stored(4, from);
+
+        assertThatThrownBy(() -> service.changeStatus("TRF-4", to))
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(lineItemRepository);
+        verify(transferRepository, never()).save(any(Transfer.class));
+    }
+
+    @Test
+    void unknownStatusIsRejectedWithoutLoadingTheTransfer() {
+        assertThatThrownBy(() -> service.changeStatus("TRF-5", "LOST"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(transferRepository);
+    }
+
+    @Test
+    void shortSkuRepeatedAcrossLinesReportsSummedQuantity() {
+        stored(6, TransferService.STATUS_REQUESTED);
+        // Two lines of 4 for SKU-1 against 5 in stock
+        List<Object[]> shortfalls = List.<Object[]>of(new Object[] {"SKU-1", 8L, 5});
+        when(lineItemRepository.findShortfalls(6L, "Warehouse A")).thenReturn(shortfalls);
+
+        assertThatThrownBy(() -> service.changeStatus("TRF-6", TransferService.STATUS_CONFIRMED))
+                .isInstanceOfSatisfying(InsufficientStockException.class, e -> {
+                    assertThat(e.getSku()).isEqualTo("SKU-1");
+                    assertThat(e.getRequested()).isEqualTo(8);
+                    assertThat(e.getAvailable()).isEqualTo(5);
+                });
+        verify(lineItemRepository, never()).deductItems(6L, "Warehouse A");
+    }
+
+    @Test
+    void stockTakenBetweenCheckAndDeductionFailsTheConfirm() {
+        stored(7, TransferService.STATUS_REQUESTED);
+        when(lineItemRepository.countDistinctSkus(7L)).thenReturn(2L);
+        when(lineItemRepository.deductItems(7L, "Warehouse A")).thenReturn(1);
+
+        assertThatThrownBy(() -> service.changeStatus("TRF-7", TransferService.STATUS_CONFIRMED))
+                .isInstanceOf(IllegalStateException.class);
+        verify(transferRepository, never()).save(any(Transfer.class));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"CONFIRMED", "IN_TRANSIT"})
+    void cancelAfterDeductionRestoresSource(String from) {
+        stored(8, from);
+
+        service.changeStatus("TRF-8", TransferService.STATUS_CANCELLED);
+
+        verify(lineItemRepository).creditItems(8L, "Warehouse A", "Warehouse A");
+    }
+
+    @Test
+    void cancelBeforeConfirmMovesNoStock() {
+        stored(9, TransferService.STATUS_REQUESTED);
+
+        service.changeStatus("TRF-9", TransferService.STATUS_CANCELLED);
+
+        verifyNoInteractions(lineItemRepository);
+    }
+
+    @Test
+    void receiptConfirmsARequestedTransferAndDeductsOnce() {
+        Transfer transfer = stored(10, TransferService.STATUS_REQUESTED);
+        when(lineItemRepository.countDistinctSkus(10L)).thenReturn(1L);
+        when(lineItemRepository.deductItems(10L, "Warehouse A")).thenReturn(1);
+
+        service.updateTransferWithReceipt("TRF-10", receipt("0xabc", 10));
+
+        assertThat(transfer.getStatus()).isEqualTo(TransferService.STATUS_CONFIRMED);
+        assertThat(transfer.getBlockNumber()).isEqualTo(10L);
+        verify(lineItemRepository).deductItems(10L, "Warehouse A");
+    }
+
+    @Test
+    void receiptForAnAlreadyConfirmedTransferOnlyRecordsTheHash() {
+        Transfer transfer = stored(11, TransferService.STATUS_CONFIRMED);
+
+        service.updateTransferWithReceipt("TRF-11", receipt("0xdef", 11));
+
+        assertThat(transfer.getTxHash()).isEqualTo("0xdef");
+        assertThat(transfer.getStatus()).isEqualTo(TransferService.STATUS_CONFIRMED);
+        verifyNoInteractions(lineItemRepository);
+    }
+
+    private static TransactionReceipt receipt(String hash, long blockNumber) {
+        TransactionReceipt receipt = mock(TransactionReceipt.class);
+        when(receipt.getTransactionHash()).thenReturn(hash);
+        when(receipt.getBlockNumber()).thenReturn(BigInteger.valueOf(blockNumber));
+        return receipt;
+    }
+}
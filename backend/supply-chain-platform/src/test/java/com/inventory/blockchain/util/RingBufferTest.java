@@ -0,0 +1,154 @@
+package com.inventory.blockchain.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RingBufferTest {
+
+    @ParameterizedTest
+    @CsvSource({"2, 2", "3, 4", "4, 4", "1000, 1024", "1024, 1024"})
+    void capacityIsRoundedUpToAPowerOfTwo(int requested, int actual) {
+        assertThat(new RingBuffer<String>(requested).capacity()).isEqualTo(actual);
+    }
+
+    @Test
+    void capacityOutsideTheSupportedRangeIsRejected() {
+        assertThatThrownBy(() -> new RingBuffer<String>(1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RingBuffer<String>((1 << 30) + 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fullBufferRefusesOffersUntilAnItemIsPolled() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.offer(4)).isTrue();
+    }
+
+    @Test
+    void itemsComeOutInOrderAcrossManyLaps() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        List<Integer> out = new ArrayList<>();
+        // Fill the ring, take two, repeat: it wraps many times while staying nearly full
+        int next = 0;
+        while (next < 1_000) {
+            while (buffer.offer(next)) {
+                next++;
+            }
+            out.add(buffer.poll());
+            out.add(buffer.poll());
+        }
+        Integer item;
+        while ((item = buffer.poll()) != null) {
+            out.add(item);
+        }
+
+        assertThat(out).hasSize(next);
+        for (int i = 0; i < out.size(); i++) {
+            assertThat(out.get(i)).isEqualTo(i);
+        }
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void drainToStopsAtTheLimit() {
+        RingBuffer<String> buffer = new RingBuffer<>(8);
+        buffer.offer("a");
+        buffer.offer("b");
+        buffer.offer("c");
+        List<String> target = new ArrayList<>();
+
+        assertThat(buffer.drainTo(target, 2)).isEqualTo(2);
+        assertThat(target).containsExactly("a", "b");
+        assertThat(buffer.drainTo(target, 10)).isEqualTo(1);
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    void nullItemsAreRejected() {
+        assertThatThrownBy(() -> new RingBuffer<String>(2).offer(null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void concurrentProducersAndConsumersDeliverEveryItemOnceAndInProducerOrder() throws Exception {
+        int producers = 4;
+        int consumers = 3;
+        int perProducer = 50_000;
+        RingBuffer<long[]> buffer = new RingBuffer<>(64);
+        ConcurrentLinkedQueue<long[]> received = new ConcurrentLinkedQueue<>();
+        AtomicInteger remaining = new AtomicInteger(producers * perProducer);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(producers + consumers);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                tasks.add(pool.submit(() -> {
+                    start.await();
+                    for (long seq = 0; seq < perProducer; seq++) {
+                        long[] item = {producer, seq};
+                        while (!buffer.offer(item)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int c = 0; c < consumers; c++) {
+                tasks.add(pool.submit(() -> {
+                    start.await();
+                    // Each consumer checks that one producer's items reach it in order
+                    long[] lastSeen = new long[producers];
+                    Arrays.fill(lastSeen, -1);
+                    while (remaining.get() > 0) {
+                        long[] item = buffer.poll();
+                        if (item == null) {
+                            Thread.onSpinWait();
+                            continue;
+                        }
+                        assertThat(item[1]).isGreaterThan(lastSeen[(int) item[0]]);
+                        lastSeen[(int) item[0]] = item[1];
+                        received.add(item);
+                        remaining.decrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        boolean[][] seen = new boolean[producers][perProducer];
+        for (long[] item : received) {
+            assertThat(seen[(int) item[0]][(int) item[1]]).as("duplicate %s", item).isFalse();
+            seen[(int) item[0]][(int) item[1]] = true;
+        }
+        assertThat(received).hasSize(producers * perProducer);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+}
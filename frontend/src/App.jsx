@@ -1,4 +1,4 @@
-import React, { useState, useEffect, createContext, useContext } from 'react';
+import React, { useState, useEffect, useRef, createContext, useContext } from 'react';
 
 // ============================================
 // CONFIGURATION
@@ -12,6 +12,10 @@ const ThemeContext = createContext();
 const useTheme = () => useContext(ThemeContext);
 const AuthContext = createContext(null);
 export const useAuth = () => useContext(AuthContext);
+// Session token from the login response; demo accounts have none and fall back to X-User-Id
+export const authHeaders = (user) => user?.token
+  ? { Authorization: `Bearer ${user.token}` }
+  : { 'X-User-Id': (user?.user?.id ?? user?.id)?.toString() || '' };
 const ToastContext = createContext();
 const useToast = () => useContext(ToastContext);
 
@@ -254,6 +258,9 @@ const TRANSFER_STATUSES = {
   FAILED: { label: 'Failed', key: 'failed' },
 };
 
+// Purchase orders are listed a page at a time
+const ORDER_PAGE_SIZE = 50;
+
 // ============================================
 // SHARED COMPONENTS
 // ============================================
@@ -335,7 +342,7 @@ const ThemeToggle = () => {
 // Replace your existing NotificationBell component with this
 // ============================================
 
-const NotificationBell = ({ userId }) => {
+const NotificationBell = ({ userId, token }) => {
   const { theme, themeName } = useTheme();
   const [notifications, setNotifications] = useState([]);
   const [unreadCount, setUnreadCount] = useState(0);
@@ -349,14 +356,53 @@ const NotificationBell = ({ userId }) => {
     emailNotifications: false
   });
 
+  // True while the server stream is connected; unread counts then come from the server
+  const streamLive = useRef(false);
+
   useEffect(() => {
-    if (userId) {
-      loadNotifications();
-      loadPreferences();
-      const interval = setInterval(loadUnreadCount, 30000);
+    if (!userId) return;
+    loadNotifications();
+    loadPreferences();
+
+    // Push updates over Server-Sent Events; fall back to polling when unavailable
+    let interval = null;
+    const startPolling = () => {
+      if (!interval) interval = setInterval(loadUnreadCount, 30000);
+    };
+    // The stream needs a session token; EventSource cannot send headers, so it goes in the URL
+    if (typeof EventSource === 'undefined' || !token) {
+      startPolling();
       return () => clearInterval(interval);
     }
-  }, [userId]);
+
+    const source = new EventSource(
+      `${API_BASE}/notifications/user/${userId}/stream?access_token=${encodeURIComponent(token)}`);
+    source.onopen = () => {
+      streamLive.current = true;
+      if (interval) { clearInterval(interval); interval = null; }
+    };
+    source.addEventListener('notification', (e) => {
+      const notification = JSON.parse(e.data);
+      setNotifications(prev => prev.some(n => n.id === notification.id) ? prev : [notification, ...prev].slice(0, 20));
+    });
+    source.addEventListener('unread', (e) => {
+      const data = JSON.parse(e.data);
+      if (data.unreadCount !== undefined) setUnreadCount(data.unreadCount);
+      else if (data.delta !== undefined) setUnreadCount(prev => Math.max(0, prev + data.delta));
+    });
+    source.onerror = () => {
+      // The browser reconnects on its own (sending Last-Event-ID); poll only once it gives up
+      streamLive.current = false;
+      if (source.readyState === EventSource.CLOSED) startPolling();
+      else if (!interval) loadUnreadCount();
+    };
+
+    return () => {
+      source.close();
+      streamLive.current = false;
+      if (interval) clearInterval(interval);
+    };
+  }, [userId, token]);
 
   const loadNotifications = async () => {
     try {
@@ -364,7 +410,7 @@ const NotificationBell = ({ userId }) => {
       if (response.ok) {
         const data = await response.json();
         setNotifications(data);
-        setUnreadCount(data.filter(n => !n.isRead).length);
+        if (!streamLive.current) setUnreadCount(data.filter(n => !n.isRead).length);
       }
     } catch (err) {
       console.error('Failed to load notifications:', err);
@@ -399,7 +445,7 @@ const NotificationBell = ({ userId }) => {
     try {
       await fetch(`${API_BASE}/notifications/${id}/read`, { method: 'PUT' });
       setNotifications(notifications.map(n => n.id === id ? { ...n, isRead: true } : n));
-      setUnreadCount(prev => Math.max(0, prev - 1));
+      if (!streamLive.current) setUnreadCount(prev => Math.max(0, prev - 1));
     } catch (err) {
       console.error('Failed to mark as read:', err);
     }
@@ -747,7 +793,7 @@ const Sidebar = ({ currentPage, setCurrentPage, user, onLogout }) => {
             {themeName === 'vibrant' && '📦'} Supply Chain
           </h1>
           {/* Notification Bell */}
-          <NotificationBell userId={user?.id} />
+          <NotificationBell userId={user?.id} token={user?.token} />
         </div>
         <p style={{ margin: 0, fontSize: '12px', color: theme.colors.text.muted }}>Blockchain Ledger</p>
 
@@ -1776,10 +1822,15 @@ const TransfersPage = ({ transfers, setTransfers, user }) => {
 const NewTransferPage = ({ onTransferCreated }) => {
   const { theme, themeName } = useTheme();
   const inputStyles = useInputStyles();
-  const [formData, setFormData] = useState({ transferId: `TRF-${Date.now().toString().slice(-6)}`, fromLocation: '', toLocation: '', items: [{ sku: '', qty: 1 }] });
+  const [formData, setFormData] = useState({ transferId: '', fromLocation: '', toLocation: '', items: [{ sku: '', qty: 1 }] });
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState('');
   const [success, setSuccess] = useState('');
+  // One key per distinct form submission, so a retried POST never creates a second transfer
+  const idempotencyKey = useRef(null);
+  useEffect(() => {
+    idempotencyKey.current = window.crypto?.randomUUID ? window.crypto.randomUUID() : `${Date.now()}-${Math.random().toString(36).slice(2)}`;
+  }, [formData]);
 
   const handleItemChange = (index, field, value) => {
     const newItems = [...formData.items];
@@ -1799,7 +1850,7 @@ const NewTransferPage = ({ onTransferCreated }) => {
     try {
       const response = await fetch(`${API_BASE}/transfers`, {
         method: 'POST',
-        headers: { 'Content-Type': 'application/json' },
+        headers: { 'Content-Type': 'application/json', 'Idempotency-Key': idempotencyKey.current },
         body: JSON.stringify(formData)
       });
 
@@ -1811,14 +1862,14 @@ const NewTransferPage = ({ onTransferCreated }) => {
 
       onTransferCreated(data);
       setSuccess(`Transfer ${data.transferId} created successfully`);
-      setFormData({ transferId: `TRF-${Date.now().toString().slice(-6)}`, fromLocation: '', toLocation: '', items: [{ sku: '', qty: 1 }] });
+      setFormData({ transferId: '', fromLocation: '', toLocation: '', items: [{ sku: '', qty: 1 }] });
     } catch (err) {
       if (err.name === 'TypeError' && err.message.includes('fetch')) {
         // Demo mode fallback
-        const mockTransfer = { ...formData, status: 'REQUESTED', createdAt: new Date().toISOString(), blockNumber: Math.floor(Math.random() * 100) + 100 };
+        const mockTransfer = { ...formData, transferId: formData.transferId || `TRF-${Date.now().toString(36).toUpperCase()}`, status: 'REQUESTED', createdAt: new Date().toISOString(), blockNumber: Math.floor(Math.random() * 100) + 100 };
         onTransferCreated(mockTransfer);
         setSuccess(`Transfer ${mockTransfer.transferId} created (demo mode)`);
-        setFormData({ transferId: `TRF-${Date.now().toString().slice(-6)}`, fromLocation: '', toLocation: '', items: [{ sku: '', qty: 1 }] });
+        setFormData({ transferId: '', fromLocation: '', toLocation: '', items: [{ sku: '', qty: 1 }] });
       } else {
         setError(err.message);
       }
@@ -1837,7 +1888,7 @@ const NewTransferPage = ({ onTransferCreated }) => {
         {error && <div style={{ background: theme.colors.status.error.bg, border: `1px solid ${theme.colors.status.error.color}30`, borderRadius: '8px', padding: '12px 14px', marginBottom: '20px', color: theme.colors.status.error.color, fontSize: '13px' }}>{error}</div>}
         {success && <div style={{ background: theme.colors.status.delivered.bg, border: `1px solid ${theme.colors.status.delivered.color}30`, borderRadius: '8px', padding: '12px 14px', marginBottom: '20px', color: theme.colors.status.delivered.color, fontSize: '13px' }}>{themeName === 'vibrant' && '✓ '}{success}</div>}
         <form onSubmit={handleSubmit}>
-          <div style={{ marginBottom: '20px' }}><label style={inputStyles.label}>Transfer ID</label><input type="text" value={formData.transferId} onChange={(e) => setFormData({ ...formData, transferId: e.target.value })} style={inputStyles.input} required /></div>
+          <div style={{ marginBottom: '20px' }}><label style={inputStyles.label}>Transfer ID</label><input type="text" value={formData.transferId} onChange={(e) => setFormData({ ...formData, transferId: e.target.value })} style={inputStyles.input} placeholder="Leave blank to generate" /></div>
           <div style={{ display: 'grid', gridTemplateColumns: '1fr 1fr', gap: '16px', marginBottom: '20px' }}>
             <div><label style={inputStyles.label}>From Location</label><select value={formData.fromLocation} onChange={(e) => setFormData({ ...formData, fromLocation: e.target.value })} style={inputStyles.input} required><option value="">Select location</option><optgroup label="Warehouses">{LOCATIONS.warehouses.map(loc => <option key={loc} value={loc}>{loc}</option>)}</optgroup><optgroup label="Stores">{LOCATIONS.stores.map(loc => <option key={loc} value={loc}>{loc}</option>)}</optgroup><optgroup label="Other">{LOCATIONS.other.map(loc => <option key={loc} value={loc}>{loc}</option>)}</optgroup></select></div>
             <div><label style={inputStyles.label}>To Location</label><select value={formData.toLocation} onChange={(e) => setFormData({ ...formData, toLocation: e.target.value })} style={inputStyles.input} required><option value="">Select location</option><optgroup label="Warehouses">{LOCATIONS.warehouses.map(loc => <option key={loc} value={loc}>{loc}</option>)}</optgroup><optgroup label="Stores">{LOCATIONS.stores.map(loc => <option key={loc} value={loc}>{loc}</option>)}</optgroup><optgroup label="Other">{LOCATIONS.other.map(loc => <option key={loc} value={loc}>{loc}</option>)}</optgroup></select></div>
@@ -2713,7 +2764,7 @@ const UsersPage = () => {
     try {
       const response = await fetch(`${API_BASE}/users`, {
         method: 'POST',
-        headers: { 'Content-Type': 'application/json', 'X-User-Id': currentUser?.id?.toString() || '' },
+        headers: { 'Content-Type': 'application/json', ...authHeaders(currentUser) },
         body: JSON.stringify({ ...userForm, roleId: parseInt(userForm.roleId) })
       });
       const data = await response.json();
@@ -2734,7 +2785,7 @@ const UsersPage = () => {
     try {
       const response = await fetch(`${API_BASE}/users/${showEditUser.id}`, {
         method: 'PUT',
-        headers: { 'Content-Type': 'application/json', 'X-User-Id': currentUser?.id?.toString() || '' },
+        headers: { 'Content-Type': 'application/json', ...authHeaders(currentUser) },
         body: JSON.stringify({ email: userForm.email, fullName: userForm.fullName, roleId: parseInt(userForm.roleId), isActive: userForm.isActive })
       });
       const data = await response.json();
@@ -2753,7 +2804,7 @@ const UsersPage = () => {
     try {
       const response = await fetch(`${API_BASE}/users/${userId}`, {
         method: 'DELETE',
-        headers: { 'X-User-Id': currentUser?.id?.toString() || '' }
+        headers: authHeaders(currentUser)
       });
       if (response.ok) {
         setUsers(users.map(u => u.id === userId ? { ...u, isActive: false } : u));
@@ -3678,6 +3729,8 @@ const SuppliersPage = () => {
   const [activeTab, setActiveTab] = useState('suppliers');
   const [suppliers, setSuppliers] = useState([]);
   const [orders, setOrders] = useState([]);
+  const [ordersPage, setOrdersPage] = useState(0);
+  const [ordersHasMore, setOrdersHasMore] = useState(false);
   const [stats, setStats] = useState(null);
   const [loading, setLoading] = useState(true);
   const [search, setSearch] = useState('');
@@ -3723,12 +3776,16 @@ const SuppliersPage = () => {
     try {
       const [suppliersRes, ordersRes, statsRes] = await Promise.all([
         fetch(`${API_BASE}/suppliers`),
-        fetch(`${API_BASE}/suppliers/orders`),
+        fetch(`${API_BASE}/suppliers/orders?page=0&size=${ORDER_PAGE_SIZE}`),
         fetch(`${API_BASE}/suppliers/stats`)
       ]);
 
       if (suppliersRes.ok) setSuppliers(await suppliersRes.json());
-      if (ordersRes.ok) setOrders(await ordersRes.json());
+      if (ordersRes.ok) {
+        setOrders(await ordersRes.json());
+        setOrdersPage(0);
+        setOrdersHasMore(ordersRes.headers.get('X-Has-More') === 'true');
+      }
       if (statsRes.ok) setStats(await statsRes.json());
     } catch (err) {
       console.error('Failed to load data:', err);
@@ -3737,6 +3794,21 @@ const SuppliersPage = () => {
     }
   };
 
+  const loadMoreOrders = async () => {
+    try {
+      const next = ordersPage + 1;
+      const response = await fetch(`${API_BASE}/suppliers/orders?page=${next}&size=${ORDER_PAGE_SIZE}`);
+      if (!response.ok) throw new Error('Failed to load orders');
+      const page = await response.json();
+      // Skip rows already shown if orders were created since the first page
+      setOrders(current => [...current, ...page.filter(o => !current.some(c => c.id === o.id))]);
+      setOrdersPage(next);
+      setOrdersHasMore(response.headers.get('X-Has-More') === 'true');
+    } catch (err) {
+      setError(err.message);
+    }
+  };
+
   const createSupplier = async (e) => {
     e.preventDefault();
     setError('');
@@ -3817,6 +3889,31 @@ const SuppliersPage = () => {
     }
   };
 
+  const runReorder = async () => {
+    setError('');
+    try {
+      const response = await fetch(`${API_BASE}/suppliers/orders/reorder`, { method: 'POST' });
+      const data = await response.json();
+      if (!response.ok) throw new Error(data.message || 'Reorder run failed');
+      setSuccess(`Reorder created ${data.ordersCreated} draft order(s) with ${data.linesCreated} line(s)`);
+      setTimeout(() => setSuccess(''), 3000);
+      loadData();
+    } catch (err) {
+      setError(err.message);
+    }
+  };
+
+  // List rows are summaries; load items and shipping details on demand
+  const viewOrder = async (id) => {
+    try {
+      const response = await fetch(`${API_BASE}/suppliers/orders/${id}`);
+      if (!response.ok) throw new Error('Failed to load order');
+      setSelectedOrder(await response.json());
+    } catch (err) {
+      setError(err.message);
+    }
+  };
+
   const updateOrderStatus = async (id, status) => {
     try {
       const response = await fetch(`${API_BASE}/suppliers/orders/${id}/status`, {
@@ -4113,8 +4210,15 @@ const SuppliersPage = () => {
         <Card>
           <div style={{ display: 'flex', justifyContent: 'space-between', alignItems: 'center', marginBottom: '20px' }}>
             <h3 style={{ margin: 0, fontSize: '16px', color: theme.colors.text.primary }}>
-              Purchase Orders ({orders.length})
+              Purchase Orders ({orders.length}{ordersHasMore ? '+' : ''})
             </h3>
+            <div style={{ display: 'flex', gap: '8px' }}>
+            <button
+              onClick={runReorder}
+              style={{ padding: '10px 20px', background: theme.colors.bg.tertiary, border: 'none', borderRadius: '8px', color: theme.colors.text.secondary, fontSize: '13px', cursor: 'pointer' }}
+            >
+              Reorder Low Stock
+            </button>
             <button
               onClick={() => setShowCreateOrder(true)}
               style={{
@@ -4129,6 +4233,7 @@ const SuppliersPage = () => {
             >
               + Create Order
             </button>
+            </div>
           </div>
 
           <table style={tableStyles.table}>
@@ -4151,9 +4256,9 @@ const SuppliersPage = () => {
                       {order.poNumber}
                     </span>
                   </td>
-                  <td style={tableStyles.td}>{order.supplier?.name}</td>
+                  <td style={tableStyles.td}>{order.supplierName}</td>
                   <td style={tableStyles.td}><OrderStatusBadge status={order.status} /></td>
-                  <td style={tableStyles.td}>{order.items?.length || 0} items</td>
+                  <td style={tableStyles.td}>{order.itemCount || 0} items</td>
                   <td style={tableStyles.td}>
                     <span style={{ fontWeight: '500' }}>${(order.total || 0).toLocaleString('en-US', { minimumFractionDigits: 2 })}</span>
                   </td>
@@ -4183,7 +4288,7 @@ const SuppliersPage = () => {
                         </button>
                       )}
                       <button
-                        onClick={() => setSelectedOrder(order)}
+                        onClick={() => viewOrder(order.id)}
                         style={{ padding: '4px 8px', borderRadius: '4px', border: 'none', background: theme.colors.bg.tertiary, color: theme.colors.text.secondary, fontSize: '11px', cursor: 'pointer' }}
                       >
                         View
@@ -4195,6 +4300,17 @@ const SuppliersPage = () => {
             </tbody>
           </table>
 
+          {ordersHasMore && (
+            <div style={{ textAlign: 'center', marginTop: '16px' }}>
+              <button
+                onClick={loadMoreOrders}
+                style={{ padding: '8px 16px', background: theme.colors.bg.tertiary, border: 'none', borderRadius: '8px', color: theme.colors.text.secondary, fontSize: '13px', cursor: 'pointer' }}
+              >
+                Load more
+              </button>
+            </div>
+          )}
+
           {orders.length === 0 && (
             <div style={{ textAlign: 'center', padding: '40px', color: theme.colors.text.muted }}>
               No purchase orders yet
@@ -5032,6 +5148,7 @@ const DocumentsPage = () => {
   const [success, setSuccess] = useState('');
 
   // Upload form
+  const [uploadFile, setUploadFile] = useState(null);
   const [uploadForm, setUploadForm] = useState({
     name: '',
     description: '',
@@ -5073,24 +5190,37 @@ const DocumentsPage = () => {
     setError('');
 
     try {
-      const response = await fetch(`${API_BASE}/documents`, {
-        method: 'POST',
-        headers: { 'Content-Type': 'application/json' },
-        body: JSON.stringify({
-          ...uploadForm,
-          supplierId: uploadForm.supplierId ? parseInt(uploadForm.supplierId) : null,
-          purchaseOrderId: uploadForm.purchaseOrderId ? parseInt(uploadForm.purchaseOrderId) : null,
-          tags: uploadForm.tags ? uploadForm.tags.split(',').map(t => t.trim()).filter(t => t) : []
-        })
-      });
+      const tags = uploadForm.tags ? uploadForm.tags.split(',').map(t => t.trim()).filter(t => t) : [];
+      let response;
+      if (uploadFile) {
+        // Real upload: the file content is streamed to the server's document store
+        const body = new FormData();
+        body.append('file', uploadFile);
+        ['name', 'description', 'category', 'transferId', 'supplierId', 'purchaseOrderId']
+          .filter(key => uploadForm[key]).forEach(key => body.append(key, uploadForm[key]));
+        tags.forEach(tag => body.append('tags', tag));
+        response = await fetch(`${API_BASE}/documents/upload`, { method: 'POST', body });
+      } else {
+        response = await fetch(`${API_BASE}/documents`, {
+          method: 'POST',
+          headers: { 'Content-Type': 'application/json' },
+          body: JSON.stringify({
+            ...uploadForm,
+            supplierId: uploadForm.supplierId ? parseInt(uploadForm.supplierId) : null,
+            purchaseOrderId: uploadForm.purchaseOrderId ? parseInt(uploadForm.purchaseOrderId) : null,
+            tags
+          })
+        });
+      }
 
       const data = await response.json();
       if (!response.ok) throw new Error(data.message || 'Failed to upload document');
 
       setDocuments([data, ...documents]);
       setShowUpload(false);
+      setUploadFile(null);
       setUploadForm({ name: '', description: '', fileName: '', fileType: '', fileSize: 0, category: 'OTHER', transferId: '', supplierId: '', purchaseOrderId: '', tags: '' });
-      setSuccess('Document uploaded successfully');
+      setSuccess(data.duplicateOf ? `Document uploaded (same file as ${data.duplicateOf})` : 'Document uploaded successfully');
       setTimeout(() => setSuccess(''), 3000);
       loadData(); // Refresh stats
     } catch (err) {
@@ -5305,7 +5435,10 @@ const DocumentsPage = () => {
                 </div>
 
                 <div style={{ fontSize: '12px', color: theme.colors.text.tertiary, marginBottom: '12px', overflow: 'hidden', textOverflow: 'ellipsis', whiteSpace: 'nowrap' }}>
-                  {doc.fileName}
+                  {doc.hasContent ? (
+                    <a href={`${API_BASE}/documents/${doc.id}/content`} onClick={(e) => e.stopPropagation()}
+                       style={{ color: theme.colors.text.tertiary }}>{doc.fileName}</a>
+                  ) : doc.fileName}
                 </div>
 
                 <div style={{ display: 'flex', justifyContent: 'space-between', alignItems: 'center' }}>
@@ -5437,6 +5570,15 @@ const DocumentsPage = () => {
           <Card style={{ width: '100%', maxWidth: '550px', maxHeight: '90vh', overflow: 'auto' }}>
             <h3 style={{ margin: '0 0 24px 0', color: theme.colors.text.primary }}>Upload Document</h3>
             <form onSubmit={handleUpload}>
+              <div style={{ marginBottom: '16px' }}>
+                <label style={inputStyles.label}>File</label>
+                <input type="file" onChange={e => {
+                  const file = e.target.files[0] || null;
+                  setUploadFile(file);
+                  if (file) setUploadForm({ ...uploadForm, name: uploadForm.name || file.name, fileName: file.name, fileType: file.type, fileSize: file.size });
+                }} style={inputStyles.input} />
+              </div>
+
               <div style={{ marginBottom: '16px' }}>
                 <label style={inputStyles.label}>Document Name *</label>
                 <input value={uploadForm.name} onChange={e => setUploadForm({ ...uploadForm, name: e.target.value })} style={inputStyles.input} placeholder="Invoice #123" required />
@@ -5697,7 +5839,10 @@ useEffect(() => {
   useEffect(() => { if (transfers.length > 0) localStorage.setItem('transfers', JSON.stringify(transfers)); }, [transfers]);
 
   const handleLogin = (userData) => { setUser(userData); localStorage.setItem('user', JSON.stringify(userData)); };
-  const handleLogout = () => { setUser(null); localStorage.removeItem('user'); setCurrentPage('dashboard'); };
+  const handleLogout = () => {
+    if (user?.token) fetch(`${API_BASE}/auth/logout`, { method: 'POST', headers: authHeaders(user) }).catch(() => {});
+    setUser(null); localStorage.removeItem('user'); setCurrentPage('dashboard');
+  };
   const handleTransferCreated = (newTransfer) => setTransfers([newTransfer, ...transfers]);
 
   if (!user) return <ThemeContext.Provider value={{ theme, themeName, setThemeName }}><LoginPage onLogin={handleLogin} /></ThemeContext.Provider>;